@@ -31,6 +31,7 @@ import net.dries007.tfc.api.capability.ItemStickCapability;
 import net.dries007.tfc.api.capability.nuturient.CapabilityNutrients;
 import net.dries007.tfc.api.capability.nuturient.IPlayerNutrients;
 import net.dries007.tfc.api.capability.size.CapabilityItemSize;
+import net.dries007.tfc.api.capability.size.ItemSizeHandler;
 import net.dries007.tfc.api.capability.size.Size;
 import net.dries007.tfc.api.capability.size.Weight;
 import net.dries007.tfc.api.types.Rock;
@@ -156,29 +157,36 @@ public final class CommonEventHandler
         // Skip items with existing capabilities
         if (CapabilityItemSize.getIItemSize(stack) == null)
         {
-
-            boolean canStack = stack.getMaxStackSize() > 1; // This is necessary so it isn't accidentally overridden by a default implementation
-
-            // todo: Add more items here
-            if (item == Items.COAL)
-                CapabilityItemSize.add(e, Items.COAL, Size.SMALL, Weight.MEDIUM, canStack);
-            else if (item == Items.STICK)
+            if (item == Items.STICK)
                 e.addCapability(ItemStickCapability.KEY, new ItemStickCapability(e.getObject().getTagCompound()));
-            else if (item == Items.CLAY_BALL)
-                CapabilityItemSize.add(e, item, Size.SMALL, Weight.MEDIUM, canStack);
-
-                // Final checks for general item types
-            else if (item instanceof ItemTool)
-                CapabilityItemSize.add(e, item, Size.LARGE, Weight.MEDIUM, canStack);
-            else if (item instanceof ItemArmor)
-                CapabilityItemSize.add(e, item, Size.LARGE, Weight.HEAVY, canStack);
-            else if (item instanceof ItemBlock)
-                CapabilityItemSize.add(e, item, Size.SMALL, Weight.MEDIUM, canStack);
             else
-                CapabilityItemSize.add(e, item, Size.VERY_SMALL, Weight.LIGHT, canStack);
+                // This only depends on the item, so it's only worked out for the first stack
+                CapabilityItemSize.addDefault(e, item, i -> getDefaultSize(i, stack.getMaxStackSize() > 1));
         }
     }
 
+    /**
+     * @param canStack This is necessary so it isn't accidentally overridden by a default implementation
+     */
+    private static ItemSizeHandler getDefaultSize(Item item, boolean canStack)
+    {
+        // todo: Add more items here
+        if (item == Items.COAL)
+            return ItemSizeHandler.get(Size.SMALL, Weight.MEDIUM, canStack);
+        else if (item == Items.CLAY_BALL)
+            return ItemSizeHandler.get(Size.SMALL, Weight.MEDIUM, canStack);
+
+            // Final checks for general item types
+        else if (item instanceof ItemTool)
+            return ItemSizeHandler.get(Size.LARGE, Weight.MEDIUM, canStack);
+        else if (item instanceof ItemArmor)
+            return ItemSizeHandler.get(Size.LARGE, Weight.HEAVY, canStack);
+        else if (item instanceof ItemBlock)
+            return ItemSizeHandler.get(Size.SMALL, Weight.MEDIUM, canStack);
+        else
+            return ItemSizeHandler.get(Size.VERY_SMALL, Weight.LIGHT, canStack);
+    }
+
     @SubscribeEvent
     public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event)
     {
@@ -102,6 +102,36 @@ public class ConfigTFC
         @Config.RangeDouble(min = 0, max = 10)
         @Config.LangKey("config." + MOD_ID + ".general.playerNutritionDecayModifier")
         public double playerNutritionDecayModifier = 0.2;
+
+        @Config.Comment("The minimum number of ticks between updates sent to clients for devices (i.e. crucible, placed items). Larger number = less network traffic, but slower updates.")
+        @Config.RangeInt(min = 1, max = 100)
+        @Config.LangKey("config." + MOD_ID + ".general.deviceSyncInterval")
+        public int deviceSyncInterval = 5;
+
+        @Config.Comment("The maximum number of leaves that decay per tick, per world. Larger number = leaves disappear faster after a tree is cut down, but more lag.")
+        @Config.RangeInt(min = 1, max = 10000)
+        @Config.LangKey("config." + MOD_ID + ".general.leafDecayPerTick")
+        public int leafDecayPerTick = 100;
+
+        @Config.Comment("Chance that mining raw stone in an unstable area makes the rock above it cave in.")
+        @Config.RangeDouble(min = 0, max = 1)
+        @Config.LangKey("config." + MOD_ID + ".general.collapseChance")
+        public double collapseChance = 0.1;
+
+        @Config.Comment("Chance that a cave-in spreads to the next block. Each block further out has less chance.")
+        @Config.RangeDouble(min = 0, max = 1)
+        @Config.LangKey("config." + MOD_ID + ".general.collapsePropagateChance")
+        public double collapsePropagateChance = 0.55;
+
+        @Config.Comment("How far (in blocks) a cave-in can spread from where it started.")
+        @Config.RangeInt(min = 1, max = 32)
+        @Config.LangKey("config." + MOD_ID + ".general.collapseRadius")
+        public int collapseRadius = 8;
+
+        @Config.Comment("The maximum number of blocks checked for cave-ins per tick, per world. Larger number = cave-ins finish faster, but more lag.")
+        @Config.RangeInt(min = 1, max = 10000)
+        @Config.LangKey("config." + MOD_ID + ".general.collapseChecksPerTick")
+        public int collapseChecksPerTick = 256;
     }
 
     public static class ClientCFG
@@ -151,5 +181,32 @@ public class ConfigTFC
         @Config.RangeDouble(min = 100, max = 10000)
         @Config.LangKey("config." + MOD_ID + ".world.zTemperatureModifier")
         public double zTemperatureModifier = 2500f;
+
+        @Config.Comment({"The number of threads used to generate chunk terrain ahead of time (for example when pre-generating a map).", "0 = one less than the number of available processors."})
+        @Config.RangeInt(min = 0, max = 64)
+        @Config.LangKey("config." + MOD_ID + ".world.chunkGenThreads")
+        public int chunkGenThreads = 0;
+
+        @Config.Comment("How many milliseconds per server tick the /tfcpregen command may spend generating chunks. A tick is 50 ms.")
+        @Config.RangeInt(min = 1, max = 1000)
+        @Config.LangKey("config." + MOD_ID + ".world.pregenTickBudget")
+        public int pregenTickBudget = 40;
+
+        @Config.Comment({"The size (in blocks) of the regions that rock, stability, drainage and biome layers are generated in at once.", "0 = generate them per chunk."})
+        @Config.RangeInt(min = 0, max = 4096)
+        @Config.LangKey("config." + MOD_ID + ".world.regionCacheSize")
+        @Config.RequiresWorldRestart
+        public int regionCacheSize = 512;
+
+        @Config.Comment("How much memory (in MB) the generated regions may use, per world. The least recently used regions are dropped first.")
+        @Config.RangeInt(min = 0, max = 4096)
+        @Config.LangKey("config." + MOD_ID + ".world.regionCacheMemory")
+        @Config.RequiresWorldRestart
+        public int regionCacheMemory = 64;
+
+        @Config.Comment("How much memory (in MB) each world gen thread may keep around for reuse when generating biome, rock and other layers.")
+        @Config.RangeInt(min = 1, max = 1024)
+        @Config.LangKey("config." + MOD_ID + ".world.intCacheMaxMemory")
+        public int intCacheMaxMemory = 16;
     }
 }
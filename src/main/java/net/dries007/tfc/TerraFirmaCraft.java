@@ -120,14 +120,16 @@ public final class TerraFirmaCraft
         network.registerMessage(new PacketGuiButton.Handler(), PacketGuiButton.class, ++id, Side.SERVER);
         network.registerMessage(new PacketPlaceBlockSpecial.Handler(), PacketPlaceBlockSpecial.class, ++id, Side.SERVER);
         network.registerMessage(new PacketSwitchPlayerInventoryTab.Handler(), PacketSwitchPlayerInventoryTab.class, ++id, Side.SERVER);
+        network.registerMessage(new PacketChunkDataRequest.Handler(), PacketChunkDataRequest.class, ++id, Side.SERVER);
         // Received on client
         network.registerMessage(new PacketAnvilUpdate.Handler(), PacketAnvilUpdate.class, ++id, Side.CLIENT);
-        network.registerMessage(new PacketCrucibleUpdate.Handler(), PacketCrucibleUpdate.class, ++id, Side.CLIENT);
+        network.registerMessage(new PacketDeviceUpdate.Handler(), PacketDeviceUpdate.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketChunkData.Handler(), PacketChunkData.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketCapabilityContainerUpdate.Handler(), PacketCapabilityContainerUpdate.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketCalendarUpdate.Handler(), PacketCalendarUpdate.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketBarrelUpdate.Handler(), PacketBarrelUpdate.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketPlayerNutrientsUpdate.Handler(), PacketPlayerNutrientsUpdate.class, ++id, Side.CLIENT);
+        network.registerMessage(new PacketFallingBlocks.Handler(), PacketFallingBlocks.class, ++id, Side.CLIENT);
 
         EntitiesTFC.preInit();
         CalendarTFC.preInit();
@@ -162,17 +164,18 @@ public final class TerraFirmaCraft
 
         worldTypeTFC = new WorldTypeTFC();
 
-        GameRegistry.registerWorldGenerator(new RarityBasedWorldGen(x -> x.lavaFissureRarity, new WorldGenFissure(true, 20)), 0);
-        GameRegistry.registerWorldGenerator(new RarityBasedWorldGen(x -> x.waterFissureRarity, new WorldGenFissure(false, -1)), 0);
+        // All world generators are wrapped, so their time can be reported when pre-generating
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenFissure (lava)", new RarityBasedWorldGen(x -> x.lavaFissureRarity, new WorldGenFissure(true, 20))), 0);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenFissure (water)", new RarityBasedWorldGen(x -> x.waterFissureRarity, new WorldGenFissure(false, -1))), 0);
         // todo: fix these. They are commented out due to significant cascading lag problems. They need to be rewritten
         //GameRegistry.registerWorldGenerator(new RarityBasedWorldGen(x -> x.lavaFissureClusterRarity, new WorldGenSurfaceFissureCluster(true)), 1);
         //GameRegistry.registerWorldGenerator(new RarityBasedWorldGen(x -> x.waterFissureClusterRarity, new WorldGenSurfaceFissureCluster(false)), 1);
-        GameRegistry.registerWorldGenerator(new WorldGenOreVeins(), 2);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenOreVeins", new WorldGenOreVeins()), 2);
         //todo: add cave decorator
-        GameRegistry.registerWorldGenerator(new WorldGenTrees(), 4);
-        GameRegistry.registerWorldGenerator(new WorldGenLooseRocks(), 5);
-        GameRegistry.registerWorldGenerator(new WorldGenSoilPits(), 6);
-        GameRegistry.registerWorldGenerator(new RarityBasedWorldGen(x -> x.largeRockRarity, new WorldGenLargeRocks()), 7);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenTrees", new WorldGenTrees()), 4);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenLooseRocks", new WorldGenLooseRocks()), 5);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenSoilPits", new WorldGenSoilPits()), 6);
+        GameRegistry.registerWorldGenerator(new ProfiledWorldGen("WorldGenLargeRocks", new RarityBasedWorldGen(x -> x.largeRockRarity, new WorldGenLargeRocks())), 7);
     }
 
     @Mod.EventHandler
@@ -203,6 +206,7 @@ public final class TerraFirmaCraft
         event.registerServerCommand(new CommandTimeTFC());
         event.registerServerCommand(new CommandFindVeins());
         event.registerServerCommand(new CommandNutrients());
+        event.registerServerCommand(new CommandPregen());
     }
 
     @Mod.EventHandler
@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.api.capability.heat;
 
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityInject;
 import net.minecraftforge.common.capabilities.CapabilityManager;
@@ -12,6 +13,7 @@ import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.dries007.tfc.ConfigTFC;
 import net.dries007.tfc.api.capability.DumbStorage;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 public final class CapabilityItemHeat
 {
@@ -30,6 +32,31 @@ public final class CapabilityItemHeat
         CapabilityManager.INSTANCE.register(IItemHeat.class, new DumbStorage<>(), ItemHeatHandler::new);
     }
 
+    /**
+     * Call this from within {@link IItemHeat#serializeNBT()}
+     * This writes the temperature as it was at the last update, not the current temperature. That way the NBT only changes when the temperature is set, not every tick while it cools down,
+     * so stacks aren't sent to clients again every tick (containers compare the capability NBT to find changed stacks)
+     *
+     * @param nbt            the NBT to write to
+     * @param temperature    the temperature at the last update
+     * @param lastUpdateTick the tick of the last update
+     * @param heatCapacity   the heat capacity
+     */
+    public static void writeTemperature(NBTTagCompound nbt, float temperature, long lastUpdateTick, float heatCapacity)
+    {
+        if (adjustTemp(temperature, heatCapacity, CalendarTFC.getTotalTime() - lastUpdateTick) <= MIN_TEMPERATURE)
+        {
+            // Cold items all write the same, so they stay stackable
+            nbt.setFloat("heat", MIN_TEMPERATURE);
+            nbt.setLong("ticks", -1);
+        }
+        else
+        {
+            nbt.setFloat("heat", temperature);
+            nbt.setLong("ticks", lastUpdateTick);
+        }
+    }
+
     /**
      * Call this from within {@link IItemHeat#getTemperature()}
      */
@@ -56,4 +83,39 @@ public final class CapabilityItemHeat
         final float temp = instance.getTemperature() + modifier * instance.getHeatCapacity() * (float) ConfigTFC.GENERAL.temperatureModifierGlobal;
         instance.setTemperature(temp > MAX_TEMPERATURE ? MAX_TEMPERATURE : temp);
     }
+
+    /**
+     * Heats up an item for a number of ticks at once. This is the same as calling {@link #addTemp(IItemHeat)} every tick while the item is colder than the heat source,
+     * except that it stops at the temperature of the heat source instead of going back and forth around it.
+     *
+     * @param sourceTemp the temperature of the heat source
+     * @param ticks      the number of ticks since the item was last heated
+     */
+    public static void addTemp(IItemHeat instance, float sourceTemp, long ticks)
+    {
+        // This already includes the cooling since the last update, see adjustTemp
+        final float temp = instance.getTemperature();
+        if (ticks > 0 && temp < sourceTemp)
+        {
+            final float newTemp = temp + 3 * instance.getHeatCapacity() * (float) ticks * (float) ConfigTFC.GENERAL.temperatureModifierGlobal;
+            instance.setTemperature(Math.min(newTemp, Math.min(sourceTemp, MAX_TEMPERATURE)));
+        }
+    }
+
+    /**
+     * Gets how long it takes to heat up an item to a temperature, when heated with {@link #addTemp(IItemHeat)} every tick
+     *
+     * @return the number of ticks, or {@link Long#MAX_VALUE} if it doesn't heat up
+     */
+    public static long getTicksToHeat(IItemHeat instance, float temperature)
+    {
+        final float temp = instance.getTemperature();
+        if (temp >= temperature)
+        {
+            return 0;
+        }
+        // Heated at 3x, and cooled at 1x the heat capacity
+        final float rate = 2 * instance.getHeatCapacity() * (float) ConfigTFC.GENERAL.temperatureModifierGlobal;
+        return rate > 0 ? (long) Math.ceil((temperature - temp) / rate) : Long.MAX_VALUE;
+    }
 }
@@ -109,16 +109,7 @@ public class ItemHeatHandler implements ICapabilitySerializable<NBTTagCompound>,
     public NBTTagCompound serializeNBT()
     {
         NBTTagCompound nbt = new NBTTagCompound();
-        float temp = getTemperature();
-        nbt.setFloat("heat", temp);
-        if (temp <= 0)
-        {
-            nbt.setLong("ticks", -1);
-        }
-        else
-        {
-            nbt.setLong("ticks", CalendarTFC.getTotalTime());
-        }
+        CapabilityItemHeat.writeTemperature(nbt, temperature, lastUpdateTick, heatCapacity);
         return nbt;
     }
 
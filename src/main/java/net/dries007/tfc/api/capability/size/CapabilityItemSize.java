@@ -5,6 +5,9 @@
 
 package net.dries007.tfc.api.capability.size;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 
 import net.minecraft.item.Item;
@@ -24,6 +27,7 @@ public final class CapabilityItemSize
     @CapabilityInject(IItemSize.class)
     public static final Capability<IItemSize> ITEM_SIZE_CAPABILITY = Helpers.getNull();
     private static final ResourceLocation ID = new ResourceLocation(TFCConstants.MOD_ID, "item_size");
+    private static final Map<Item, ItemSizeHandler> DEFAULT_HANDLERS = new ConcurrentHashMap<>();
 
     public static void preInit()
     {
@@ -42,10 +46,31 @@ public final class CapabilityItemSize
      */
     public static void add(AttachCapabilitiesEvent<ItemStack> event, Item item, Size size, Weight weight, boolean canStack)
     {
-        event.addCapability(ID, new ItemSizeHandler(size, weight, canStack));
+        event.addCapability(ID, ItemSizeHandler.get(size, weight, canStack));
         item.setMaxStackSize(IItemSize.getStackSize(size, weight, canStack));
     }
 
+    /**
+     * Adds the default IItemSize capability for an item. Call this from an AttachCapabilitiesEvent handler.
+     * The handler is worked out the first time a stack of the item is created, and the item's stacksize set. Every stack after that reuses the same handler
+     *
+     * @param event   The AttachCapabilitiesEvent that was fired
+     * @param item    The item to attach the capability to
+     * @param factory Works out the handler for the item
+     */
+    public static void addDefault(AttachCapabilitiesEvent<ItemStack> event, Item item, Function<Item, ItemSizeHandler> factory)
+    {
+        ItemSizeHandler handler = DEFAULT_HANDLERS.get(item);
+        if (handler == null)
+        {
+            handler = factory.apply(item);
+            // The handler doesn't depend on the stack
+            item.setMaxStackSize(handler.getStackSize(ItemStack.EMPTY));
+            DEFAULT_HANDLERS.put(item, handler);
+        }
+        event.addCapability(ID, handler);
+    }
+
     /**
      * Gets the IItemSize instance from an itemstack, either via capability or via interface
      *
@@ -15,9 +15,28 @@ import net.minecraftforge.common.capabilities.ICapabilityProvider;
 
 public class ItemSizeHandler implements ICapabilityProvider, IItemSize
 {
+    private static final ItemSizeHandler[] CACHE = new ItemSizeHandler[Size.values().length * Weight.values().length * 2];
+
+    /**
+     * Gets a shared handler. Handlers can't change and don't depend on the stack, so one instance can be used for every stack with the same size, weight and stackability
+     */
+    @Nonnull
+    public static ItemSizeHandler get(Size size, Weight weight, boolean canStack)
+    {
+        final int index = (size.ordinal() * Weight.values().length + weight.ordinal()) * 2 + (canStack ? 1 : 0);
+        ItemSizeHandler handler = CACHE[index];
+        if (handler == null)
+        {
+            // Always the same values, so it doesn't matter if two threads create one at the same time
+            handler = new ItemSizeHandler(size, weight, canStack);
+            CACHE[index] = handler;
+        }
+        return handler;
+    }
+
     private final Size size;
     private final Weight weight;
-    private boolean canStack;
+    private final boolean canStack;
 
     public ItemSizeHandler(Size size, Weight weight, boolean canStack)
     {
@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.api.recipes;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -17,6 +18,7 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
 
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Metal;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.objects.te.TEAnvilTFC;
 import net.dries007.tfc.util.forge.ForgeRule;
 import net.dries007.tfc.util.forge.ForgeSteps;
@@ -32,11 +34,12 @@ public class AnvilRecipe extends IForgeRegistryEntry.Impl<AnvilRecipe>
 {
     private static final Random RNG = new Random();
     private static long SEED = 0;
+    private static final RecipeIndex<AnvilRecipe> INDEX = new RecipeIndex<>(() -> TFCRegistries.ANVIL.getValuesCollection(), x -> Collections.singleton(x.input.getItem()));
 
     @Nonnull
     public static List<AnvilRecipe> getAllFor(ItemStack stack)
     {
-        return TFCRegistries.ANVIL.getValuesCollection().stream().filter(x -> x.matches(stack)).collect(Collectors.toList());
+        return INDEX.get(stack.getItem()).stream().filter(x -> x.matches(stack)).collect(Collectors.toList());
     }
 
     private final ForgeRule[] rules;
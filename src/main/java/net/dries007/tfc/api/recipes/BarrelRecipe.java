@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.api.recipes;
 
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -14,20 +15,46 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
 
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.objects.inventory.ingredient.IIngredient;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.objects.te.TEBarrel;
 
 public class BarrelRecipe extends IForgeRegistryEntry.Impl<BarrelRecipe>
 {
+    private static final RecipeIndex<BarrelRecipe> BY_ITEM = new RecipeIndex<>(() -> TFCRegistries.BARREL.getValuesCollection(), x -> x.inputStack.getMatchingKeys());
+    private static final RecipeIndex<BarrelRecipe> BY_FLUID = new RecipeIndex<>(() -> TFCRegistries.BARREL.getValuesCollection(), x -> x.inputFluid.getMatchingKeys());
+
     @Nullable
     public static BarrelRecipe get(ItemStack stack, FluidStack fluidStack)
     {
-        return TFCRegistries.BARREL.getValuesCollection().stream().filter(x -> x.isValidInput(fluidStack, stack)).findFirst().orElse(null);
+        for (BarrelRecipe recipe : getCandidates(stack, fluidStack))
+        {
+            if (recipe.isValidInput(fluidStack, stack))
+            {
+                return recipe;
+            }
+        }
+        return null;
     }
 
     @Nullable
     public static BarrelRecipe getInstant(ItemStack stack, FluidStack fluidStack)
     {
-        return TFCRegistries.BARREL.getValuesCollection().stream().filter(x -> x.isValidInput(fluidStack, stack) && x.getDuration() == 0).findFirst().orElse(null);
+        for (BarrelRecipe recipe : getCandidates(stack, fluidStack))
+        {
+            if (recipe.getDuration() == 0 && recipe.isValidInput(fluidStack, stack))
+            {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    // Recipes have to match both, so only the shorter list needs to be checked
+    private static List<BarrelRecipe> getCandidates(ItemStack stack, FluidStack fluidStack)
+    {
+        List<BarrelRecipe> byItem = BY_ITEM.get(stack.isEmpty() ? null : stack.getItem());
+        List<BarrelRecipe> byFluid = BY_FLUID.get(fluidStack != null ? fluidStack.getFluid() : null);
+        return byItem.size() <= byFluid.size() ? byItem : byFluid;
     }
 
     private final IIngredient<ItemStack> inputStack;
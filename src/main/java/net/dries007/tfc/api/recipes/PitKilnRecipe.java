@@ -16,6 +16,7 @@ import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Metal;
 import net.dries007.tfc.objects.inventory.ingredient.IIngredient;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.util.IFireable;
 
 /**
@@ -26,10 +27,19 @@ import net.dries007.tfc.util.IFireable;
 @ParametersAreNonnullByDefault
 public class PitKilnRecipe extends IForgeRegistryEntry.Impl<PitKilnRecipe>
 {
+    private static final RecipeIndex<PitKilnRecipe> INDEX = new RecipeIndex<>(() -> TFCRegistries.PIT_KILN.getValuesCollection(), r -> r.ingredient.getMatchingKeys());
+
     @Nullable
     public static PitKilnRecipe get(ItemStack stack)
     {
-        return TFCRegistries.PIT_KILN.getValuesCollection().stream().filter(r -> r.isValidInput(stack)).findFirst().orElse(null);
+        for (PitKilnRecipe recipe : INDEX.get(stack.isEmpty() ? null : stack.getItem()))
+        {
+            if (recipe.isValidInput(stack))
+            {
+                return recipe;
+            }
+        }
+        return null;
     }
 
     private final IIngredient<ItemStack> ingredient;
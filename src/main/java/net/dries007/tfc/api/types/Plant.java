@@ -205,6 +205,16 @@ public class Plant extends IForgeRegistryEntry.Impl<Plant>
         return maxGrowthTemp;
     }
 
+    public float getMinRain()
+    {
+        return minRain;
+    }
+
+    public float getMaxRain()
+    {
+        return maxRain;
+    }
+
     public int[] getStages()
     {
         return stages;
@@ -324,7 +334,7 @@ public class Plant extends IForgeRegistryEntry.Impl<Plant>
         return PlantValidity.VALID;
     }
 
-    private float getAvgTemp()
+    public float getAvgTemp()
     {
         return Float.sum(minTemp, maxTemp) / 2f;
     }
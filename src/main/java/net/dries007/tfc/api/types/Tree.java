@@ -130,6 +130,36 @@ public class Tree extends IForgeRegistryEntry.Impl<Tree>
         return dominance;
     }
 
+    public float getMinTemp()
+    {
+        return minTemp;
+    }
+
+    public float getMaxTemp()
+    {
+        return maxTemp;
+    }
+
+    public float getMinRain()
+    {
+        return minRain;
+    }
+
+    public float getMaxRain()
+    {
+        return maxRain;
+    }
+
+    public float getMinDensity()
+    {
+        return minDensity;
+    }
+
+    public float getMaxDensity()
+    {
+        return maxDensity;
+    }
+
     public int getMaxHeight()
     {
         return maxHeight;
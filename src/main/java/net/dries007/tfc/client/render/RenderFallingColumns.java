@@ -0,0 +1,157 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.client.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BlockRendererDispatcher;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.EnumBlockRenderType;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import io.netty.buffer.ByteBuf;
+import net.dries007.tfc.network.PacketFallingBlocks;
+import net.dries007.tfc.util.FallingBlockManager;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Draws the columns of falling blocks sent with {@link PacketFallingBlocks}. They fall on their own, the same way as on the server, and are all drawn in one go.
+ * A block isn't drawn where the world already has the same block, i.e. before the server removed it, or after it landed.
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(value = Side.CLIENT, modid = MOD_ID)
+public final class RenderFallingColumns
+{
+    private static final List<Column> COLUMNS = new ArrayList<>();
+    private static final int LANDED_TICKS = 20; // How long to keep drawing a column after it landed, until the server puts the blocks down
+
+    public static void add(World world, ByteBuf buf)
+    {
+        final long tick = world.getTotalWorldTime();
+        final int count = ByteBufUtils.readVarInt(buf, 5);
+        for (int i = 0; i < count; i++)
+        {
+            final int x = buf.readInt();
+            final int z = buf.readInt();
+            final int y = ByteBufUtils.readVarInt(buf, 5);
+            final int landY = ByteBufUtils.readVarInt(buf, 5);
+            final IBlockState[] states = new IBlockState[ByteBufUtils.readVarInt(buf, 5)];
+            for (int j = 0; j < states.length; j++)
+            {
+                states[j] = Block.getStateById(ByteBufUtils.readVarInt(buf, 5));
+            }
+            COLUMNS.add(new Column(x, y, z, landY, states, tick));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event)
+    {
+        final World world = Minecraft.getMinecraft().world;
+        if (event.phase == TickEvent.Phase.END && world != null && !COLUMNS.isEmpty())
+        {
+            final long tick = world.getTotalWorldTime();
+            COLUMNS.removeIf(column -> tick > column.startTick + column.fallTicks + LANDED_TICKS);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onRenderWorldLast(RenderWorldLastEvent event)
+    {
+        final Minecraft mc = Minecraft.getMinecraft();
+        final World world = mc.world;
+        final Entity viewer = mc.getRenderViewEntity();
+        if (COLUMNS.isEmpty() || world == null || viewer == null)
+        {
+            return;
+        }
+
+        final float partialTicks = event.getPartialTicks();
+        final double viewX = viewer.lastTickPosX + (viewer.posX - viewer.lastTickPosX) * partialTicks;
+        final double viewY = viewer.lastTickPosY + (viewer.posY - viewer.lastTickPosY) * partialTicks;
+        final double viewZ = viewer.lastTickPosZ + (viewer.posZ - viewer.lastTickPosZ) * partialTicks;
+        final double time = world.getTotalWorldTime() + partialTicks;
+
+        mc.getTextureManager().bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
+        GlStateManager.pushMatrix();
+        GlStateManager.disableLighting();
+        Tessellator tessellator = Tessellator.getInstance();
+        BufferBuilder bufferbuilder = tessellator.getBuffer();
+        bufferbuilder.begin(7, DefaultVertexFormats.BLOCK);
+        BlockRendererDispatcher brd = mc.getBlockRendererDispatcher();
+
+        for (Column column : COLUMNS)
+        {
+            final double y = Math.max(column.landY, column.y - FallingBlockManager.getFallDistance(time - column.startTick));
+            final int blockY = MathHelper.floor(y);
+            bufferbuilder.setTranslation(-viewX, -viewY + (y - blockY), -viewZ);
+            for (int i = 0; i < column.states.length; i++)
+            {
+                final IBlockState state = column.states[i];
+                final BlockPos pos = new BlockPos(column.x, blockY + i, column.z);
+                if (state.getRenderType() == EnumBlockRenderType.MODEL && world.getBlockState(pos) != state)
+                {
+                    brd.getBlockModelRenderer().renderModel(world, brd.getModelForState(state), state, pos, bufferbuilder, false, MathHelper.getPositionRandom(new BlockPos(column.x, column.y + i, column.z)));
+                }
+            }
+        }
+
+        tessellator.draw();
+        bufferbuilder.setTranslation(0, 0, 0);
+        GlStateManager.enableLighting();
+        GlStateManager.popMatrix();
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (event.getWorld().isRemote)
+        {
+            COLUMNS.clear();
+        }
+    }
+
+    private static final class Column
+    {
+        private final int x, y, z, landY;
+        private final IBlockState[] states;
+        private final long startTick;
+        private final int fallTicks;
+
+        private Column(int x, int y, int z, int landY, IBlockState[] states, long startTick)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.landY = landY;
+            this.states = states;
+            this.startTick = startTick;
+            this.fallTicks = FallingBlockManager.getFallTicks(y - landY);
+        }
+    }
+
+    private RenderFallingColumns() {}
+}
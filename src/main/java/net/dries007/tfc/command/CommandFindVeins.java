@@ -5,8 +5,11 @@
 
 package net.dries007.tfc.command;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -15,18 +18,25 @@ import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.command.WrongUsageException;
+import net.minecraft.entity.Entity;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentString;
 
-import net.dries007.tfc.world.classic.worldgen.WorldGenOreVeins;
 import net.dries007.tfc.world.classic.worldgen.vein.Vein;
+import net.dries007.tfc.world.classic.worldgen.vein.VeinIndex;
 import net.dries007.tfc.world.classic.worldgen.vein.VeinRegistry;
 import net.dries007.tfc.world.classic.worldgen.vein.VeinType;
 
 @ParametersAreNonnullByDefault
 public class CommandFindVeins extends CommandBase
 {
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "TFC Vein Search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @Override
     @Nonnull
     public String getName()
@@ -45,23 +55,49 @@ public class CommandFindVeins extends CommandBase
     public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException
     {
         if (args.length != 2) throw new WrongUsageException("2 arguments required.");
-        if (sender.getCommandSenderEntity() == null) throw new WrongUsageException("Can only be used by a player");
-
-        sender.sendMessage(new TextComponentString("Veins Found: "));
+        final Entity entity = sender.getCommandSenderEntity();
+        if (entity == null) throw new WrongUsageException("Can only be used by a player");
 
         final int radius = parseInt(args[1], 1, 1000);
-        final List<Vein> veins = WorldGenOreVeins.getNearbyVeins(sender.getCommandSenderEntity().chunkCoordX, sender.getCommandSenderEntity().chunkCoordZ, sender.getEntityWorld().getSeed(), radius);
+        final VeinType type;
         if (!args[0].equals("all"))
         {
-            final VeinType type = VeinRegistry.INSTANCE.getVein(args[0]);
+            type = VeinRegistry.INSTANCE.getVein(args[0]);
             if (type == null)
             {
                 throw new WrongUsageException("Vein supplied does not match 'all' or any valid vein names. Use /veininfo to see valid vein names");
             }
-            // Search for veins matching type
-            veins.removeIf(x -> x.type != type);
         }
-        veins.forEach(x -> sender.sendMessage(new TextComponentString("> Vein: " + x.type + " at " + x.pos)));
+        else
+        {
+            type = null;
+        }
+
+        // Large radii take a while, so search in the background and report back on the server thread
+        final int chunkX = entity.chunkCoordX, chunkZ = entity.chunkCoordZ;
+        final long seed = sender.getEntityWorld().getSeed();
+        sender.sendMessage(new TextComponentString("Searching for veins..."));
+        SEARCH_EXECUTOR.execute(() -> {
+            final List<Vein> veins = new ArrayList<>();
+            for (int x = -radius; x <= radius; x++)
+            {
+                for (int z = -radius; z <= radius; z++)
+                {
+                    for (Vein vein : VeinIndex.INSTANCE.getVeinsAtChunk(chunkX + x, chunkZ + z, seed, false))
+                    {
+                        // Search for veins matching type
+                        if (type == null || vein.type == type)
+                        {
+                            veins.add(vein);
+                        }
+                    }
+                }
+            }
+            server.addScheduledTask(() -> {
+                sender.sendMessage(new TextComponentString("Veins Found: "));
+                veins.forEach(x -> sender.sendMessage(new TextComponentString("> Vein: " + x.type + " at " + x.pos)));
+            });
+        });
     }
 
     @Override
@@ -0,0 +1,94 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.command;
+
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import mcp.MethodsReturnNonnullByDefault;
+import net.dries007.tfc.world.classic.ChunkPregenerator;
+
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+public class CommandPregen extends CommandBase
+{
+    @Override
+    public String getName()
+    {
+        return "tfcpregen";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender)
+    {
+        return "/tfcpregen <radius|stop|status> -> Generates all chunks within <radius> chunks of spawn. Resumes if the radius is the same as an unfinished run.";
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException
+    {
+        if (args.length != 1) throw new WrongUsageException("1 argument required.");
+
+        final World world = sender.getEntityWorld();
+        if (!(world instanceof WorldServer)) return;
+
+        if ("stop".equals(args[0]))
+        {
+            if (ChunkPregenerator.stop(world))
+            {
+                sender.sendMessage(new TextComponentString("Stopped pre-generating chunks. Use the same radius again to resume."));
+            }
+            else
+            {
+                sender.sendMessage(new TextComponentString("Not pre-generating chunks."));
+            }
+        }
+        else if ("status".equals(args[0]))
+        {
+            ChunkPregenerator pregen = ChunkPregenerator.get(world);
+            if (pregen == null)
+            {
+                sender.sendMessage(new TextComponentString("Not pre-generating chunks."));
+                return;
+            }
+            pregen.getStatus().forEach(line -> sender.sendMessage(new TextComponentString(line)));
+        }
+        else
+        {
+            int radius = parseInt(args[0], 1, 2000);
+            ChunkPregenerator pregen = ChunkPregenerator.start((WorldServer) world, radius);
+            sender.sendMessage(new TextComponentString(String.format("Pre-generating chunks, starting at %d / %d.", pregen.getIndex(), pregen.getTotal())));
+        }
+    }
+
+    @Override
+    public int getRequiredPermissionLevel()
+    {
+        return 2;
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos)
+    {
+        if (args.length == 1)
+        {
+            return getListOfStringsMatchingLastWord(args, "stop", "status");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -5,32 +5,30 @@
 
 package net.dries007.tfc.network;
 
-import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.NonNullList;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.capability.heat.CapabilityItemHeat;
 import net.dries007.tfc.api.capability.heat.IItemHeat;
 import net.dries007.tfc.api.capability.nuturient.CapabilityNutrients;
 import net.dries007.tfc.api.capability.nuturient.IFood;
 import net.dries007.tfc.objects.container.CapabilityContainerListener;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 /**
  * This is a packet which is sent to the client to sync capability data
- * It is used by {@link CapabilityContainerListener}
+ * It is used by {@link CapabilityContainerListener}, which writes the changed slots: the slot index, then which values follow ({@code FLAG_*}), then those values
  *
  * @author Choonster
  * @author AlcatrazEscapee
@@ -38,84 +36,34 @@ import net.dries007.tfc.objects.container.CapabilityContainerListener;
 @ParametersAreNonnullByDefault
 public class PacketCapabilityContainerUpdate implements IMessage
 {
-    private final TIntObjectMap<NBTTagCompound> capabilityData = new TIntObjectHashMap<>();
+    public static final int FLAG_HEAT = 1; // The temperature
+    public static final int FLAG_HEAT_DATA = 2; // The rest of the heat capability NBT, i.e. forging steps
+    public static final int FLAG_FOOD = 4; // The food creation date
+
     private int windowID;
+    private ByteBuf data;
 
     @SuppressWarnings("unused")
     public PacketCapabilityContainerUpdate() {}
 
-    public PacketCapabilityContainerUpdate(int windowID, int slotID, ItemStack stack)
+    public PacketCapabilityContainerUpdate(int windowID, ByteBuf data)
     {
         this.windowID = windowID;
-
-        final NBTTagCompound data = readCapability(stack);
-        if (!data.isEmpty())
-        {
-            capabilityData.put(slotID, data);
-        }
-    }
-
-    public PacketCapabilityContainerUpdate(int windowID, NonNullList<ItemStack> items)
-    {
-        this.windowID = windowID;
-
-        for (int i = 0; i < items.size(); i++)
-        {
-            final NBTTagCompound nbt = readCapability(items.get(i));
-            if (!nbt.isEmpty())
-            {
-                capabilityData.put(i, nbt);
-            }
-        }
+        this.data = data;
     }
 
     @Override
     public final void fromBytes(final ByteBuf buf)
     {
         windowID = buf.readInt();
-
-        final int numEntries = buf.readInt();
-        for (int i = 0; i < numEntries; i++)
-        {
-            final int index = buf.readInt();
-            final NBTTagCompound data = ByteBufUtils.readTag(buf);
-            capabilityData.put(index, data);
-        }
+        data = Unpooled.copiedBuffer(buf);
     }
 
     @Override
     public final void toBytes(final ByteBuf buf)
     {
         buf.writeInt(windowID);
-
-        buf.writeInt(capabilityData.size());
-        capabilityData.forEachEntry((index, data) -> {
-            buf.writeInt(index);
-            ByteBufUtils.writeTag(buf, data);
-            return true;
-        });
-    }
-
-    public final boolean hasData()
-    {
-        return !capabilityData.isEmpty();
-    }
-
-    @Nonnull
-    private NBTTagCompound readCapability(final ItemStack stack)
-    {
-        IItemHeat itemHeat = stack.getCapability(CapabilityItemHeat.ITEM_HEAT_CAPABILITY, null);
-        IFood food = stack.getCapability(CapabilityNutrients.CAPABILITY_NUTRIENTS, null);
-        NBTTagCompound nbt = new NBTTagCompound();
-        if (itemHeat != null)
-        {
-            nbt.setTag("heat", itemHeat.serializeNBT());
-        }
-        if (food != null)
-        {
-            nbt.setTag("food", food.serializeNBT());
-        }
-        return nbt;
+        buf.writeBytes(data, data.readerIndex(), data.readableBytes());
     }
 
     @ParametersAreNonnullByDefault
@@ -124,8 +72,6 @@ public class PacketCapabilityContainerUpdate implements IMessage
         @Override
         public IMessage onMessage(final PacketCapabilityContainerUpdate message, final MessageContext ctx)
         {
-            if (!message.hasData()) return null; // Don't do anything if no data was sent
-
             TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> {
                 final EntityPlayer player = TerraFirmaCraft.getProxy().getPlayer(ctx);
                 final Container container;
@@ -145,30 +91,41 @@ public class PacketCapabilityContainerUpdate implements IMessage
                         return;
                     }
 
-                    message.capabilityData.forEachEntry((index, nbt) -> {
-                        final ItemStack stack = container.getSlot(index).getStack();
+                    final ByteBuf buf = message.data;
+                    final int count = ByteBufUtils.readVarInt(buf, 5);
+                    for (int i = 0; i < count; i++)
+                    {
+                        final int index = ByteBufUtils.readVarInt(buf, 5);
+                        final int flags = buf.readByte();
+                        final float temperature = (flags & FLAG_HEAT) != 0 ? buf.readFloat() : 0;
+                        final NBTTagCompound heatData = (flags & FLAG_HEAT_DATA) != 0 ? ByteBufUtils.readTag(buf) : null;
+                        final long creationDate = (flags & FLAG_FOOD) != 0 ? buf.readLong() : 0;
+                        if (index >= container.inventorySlots.size())
+                        {
+                            continue;
+                        }
 
+                        final ItemStack stack = container.getSlot(index).getStack();
                         final IItemHeat heat = stack.getCapability(CapabilityItemHeat.ITEM_HEAT_CAPABILITY, null);
                         if (heat != null)
                         {
-                            NBTTagCompound heatNBT = nbt.getCompoundTag("heat");
-                            if (!heat.serializeNBT().equals(heatNBT))
+                            if (heatData != null)
                             {
-                                heat.deserializeNBT(heatNBT);
+                                CapabilityItemHeat.writeTemperature(heatData, temperature, CalendarTFC.getTotalTime(), heat.getHeatCapacity());
+                                heat.deserializeNBT(heatData);
+                            }
+                            else if ((flags & FLAG_HEAT) != 0)
+                            {
+                                heat.setTemperature(temperature);
                             }
                         }
 
                         final IFood food = stack.getCapability(CapabilityNutrients.CAPABILITY_NUTRIENTS, null);
-                        if (food != null)
+                        if (food != null && (flags & FLAG_FOOD) != 0)
                         {
-                            NBTTagCompound foodNBT = nbt.getCompoundTag("food");
-                            if (!food.serializeNBT().equals(foodNBT))
-                            {
-                                food.deserializeNBT(foodNBT);
-                            }
+                            food.setCreationDate(creationDate);
                         }
-                        return true;
-                    });
+                    }
                 }
             });
 
@@ -5,7 +5,10 @@
 
 package net.dries007.tfc.network;
 
-import net.minecraft.nbt.NBTTagCompound;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
@@ -15,16 +18,42 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.world.classic.ClimateRenderHelper;
+import net.dries007.tfc.world.classic.chunkdata.CapabilityChunkData;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataProvider;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 
+/**
+ * Sends the chunk data to a client, written by {@link ChunkDataTFC#write(ByteBuf)}
+ * Clients keep the data of the last {@link PacketChunkData#CACHE_SIZE} chunks they received. If the client already has the same data for a chunk, only its hash is sent.
+ * The server keeps track of what each client has, see {@link CapabilityChunkData}. Both sides use {@link PacketChunkData#newCache()} and see the same packets in the same order, so they drop the same chunks.
+ * If the client ever can't use a packet, it forgets all chunks it has and asks for the chunk again with a {@link PacketChunkDataRequest}, so the server starts over as well.
+ */
 public class PacketChunkData implements IMessage
 {
-    private NBTTagCompound nbt;
+    public static final int CACHE_SIZE = 4096;
+
+    /**
+     * @return a map which keeps the {@link PacketChunkData#CACHE_SIZE} most recently used chunks
+     */
+    public static <V> Map<Long, V> newCache()
+    {
+        return new LinkedHashMap<Long, V>(256, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest)
+            {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
     private int x, z;
-    private float temperature, rainfall;
+    private boolean reset;
+    private int hash;
+    private byte[] data;
 
     @SuppressWarnings("unused")
     public PacketChunkData()
@@ -32,13 +61,17 @@ public class PacketChunkData implements IMessage
 
     }
 
-    public PacketChunkData(ChunkPos chunkPos, NBTTagCompound nbt, float temperature, float rainfall)
+    /**
+     * @param reset if the client should forget all chunks it has, i.e. when it changed dimension
+     * @param data  the chunk data, or null if the client already has it
+     */
+    public PacketChunkData(ChunkPos chunkPos, boolean reset, int hash, @Nullable byte[] data)
     {
         this.x = chunkPos.x;
         this.z = chunkPos.z;
-        this.nbt = nbt;
-        this.temperature = temperature;
-        this.rainfall = rainfall;
+        this.reset = reset;
+        this.hash = hash;
+        this.data = data;
     }
 
     @Override
@@ -46,9 +79,13 @@ public class PacketChunkData implements IMessage
     {
         x = buf.readInt();
         z = buf.readInt();
-        nbt = ByteBufUtils.readTag(buf);
-        temperature = buf.readFloat();
-        rainfall = buf.readFloat();
+        reset = buf.readBoolean();
+        hash = buf.readInt();
+        if (buf.readBoolean())
+        {
+            data = new byte[ByteBufUtils.readVarInt(buf, 5)];
+            buf.readBytes(data);
+        }
     }
 
     @Override
@@ -56,33 +93,88 @@ public class PacketChunkData implements IMessage
     {
         buf.writeInt(x);
         buf.writeInt(z);
-        ByteBufUtils.writeTag(buf, nbt);
-        buf.writeFloat(temperature);
-        buf.writeFloat(rainfall);
+        buf.writeBoolean(reset);
+        buf.writeInt(hash);
+        buf.writeBoolean(data != null);
+        if (data != null)
+        {
+            ByteBufUtils.writeVarInt(buf, data.length, 5);
+            buf.writeBytes(data);
+        }
     }
 
     public static class Handler implements IMessageHandler<PacketChunkData, IMessage>
     {
+        // Only used on the client thread
+        private static final Map<Long, CachedChunkData> CACHE = newCache();
+
         @Override
         public IMessage onMessage(PacketChunkData message, MessageContext ctx)
         {
-            final World world = TerraFirmaCraft.getProxy().getWorld(ctx);
-            if (world != null)
-            {
-                TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> {
-                    // Update client-side chunk data capability
-                    Chunk chunk = world.getChunk(message.x, message.z);
-                    ChunkDataTFC data = chunk.getCapability(ChunkDataProvider.CHUNK_DATA_CAPABILITY, null);
-                    if (data != null)
+            // Every packet has to go through the cache, even if it can't be used, or the cache won't match the server's any more
+            TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> {
+                if (message.reset)
+                {
+                    CACHE.clear();
+                }
+                final long key = ChunkPos.asLong(message.x, message.z);
+                byte[] bytes = message.data;
+                if (bytes != null)
+                {
+                    CACHE.put(key, new CachedChunkData(message.hash, bytes));
+                }
+                else
+                {
+                    CachedChunkData cached = CACHE.get(key);
+                    if (cached == null || cached.hash != message.hash)
                     {
-                        ChunkDataProvider.CHUNK_DATA_CAPABILITY.readNBT(data, null, message.nbt);
+                        TerraFirmaCraft.getLog().warn("Missing cached chunk data for chunk {}, {}, requesting it again", message.x, message.z);
+                        requestResend(message);
+                        return;
                     }
+                    bytes = cached.data;
+                }
 
-                    // Update rendering climate helper
-                    ClimateRenderHelper.update(chunk.getPos(), message.temperature, message.rainfall);
-                });
-            }
+                final World world = TerraFirmaCraft.getProxy().getWorld(ctx);
+                if (world == null)
+                {
+                    // Nowhere to put it, so have the server send it again later
+                    requestResend(message);
+                    return;
+                }
+
+                // Update client-side chunk data capability
+                Chunk chunk = world.getChunk(message.x, message.z);
+                ChunkDataTFC data = chunk.getCapability(ChunkDataProvider.CHUNK_DATA_CAPABILITY, null);
+                if (data == null)
+                {
+                    data = new ChunkDataTFC();
+                }
+                data.read(Unpooled.wrappedBuffer(bytes));
+
+                // Update rendering climate helper
+                ClimateRenderHelper.update(chunk.getPos(), data.getBaseTemp(), data.getRainfall());
+            });
             return null;
         }
+
+        private static void requestResend(PacketChunkData message)
+        {
+            // The server forgets what it sent when it gets this, so both caches start over empty
+            CACHE.clear();
+            TerraFirmaCraft.getNetwork().sendToServer(new PacketChunkDataRequest(message.x, message.z));
+        }
+    }
+
+    private static final class CachedChunkData
+    {
+        private final int hash;
+        private final byte[] data;
+
+        private CachedChunkData(int hash, byte[] data)
+        {
+            this.hash = hash;
+            this.data = data;
+        }
     }
 }
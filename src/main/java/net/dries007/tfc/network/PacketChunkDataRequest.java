@@ -0,0 +1,62 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.network;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import io.netty.buffer.ByteBuf;
+import net.dries007.tfc.TerraFirmaCraft;
+import net.dries007.tfc.world.classic.chunkdata.CapabilityChunkData;
+
+/**
+ * Sent by a client that couldn't use a {@link PacketChunkData}, after it forgot all the chunk data it had.
+ * The server forgets what it sent to the client as well, and sends the chunk again in full.
+ */
+public class PacketChunkDataRequest implements IMessage
+{
+    private int x, z;
+
+    @SuppressWarnings("unused")
+    public PacketChunkDataRequest() {}
+
+    public PacketChunkDataRequest(int x, int z)
+    {
+        this.x = x;
+        this.z = z;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        x = buf.readInt();
+        z = buf.readInt();
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeInt(x);
+        buf.writeInt(z);
+    }
+
+    public static final class Handler implements IMessageHandler<PacketChunkDataRequest, IMessage>
+    {
+        @Override
+        public IMessage onMessage(PacketChunkDataRequest message, MessageContext ctx)
+        {
+            EntityPlayer player = TerraFirmaCraft.getProxy().getPlayer(ctx);
+            if (player instanceof EntityPlayerMP)
+            {
+                TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> CapabilityChunkData.resend((EntityPlayerMP) player, message.x, message.z));
+            }
+            return null;
+        }
+    }
+}
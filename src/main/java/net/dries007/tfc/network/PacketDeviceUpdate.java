@@ -6,64 +6,67 @@
 package net.dries007.tfc.network;
 
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.dries007.tfc.TerraFirmaCraft;
-import net.dries007.tfc.objects.te.TECrucible;
+import net.dries007.tfc.objects.te.TEInventory;
+import net.dries007.tfc.objects.te.TESyncScheduler;
 import net.dries007.tfc.util.Helpers;
 
 /**
- * Used to send the alloy contents of a crucible to client for display purposes
+ * Used to send the changes to a device (i.e. the alloy contents of a crucible) to client, see {@link TESyncScheduler}
+ * The contents are written by the tile entity itself, with {@link TEInventory#writeSyncData(ByteBuf)}
  */
-public class PacketCrucibleUpdate implements IMessage
+public class PacketDeviceUpdate implements IMessage
 {
-    private NBTTagCompound alloyNBT;
     private BlockPos pos;
+    private ByteBuf data;
 
     @SuppressWarnings("unused")
-    public PacketCrucibleUpdate() {}
+    public PacketDeviceUpdate() {}
 
-    public PacketCrucibleUpdate(TECrucible tile)
+    public PacketDeviceUpdate(TEInventory tile)
     {
         this.pos = tile.getPos();
-        this.alloyNBT = tile.getAlloy().serializeNBT();
+        // Written right away, as the tile entity only writes what changed since the last time
+        this.data = Unpooled.buffer();
+        tile.writeSyncData(data);
     }
 
     @Override
     public void fromBytes(ByteBuf buf)
     {
         pos = BlockPos.fromLong(buf.readLong());
-        alloyNBT = ByteBufUtils.readTag(buf);
+        data = Unpooled.copiedBuffer(buf);
     }
 
     @Override
     public void toBytes(ByteBuf buf)
     {
         buf.writeLong(pos.toLong());
-        ByteBufUtils.writeTag(buf, alloyNBT);
+        buf.writeBytes(data, data.readerIndex(), data.readableBytes());
     }
 
-    public static class Handler implements IMessageHandler<PacketCrucibleUpdate, IMessage>
+    public static class Handler implements IMessageHandler<PacketDeviceUpdate, IMessage>
     {
         @Override
-        public IMessage onMessage(PacketCrucibleUpdate message, MessageContext ctx)
+        public IMessage onMessage(PacketDeviceUpdate message, MessageContext ctx)
         {
             EntityPlayer player = TerraFirmaCraft.getProxy().getPlayer(ctx);
             if (player != null)
             {
                 World world = player.getEntityWorld();
                 TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> {
-                    TECrucible te = Helpers.getTE(world, message.pos, TECrucible.class);
+                    TEInventory te = Helpers.getTE(world, message.pos, TEInventory.class);
                     if (te != null)
                     {
-                        te.setAlloy(message.alloyNBT);
+                        te.readSyncData(message.data);
                     }
                 });
             }
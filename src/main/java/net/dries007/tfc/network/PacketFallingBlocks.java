@@ -0,0 +1,59 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.network;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.TerraFirmaCraft;
+import net.dries007.tfc.util.FallingBlockManager;
+
+/**
+ * Sends all columns of blocks that started falling in a tick, see {@link FallingBlockManager}
+ * For each column: the x and z position, the y position of the bottom block before and after falling, and the block states from the bottom up.
+ */
+public class PacketFallingBlocks implements IMessage
+{
+    private ByteBuf data;
+
+    @SuppressWarnings("unused")
+    public PacketFallingBlocks() {}
+
+    public PacketFallingBlocks(ByteBuf data)
+    {
+        this.data = data;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        data = Unpooled.copiedBuffer(buf);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeBytes(data, data.readerIndex(), data.readableBytes());
+    }
+
+    public static class Handler implements IMessageHandler<PacketFallingBlocks, IMessage>
+    {
+        @Override
+        public IMessage onMessage(PacketFallingBlocks message, MessageContext ctx)
+        {
+            EntityPlayer player = TerraFirmaCraft.getProxy().getPlayer(ctx);
+            if (player != null)
+            {
+                TerraFirmaCraft.getProxy().getThreadListener(ctx).addScheduledTask(() -> TerraFirmaCraft.getProxy().addFallingBlocks(player.getEntityWorld(), message.data));
+            }
+            return null;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import net.dries007.tfc.objects.items.ItemFireStarter;
 import net.dries007.tfc.objects.te.TEBellows;
 import net.dries007.tfc.objects.te.TECharcoalForge;
 import net.dries007.tfc.objects.te.TEInventory;
+import net.dries007.tfc.objects.te.TETickScheduler;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.IBellowsHandler;
 import net.dries007.tfc.util.IHeatProviderBlock;
@@ -236,6 +237,7 @@ public class BlockCharcoalForge extends Block implements IBellowsHandler, IHeatP
                 if (ItemFireStarter.canIgnite(held))
                 {
                     world.setBlockState(pos, state.withProperty(LIT, true));
+                    TETickScheduler.wake(world, pos);
                     return true;
                 }
             }
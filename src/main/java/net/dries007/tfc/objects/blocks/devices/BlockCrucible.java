@@ -29,6 +29,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import net.dries007.tfc.client.TFCGuiHandler;
 import net.dries007.tfc.objects.te.TECrucible;
+import net.dries007.tfc.objects.te.TETickScheduler;
 
 @ParametersAreNonnullByDefault
 public class BlockCrucible extends Block
@@ -149,6 +150,15 @@ public class BlockCrucible extends Block
         return true;
     }
 
+    @Override
+    @SuppressWarnings("deprecation")
+    public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos)
+    {
+        // The crucible is heated by the block below it
+        TETickScheduler.wake(worldIn, pos);
+        super.neighborChanged(state, worldIn, pos, blockIn, fromPos);
+    }
+
     @Override
     public boolean isNormalCube(IBlockState state, IBlockAccess world, BlockPos pos)
     {
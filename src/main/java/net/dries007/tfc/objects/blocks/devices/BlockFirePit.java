@@ -35,6 +35,7 @@ import net.dries007.tfc.client.TFCGuiHandler;
 import net.dries007.tfc.objects.items.ItemFireStarter;
 import net.dries007.tfc.objects.te.TEBellows;
 import net.dries007.tfc.objects.te.TEFirePit;
+import net.dries007.tfc.objects.te.TETickScheduler;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.IBellowsHandler;
 import net.dries007.tfc.util.IHeatProviderBlock;
@@ -185,6 +186,7 @@ public class BlockFirePit extends Block implements IBellowsHandler, IHeatProvide
                 if (ItemFireStarter.canIgnite(held))
                 {
                     worldIn.setBlockState(pos, state.withProperty(LIT, true));
+                    TETickScheduler.wake(worldIn, pos);
                     return true;
                 }
             }
@@ -28,6 +28,7 @@ import net.minecraft.world.World;
 import mcp.MethodsReturnNonnullByDefault;
 import net.dries007.tfc.objects.items.ItemsTFC;
 import net.dries007.tfc.objects.te.TEPitKiln;
+import net.dries007.tfc.objects.te.TETickScheduler;
 import net.dries007.tfc.util.Helpers;
 
 import static net.dries007.tfc.objects.blocks.BlockPlacedItem.PLACED_ITEM_AABB;
@@ -128,6 +129,8 @@ public class BlockPitKiln extends Block
             }
             // Make sure the sides are valid
             te.assertValid();
+            // Puts the fire back if needed
+            TETickScheduler.wake(te);
         }
         super.neighborChanged(state, worldIn, pos, blockIn, fromPos);
     }
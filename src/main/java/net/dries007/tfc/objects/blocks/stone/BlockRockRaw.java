@@ -16,10 +16,13 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import mcp.MethodsReturnNonnullByDefault;
+import net.dries007.tfc.ConfigTFC;
 import net.dries007.tfc.api.types.Rock;
 import net.dries007.tfc.client.TFCGuiHandler;
+import net.dries007.tfc.util.CaveIn;
 import net.dries007.tfc.util.ICollapsableBlock;
 import net.dries007.tfc.util.OreDictionaryHelper;
+import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 
 @MethodsReturnNonnullByDefault
 @ParametersAreNonnullByDefault
@@ -31,8 +34,26 @@ public class BlockRockRaw extends BlockRockVariant implements ICollapsableBlock
         super(type, rock);
     }
 
-    //todo: add collapsable mechanics
+    @Override
+    public IBlockState getCollapsedState(IBlockState state)
+    {
+        return BlockRockVariant.get(rock, Rock.Type.COBBLE).getDefaultState();
+    }
 
+    @Override
+    public void onBlockHarvested(World worldIn, BlockPos pos, IBlockState state, EntityPlayer player)
+    {
+        super.onBlockHarvested(worldIn, pos, state, player);
+        if (!worldIn.isRemote && worldIn.rand.nextDouble() < ConfigTFC.GENERAL.collapseChance)
+        {
+            ChunkDataTFC data = ChunkDataTFC.get(worldIn, pos);
+            if (data.isInitialized() && !data.isStable(pos.getX() & 15, pos.getZ() & 15))
+            {
+                // The ceiling above caves in once this is gone
+                CaveIn.start(worldIn, pos.up());
+            }
+        }
+    }
 
     @Override
     public boolean onBlockActivated(World worldIn, BlockPos pos, IBlockState state, EntityPlayer playerIn, EnumHand hand, EnumFacing facing, float hitX, float hitY, float hitZ)
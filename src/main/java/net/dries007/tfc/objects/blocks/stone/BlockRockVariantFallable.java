@@ -5,7 +5,6 @@
 
 package net.dries007.tfc.objects.blocks.stone;
 
-import java.util.Arrays;
 import java.util.Random;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -75,23 +74,36 @@ public class BlockRockVariantFallable extends BlockRockVariant implements IFalli
         if (type.canFallHorizontal())
         {
             // Check if supported
-            EnumFacing[] faces = Arrays.stream(EnumFacing.HORIZONTALS)
-                .filter(x -> world.getBlockState(pos.offset(x)).isOpaqueCube())
-                .toArray(EnumFacing[]::new);
-            if (faces.length >= 2)
+            final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+            int supported = 0;
+            for (EnumFacing facing : EnumFacing.HORIZONTALS)
             {
-//                TerraFirmaCraft.getLog().info("Defeated by the supported blocks");
-                return null;
+                if (world.getBlockState(mutablePos.setPos(pos).move(facing)).isOpaqueCube() && ++supported >= 2)
+                {
+//                    TerraFirmaCraft.getLog().info("Defeated by the supported blocks");
+                    return null;
+                }
             }
 
-            // Check if it can fall
-            faces = Arrays.stream(EnumFacing.HORIZONTALS)
-                .filter(x -> shouldFall(world, pos.offset(x)) && canFallThrough(world.getBlockState(pos.offset(x))))
-                .toArray(EnumFacing[]::new);
-
-            if (faces.length >= 1)
-                return pos.offset(faces[(int) (Math.random() * faces.length)]);
+            // Check if it can fall, and pick one of the directions it can fall in at random
+            BlockPos fallPos = null;
+            int directions = 0;
+            for (EnumFacing facing : EnumFacing.HORIZONTALS)
+            {
+                mutablePos.setPos(pos).move(facing);
+                if (canFallThrough(world.getBlockState(mutablePos)) && shouldFall(world, mutablePos) && Math.random() * ++directions < 1)
+                {
+                    fallPos = mutablePos.toImmutable();
+                }
+            }
+            return fallPos;
         }
         return null;
     }
+
+    @Override
+    public boolean canFallDown(IBlockState state)
+    {
+        return type.canFall();
+    }
 }
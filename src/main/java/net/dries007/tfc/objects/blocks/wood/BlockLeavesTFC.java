@@ -82,13 +82,19 @@ public class BlockLeavesTFC extends BlockLeaves
     @SuppressWarnings("deprecation")
     public void neighborChanged(IBlockState state, World world, BlockPos pos, @Nullable Block blockIn, @Nullable BlockPos fromPos)
     {
-        doLeafDecay(world, pos, state);
+        if (state.getValue(DECAYABLE))
+        {
+            LeafDecay.queueChanged(world, pos);
+        }
     }
 
     @Override
     public void updateTick(World worldIn, BlockPos pos, IBlockState state, Random rand)
     {
-        doLeafDecay(worldIn, pos, state);
+        if (state.getValue(DECAYABLE))
+        {
+            LeafDecay.queueCheck(worldIn, pos);
+        }
     }
 
     @Override
@@ -180,40 +186,4 @@ public class BlockLeavesTFC extends BlockLeaves
     {
         return ImmutableList.of(new ItemStack(this));
     }
-
-    private void doLeafDecay(World world, BlockPos pos, IBlockState state)
-    {
-        // TFC Leaf Decay
-        if (world.isRemote || !state.getValue(DECAYABLE))
-            return;
-
-        List<BlockPos> paths = new ArrayList<>();
-        List<BlockPos> pathsToAdd;
-        BlockPos.MutableBlockPos pos1 = new BlockPos.MutableBlockPos(pos);
-        IBlockState state1;
-        paths.add(pos); // Center block
-
-        for (int i = 0; i < wood.getMaxDecayDistance(); i++)
-        {
-            pathsToAdd = new ArrayList<>();
-            for (BlockPos p1 : paths)
-            {
-                for (EnumFacing face : EnumFacing.values())
-                {
-                    pos1.setPos(p1).move(face);
-                    if (paths.contains(pos1.toImmutable()))
-                        continue;
-                    state1 = world.getBlockState(pos1);
-                    if (state1.getBlock() == BlockLogTFC.get(wood))
-                        return;
-                    if (state1.getBlock() == this)
-                        pathsToAdd.add(pos1.toImmutable());
-
-                }
-            }
-            paths.addAll(pathsToAdd);
-        }
-
-        world.setBlockToAir(pos);
-    }
 }
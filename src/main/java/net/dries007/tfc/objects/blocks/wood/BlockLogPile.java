@@ -36,6 +36,7 @@ import net.dries007.tfc.client.TFCGuiHandler;
 import net.dries007.tfc.objects.blocks.BlocksTFC;
 import net.dries007.tfc.objects.te.TEInventory;
 import net.dries007.tfc.objects.te.TELogPile;
+import net.dries007.tfc.objects.te.TETickScheduler;
 import net.dries007.tfc.util.Helpers;
 
 @ParametersAreNonnullByDefault
@@ -92,6 +93,15 @@ public class BlockLogPile extends Block
         }
     }
 
+    @Override
+    @SuppressWarnings("deprecation")
+    public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos)
+    {
+        // The log pile starts burning when there is fire above it
+        TETickScheduler.wake(worldIn, pos);
+        super.neighborChanged(state, worldIn, pos, blockIn, fromPos);
+    }
+
     @Override
     @SideOnly(Side.CLIENT)
     public void randomDisplayTick(IBlockState stateIn, World worldIn, BlockPos pos, Random rand)
@@ -6,7 +6,6 @@
 package net.dries007.tfc.objects.blocks.wood;
 
 import java.util.*;
-import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.block.BlockLog;
@@ -17,7 +16,6 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -126,7 +124,7 @@ public class BlockLogTFC extends BlockLog implements IItemSize
     public void onExplosionDestroy(World worldIn, BlockPos pos, Explosion explosionIn)
     {
         if (worldIn.isRemote) return;
-        removeTree(worldIn, pos, null, ItemStack.EMPTY, false);
+        TreeFelling.fell(this, worldIn, pos, null, ItemStack.EMPTY, false);
     }
 
     @Override
@@ -137,7 +135,8 @@ public class BlockLogTFC extends BlockLog implements IItemSize
         final Set<String> toolClasses = stack.getItem().getToolClasses(stack);
         if (toolClasses.contains("axe"))
         {
-            removeTree(world, pos, player, stack,
+            // The rest of the tree is felled over the next ticks, until it's gone or the axe breaks
+            TreeFelling.fell(this, world, pos, player, stack,
                 OreDictionaryHelper.doesStackMatchOre(stack, "axeStone") ||
                     OreDictionaryHelper.doesStackMatchOre(stack, "hammerStone")
             );
@@ -196,58 +195,4 @@ public class BlockLogTFC extends BlockLog implements IItemSize
     {
         return Weight.MEDIUM;
     }
-
-    private boolean removeTree(World world, BlockPos pos, @Nullable EntityPlayer player, ItemStack stack, boolean stoneTool)
-    {
-        final boolean explosion = stack.isEmpty() || player == null;
-        final int maxLogs = explosion ? Integer.MAX_VALUE : 1 + stack.getMaxDamage() - stack.getItemDamage();
-
-        // Find all logs and add them to a list
-        List<BlockPos> logs = new ArrayList<>(50);
-        List<BlockPos> checked = new ArrayList<>(50 * 3 * 3);
-        logs.add(pos);
-        for (int i = 0; i < logs.size(); i++)
-        {
-            final BlockPos pos1 = logs.get(i);
-            // check for nearby logs
-            for (int x = -1; x <= 1; x++)
-            {
-                for (int y = -1; y <= 1; y++)
-                {
-                    for (int z = -1; z <= 1; z++)
-                    {
-                        final BlockPos pos2 = pos1.add(x, y, z);
-                        if (checked.contains(pos2)) continue;
-                        checked.add(pos2);
-                        IBlockState state = world.getBlockState(pos2);
-                        if (state.getBlock() == this && !state.getValue(PLACED))
-                            logs.add(pos2);
-                    }
-                }
-            }
-        }
-        // Sort the list in terms of max distance to the original tree
-        logs.sort(Comparator.comparing(x -> x.distanceSq(pos)));
-
-        // Start removing logs*/
-        for (final BlockPos pos1 : logs.subList(0, Math.min(logs.size(), maxLogs)))
-        {
-            if (explosion)
-            {
-                // Explosions are 30% Efficient: no TNT powered tree farms.
-                if (Math.random() < 0.3)
-                    Helpers.spawnItemStack(world, pos.add(0.5d, 0.5d, 0.5d), new ItemStack(Item.getItemFromBlock(this)));
-            }
-            else
-            {
-                // Stone tools are 60% efficient
-                if (!stoneTool || Math.random() < 0.6)
-                    harvestBlock(world, player, pos1, world.getBlockState(pos1), null, stack);
-                stack.damageItem(1, player);
-            }
-            world.setBlockToAir(pos1);
-        }
-        return maxLogs >= logs.size();
-    }
-
 }
@@ -0,0 +1,363 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.objects.blocks.wood;
+
+import java.util.*;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import gnu.trove.iterator.TLongIntIterator;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+import net.dries007.tfc.ConfigTFC;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+import static net.minecraft.block.BlockLeaves.DECAYABLE;
+
+/**
+ * Decays leaves that aren't connected to a log of their tree, through at most {@link net.dries007.tfc.api.types.Tree#getMaxDecayDistance()} leaves.
+ *
+ * Leaves that might need to decay are queued, and checked together at the end of the world tick. This works out the distance to a log for all the leaves around them at once,
+ * so felling a tree checks its canopy once, instead of once per leaf. Leaves that need to decay are then removed a few at a time, at most {@link ConfigTFC.GeneralCFG#leafDecayPerTick} per tick.
+ * Removing leaves that aren't connected to a log can't disconnect other leaves, so the leaves next to them don't need to be checked again.
+ * Leaves waiting to decay are checked again if a block next to them changes, as a log placed next to them can connect them again.
+ *
+ * This only does something on the server.
+ */
+@ParametersAreNonnullByDefault
+public final class LeafDecay
+{
+    private static final Map<World, LeafDecay> DECAYS = new HashMap<>();
+    // How many leaves a check may go through after the minimum, before it continues on the next tick, from where it got to
+    private static final int MAX_CHECK_SIZE = 4096;
+
+    private static boolean removing; // Leaves removed by this don't queue their neighbours
+
+    /**
+     * Queues leaves to be checked, because a block next to them changed (i.e. a log was removed)
+     * This also checks the leaves around it that could have been connected through the changed block
+     */
+    public static void queueChanged(World world, BlockPos pos)
+    {
+        if (!world.isRemote && !removing)
+        {
+            DECAYS.computeIfAbsent(world, LeafDecay::new).queueChanged(pos.toLong(), 0);
+        }
+    }
+
+    /**
+     * Queues leaves to be checked on their own, i.e. on a random tick
+     */
+    public static void queueCheck(World world, BlockPos pos)
+    {
+        if (!world.isRemote && !removing)
+        {
+            DECAYS.computeIfAbsent(world, LeafDecay::new).checks.add(pos.toLong());
+        }
+    }
+
+    private final World world;
+    private TLongIntHashMap changed = new TLongIntHashMap(); // The depth to start searching from, more than 0 if continued from an earlier check
+    private final TLongHashSet checks = new TLongHashSet();
+    private final TLongHashSet checked = new TLongHashSet(); // During a tick, so leaves aren't checked twice
+    private final TLongArrayList decaying = new TLongArrayList();
+    private final TLongHashSet decayingSet = new TLongHashSet();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    private int decayIndex;
+
+    private LeafDecay(World world)
+    {
+        this.world = world;
+    }
+
+    private void queueChanged(long packedPos, int startDepth)
+    {
+        if (!changed.containsKey(packedPos) || changed.get(packedPos) > startDepth)
+        {
+            changed.put(packedPos, startDepth);
+        }
+    }
+
+    private void tick()
+    {
+        if (!changed.isEmpty())
+        {
+            // Replaced first, as checks that don't finish queue more leaves
+            final TLongIntHashMap positions = changed;
+            changed = new TLongIntHashMap();
+            final Map<BlockLeavesTFC, TLongIntHashMap> byLeaves = new IdentityHashMap<>();
+            for (TLongIntIterator iterator = positions.iterator(); iterator.hasNext(); )
+            {
+                iterator.advance();
+                addSource(byLeaves, iterator.key(), iterator.value(), true);
+            }
+            byLeaves.forEach((leaves, sources) -> check(leaves, sources, true));
+        }
+        if (!checks.isEmpty())
+        {
+            final Map<BlockLeavesTFC, TLongIntHashMap> byLeaves = new IdentityHashMap<>();
+            for (long packedPos : checks.toArray())
+            {
+                addSource(byLeaves, packedPos, 0, false);
+            }
+            checks.clear();
+            byLeaves.forEach((leaves, sources) -> check(leaves, sources, false));
+        }
+        checked.clear();
+
+        int budget = ConfigTFC.GENERAL.leafDecayPerTick;
+        while (budget-- > 0 && decayIndex < decaying.size())
+        {
+            final long packedPos = decaying.get(decayIndex++);
+            if (!decayingSet.remove(packedPos))
+            {
+                continue; // Connected again since
+            }
+            final BlockPos pos = BlockPos.fromLong(packedPos);
+            if (world.isBlockLoaded(pos))
+            {
+                // Check again, the world might have changed since
+                final IBlockState state = world.getBlockState(pos);
+                if (state.getBlock() instanceof BlockLeavesTFC && state.getValue(DECAYABLE))
+                {
+                    removing = true;
+                    world.setBlockToAir(pos);
+                    removing = false;
+                }
+            }
+        }
+        if (decayIndex == decaying.size())
+        {
+            decaying.resetQuick();
+            decayIndex = 0;
+        }
+    }
+
+    /**
+     * Adds queued leaves to be checked, together with the other leaves of the same tree
+     *
+     * @param afterChange if a block next to it changed. Leaves that are waiting to decay are only checked again then
+     */
+    private void addSource(Map<BlockLeavesTFC, TLongIntHashMap> byLeaves, long packedPos, int startDepth, boolean afterChange)
+    {
+        if (checked.contains(packedPos) || (!afterChange && decayingSet.contains(packedPos)))
+        {
+            return;
+        }
+        final BlockPos pos = BlockPos.fromLong(packedPos);
+        if (world.isBlockLoaded(pos))
+        {
+            final IBlockState state = world.getBlockState(pos);
+            if (state.getBlock() instanceof BlockLeavesTFC && state.getValue(DECAYABLE))
+            {
+                byLeaves.computeIfAbsent((BlockLeavesTFC) state.getBlock(), key -> new TLongIntHashMap()).put(packedPos, startDepth);
+            }
+        }
+    }
+
+    /**
+     * Finds the leaves around the sources, and the distance from each leaf to the nearest log.
+     * A leaf can only be decided if all leaves within decay distance of it have been found, which is always true for the sources.
+     *
+     * When a block next to the sources changed, the leaves that could have been connected through it are at most decay distance - 1 away from the sources.
+     * Deciding those needs twice that depth.
+     * A check that stops early continues on the next tick from the leaves it got to, which join the search at the depth they were found at, so it never goes deeper than the first one would have.
+     *
+     * @param sources     the leaves to check, and the depth each one starts at
+     * @param afterChange if this should decide all leaves that could have been connected through a block next to the sources, or only the sources
+     */
+    private void check(BlockLeavesTFC leaves, TLongIntHashMap sources, boolean afterChange)
+    {
+        final int maxDistance = leaves.wood.getMaxDecayDistance();
+        final int searchDepth = afterChange ? 2 * (maxDistance - 1) : maxDistance - 1;
+        final Block log = BlockLogTFC.get(leaves.wood);
+
+        int minStartDepth = Integer.MAX_VALUE;
+        for (TLongIntIterator iterator = sources.iterator(); iterator.hasNext(); )
+        {
+            iterator.advance();
+            minStartDepth = Math.min(minStartDepth, iterator.value());
+        }
+
+        // Search outwards from the sources, by depth
+        final TLongIntHashMap depths = new TLongIntHashMap();
+        final TLongHashSet decayable = new TLongHashSet();
+        final TLongArrayList supported = new TLongArrayList(); // Next to a log
+        TLongArrayList frontier = new TLongArrayList();
+        int pendingSources = sources.size();
+
+        int depth = minStartDepth;
+        boolean complete = false;
+        while (true)
+        {
+            if (pendingSources > 0)
+            {
+                for (TLongIntIterator iterator = sources.iterator(); iterator.hasNext(); )
+                {
+                    iterator.advance();
+                    if (iterator.value() == depth)
+                    {
+                        pendingSources--;
+                        if (!depths.containsKey(iterator.key()))
+                        {
+                            depths.put(iterator.key(), depth);
+                            decayable.add(iterator.key());
+                            frontier.add(iterator.key());
+                        }
+                    }
+                }
+            }
+            if (frontier.isEmpty() && pendingSources == 0)
+            {
+                // Found every connected leaf
+                complete = true;
+                break;
+            }
+            final TLongArrayList next = new TLongArrayList();
+            for (int i = 0; i < frontier.size(); i++)
+            {
+                final long packedPos = frontier.get(i);
+                final BlockPos pos = BlockPos.fromLong(packedPos);
+                boolean nextToLog = false;
+                for (EnumFacing facing : EnumFacing.values())
+                {
+                    mutablePos.setPos(pos).move(facing);
+                    if (!world.isBlockLoaded(mutablePos))
+                    {
+                        // Don't load chunks, assume it's connected
+                        nextToLog = true;
+                        continue;
+                    }
+                    final IBlockState state = world.getBlockState(mutablePos);
+                    if (state.getBlock() == log)
+                    {
+                        nextToLog = true;
+                    }
+                    else if (state.getBlock() == leaves)
+                    {
+                        final long neighbourPos = mutablePos.toLong();
+                        if (!depths.containsKey(neighbourPos))
+                        {
+                            depths.put(neighbourPos, depth + 1);
+                            next.add(neighbourPos);
+                            if (state.getValue(DECAYABLE))
+                            {
+                                decayable.add(neighbourPos);
+                            }
+                        }
+                    }
+                }
+                if (nextToLog)
+                {
+                    supported.add(packedPos);
+                }
+            }
+            frontier = next;
+            // Always goes far enough to decide the shallowest sources, so continuing makes progress
+            if (depth >= minStartDepth + maxDistance - 1 && (depth >= searchDepth || depths.size() >= MAX_CHECK_SIZE))
+            {
+                break;
+            }
+            depth++;
+        }
+
+        // Distance to the nearest log, through the leaves found
+        final TLongIntHashMap distances = new TLongIntHashMap();
+        TLongArrayList current = supported;
+        for (int i = 0; i < current.size(); i++)
+        {
+            distances.put(current.get(i), 1);
+        }
+        for (int distance = 2; distance <= maxDistance && !current.isEmpty(); distance++)
+        {
+            final TLongArrayList next = new TLongArrayList();
+            for (int i = 0; i < current.size(); i++)
+            {
+                final BlockPos pos = BlockPos.fromLong(current.get(i));
+                for (EnumFacing facing : EnumFacing.values())
+                {
+                    final long neighbourPos = mutablePos.setPos(pos).move(facing).toLong();
+                    if (depths.containsKey(neighbourPos) && !distances.containsKey(neighbourPos))
+                    {
+                        distances.put(neighbourPos, distance);
+                        next.add(neighbourPos);
+                    }
+                }
+            }
+            current = next;
+        }
+
+        // Leaves deeper than this might be connected through leaves that weren't found
+        final int maxDecidedDepth = complete ? Integer.MAX_VALUE : depth - (maxDistance - 1);
+        final boolean stoppedEarly = afterChange && !complete && depth < searchDepth;
+        depths.forEachEntry((packedPos, leafDepth) -> {
+            if (leafDepth <= maxDecidedDepth)
+            {
+                checked.add(packedPos);
+                if (distances.containsKey(packedPos))
+                {
+                    // Might have been waiting to decay, before it was connected again
+                    decayingSet.remove(packedPos);
+                }
+                else if (decayable.contains(packedPos) && decayingSet.add(packedPos))
+                {
+                    decaying.add(packedPos);
+                }
+            }
+            else if (stoppedEarly && leafDepth == maxDecidedDepth + 1 && leafDepth <= maxDistance - 1 && decayable.contains(packedPos))
+            {
+                // Stopped early, continue with the rest next tick. Leaves deeper than decay distance - 1 couldn't have been connected through the change, so they don't need deciding
+                queueChanged(packedPos, leafDepth);
+            }
+            return true;
+        });
+        if (stoppedEarly && pendingSources > 0)
+        {
+            // Sources that didn't get to join the search yet
+            for (TLongIntIterator iterator = sources.iterator(); iterator.hasNext(); )
+            {
+                iterator.advance();
+                if (iterator.value() > depth)
+                {
+                    queueChanged(iterator.key(), iterator.value());
+                }
+            }
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                LeafDecay decay = DECAYS.get(event.world);
+                if (decay != null)
+                {
+                    decay.tick();
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            DECAYS.remove(event.getWorld());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.objects.blocks.wood;
+
+import java.util.*;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import gnu.trove.set.hash.TLongHashSet;
+import net.dries007.tfc.util.Helpers;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+import static net.dries007.tfc.objects.blocks.wood.BlockLogTFC.PLACED;
+
+/**
+ * Cuts down whole trees. The logs are found straight away, and then removed over the next few ticks, closest first, at most {@link TreeFelling#LOGS_PER_TICK} per tick.
+ *
+ * Logs are removed without updating the other logs of the tree, only the blocks around it (i.e. leaves, so they decay). Clients get the changes together, per chunk, at the end of the tick.
+ * This only does something on the server.
+ */
+@ParametersAreNonnullByDefault
+public final class TreeFelling
+{
+    private static final Map<World, Deque<TreeFelling>> FELLINGS = new HashMap<>();
+    private static final int LOGS_PER_TICK = 128;
+
+    /**
+     * Finds all logs of a tree, and starts removing them
+     *
+     * @param pos       the log that was cut or blown up. This is removed straight away
+     * @param player    the player cutting it down, or null if it was an explosion
+     * @param stack     the tool used, or empty if it was an explosion. This is damaged by one for each log, and felling stops once it breaks
+     * @param stoneTool if the tool is made of stone, which is less efficient
+     * @return false if the tool breaks before the whole tree is removed. If true, felling can still stop early, if the tool is used up some other way before the tree is gone
+     */
+    static boolean fell(BlockLogTFC block, World world, BlockPos pos, @Nullable EntityPlayer player, ItemStack stack, boolean stoneTool)
+    {
+        final boolean explosion = stack.isEmpty() || player == null;
+        final int maxLogs = explosion ? Integer.MAX_VALUE : 1 + stack.getMaxDamage() - stack.getItemDamage();
+
+        // Find all logs and add them to a list
+        final List<BlockPos> logs = new ArrayList<>(50);
+        final TLongHashSet checked = new TLongHashSet(50 * 3 * 3);
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        logs.add(pos);
+        checked.add(pos.toLong());
+        for (int i = 0; i < logs.size(); i++)
+        {
+            final BlockPos pos1 = logs.get(i);
+            // check for nearby logs
+            for (int x = -1; x <= 1; x++)
+            {
+                for (int y = -1; y <= 1; y++)
+                {
+                    for (int z = -1; z <= 1; z++)
+                    {
+                        mutablePos.setPos(pos1.getX() + x, pos1.getY() + y, pos1.getZ() + z);
+                        if (!checked.add(mutablePos.toLong())) continue;
+                        IBlockState state = world.getBlockState(mutablePos);
+                        if (state.getBlock() == block && !state.getValue(PLACED))
+                            logs.add(mutablePos.toImmutable());
+                    }
+                }
+            }
+        }
+        // Sort the list in terms of max distance to the original tree
+        logs.sort(Comparator.comparing(x -> x.distanceSq(pos)));
+
+        final TreeFelling felling = new TreeFelling(block, world, pos, player, stack, stoneTool, logs.subList(0, Math.min(logs.size(), maxLogs)));
+        // The first log is the one that was cut, so it goes now
+        felling.removeNext();
+        if (felling.hasNext())
+        {
+            FELLINGS.computeIfAbsent(world, key -> new ArrayDeque<>()).add(felling);
+        }
+        return maxLogs >= logs.size();
+    }
+
+    private final BlockLogTFC block;
+    private final World world;
+    private final BlockPos origin;
+    private final EntityPlayer player;
+    private final ItemStack stack;
+    private final boolean stoneTool, explosion;
+    private final List<BlockPos> logs;
+    private final TLongHashSet removed = new TLongHashSet(); // Logs of this tree, which don't need updates
+    private int index;
+
+    private TreeFelling(BlockLogTFC block, World world, BlockPos origin, @Nullable EntityPlayer player, ItemStack stack, boolean stoneTool, List<BlockPos> logs)
+    {
+        this.block = block;
+        this.world = world;
+        this.origin = origin;
+        this.player = player;
+        this.stack = stack;
+        this.stoneTool = stoneTool;
+        this.explosion = stack.isEmpty() || player == null;
+        this.logs = logs;
+        logs.forEach(pos -> removed.add(pos.toLong()));
+    }
+
+    private boolean hasNext()
+    {
+        return index < logs.size();
+    }
+
+    private void removeNext()
+    {
+        final BlockPos pos = logs.get(index++);
+        final IBlockState state = world.getBlockState(pos);
+        if (index > 1 && state.getBlock() != block)
+        {
+            // Already removed since. The first log can already be gone, i.e. when blown up
+            return;
+        }
+
+        if (explosion)
+        {
+            // Explosions are 30% Efficient: no TNT powered tree farms.
+            if (Math.random() < 0.3)
+                Helpers.spawnItemStack(world, origin.add(0.5d, 0.5d, 0.5d), new ItemStack(Item.getItemFromBlock(block)));
+        }
+        else
+        {
+            if (stack.isEmpty())
+            {
+                // The tool broke since felling started, i.e. it was used for something else
+                index = logs.size();
+                return;
+            }
+            // Stone tools are 60% efficient
+            if (!stoneTool || Math.random() < 0.6)
+                block.harvestBlock(world, player, pos, state, null, stack);
+            stack.damageItem(1, player);
+        }
+
+        // Only clients and the blocks around the tree are updated
+        world.setBlockState(pos, Blocks.AIR.getDefaultState(), 2);
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        for (EnumFacing facing : EnumFacing.values())
+        {
+            mutablePos.setPos(pos).move(facing);
+            if (!removed.contains(mutablePos.toLong()) && world.isBlockLoaded(mutablePos))
+            {
+                world.neighborChanged(mutablePos.toImmutable(), block, pos);
+            }
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                Deque<TreeFelling> fellings = FELLINGS.get(event.world);
+                int budget = LOGS_PER_TICK;
+                while (fellings != null && !fellings.isEmpty() && budget > 0)
+                {
+                    TreeFelling felling = fellings.peek();
+                    while (felling.hasNext() && budget-- > 0)
+                    {
+                        if (event.world.isBlockLoaded(felling.logs.get(felling.index)))
+                        {
+                            felling.removeNext();
+                        }
+                        else
+                        {
+                            // Don't load chunks for this
+                            felling.index++;
+                        }
+                    }
+                    if (!felling.hasNext())
+                    {
+                        fellings.poll();
+                    }
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            FELLINGS.remove(event.getWorld());
+        }
+    }
+}
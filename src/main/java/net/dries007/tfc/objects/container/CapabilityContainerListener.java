@@ -5,6 +5,8 @@
 
 package net.dries007.tfc.objects.container;
 
+import java.util.*;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -12,15 +14,30 @@ import net.minecraft.inventory.Container;
 import net.minecraft.inventory.IContainerListener;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.NonNullList;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.capability.heat.CapabilityItemHeat;
+import net.dries007.tfc.api.capability.heat.IItemHeat;
 import net.dries007.tfc.api.capability.nuturient.CapabilityNutrients;
+import net.dries007.tfc.api.capability.nuturient.IFood;
 import net.dries007.tfc.network.PacketCapabilityContainerUpdate;
+import net.dries007.tfc.world.classic.CalendarTFC;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+import static net.dries007.tfc.network.PacketCapabilityContainerUpdate.*;
 
 /**
  * This is a {@link IContainerListener} which will monitor containers and send any capability data changes for IForgeable or IItemHeat
+ * It keeps track of what the client has for each slot, and only sends what the client can't work out itself. A temperature that is only cooling down is not sent again.
+ * All changes to a container during a tick are sent together in one {@link PacketCapabilityContainerUpdate}, at the end of the server tick
  *
  * @author Choonster
  * @author AlcatrazEscapee
@@ -28,7 +45,14 @@ import net.dries007.tfc.network.PacketCapabilityContainerUpdate;
 @ParametersAreNonnullByDefault
 public class CapabilityContainerListener implements IContainerListener
 {
+    private static final Set<CapabilityContainerListener> PENDING = Collections.newSetFromMap(new IdentityHashMap<>());
+    // The client works out the temperature itself, so it's only sent if it's further off than this
+    private static final float TEMPERATURE_TOLERANCE = 0.5f;
+
     private final EntityPlayerMP player;
+    private final BitSet changedSlots = new BitSet();
+    private final List<SlotState> slotStates = new ArrayList<>(); // What the client has, per slot
+    private Container container;
 
     public CapabilityContainerListener(EntityPlayerMP player)
     {
@@ -42,53 +66,209 @@ public class CapabilityContainerListener implements IContainerListener
     @Override
     public void sendAllContents(final Container container, final NonNullList<ItemStack> items)
     {
-        // Filter out any items from the list that shouldn't be synced
-        final NonNullList<ItemStack> syncableItemsList = NonNullList.withSize(items.size(), ItemStack.EMPTY);
-        for (int index = 0; index < syncableItemsList.size(); index++)
+        setContainer(container);
+        for (int index = 0; index < items.size(); index++)
         {
-            final ItemStack stack = syncableItemsList.get(index);
-            if (shouldSyncItem(stack))
-            {
-                syncableItemsList.set(index, stack);
-            }
-            else
+            markChanged(index, items.get(index));
+        }
+    }
+
+    /**
+     * This is called to send a single slot contents.
+     * This only gets called when a slot changes (capability changes count, as long as they change the capability NBT)
+     */
+    @Override
+    public void sendSlotContents(Container container, int slotIndex, ItemStack stack)
+    {
+        setContainer(container);
+        markChanged(slotIndex, stack);
+    }
+
+    @Override
+    public void sendWindowProperty(Container container, int ID, int value) {}
+
+    @Override
+    public void sendAllWindowProperties(Container container, IInventory inventory) {}
+
+    private void setContainer(Container container)
+    {
+        if (this.container != container)
+        {
+            this.container = container;
+            changedSlots.clear();
+            slotStates.clear();
+        }
+    }
+
+    private void markChanged(int slotIndex, ItemStack stack)
+    {
+        // Vanilla sends the stack itself along with this, which replaces the client's capabilities with new ones
+        while (slotStates.size() <= slotIndex)
+        {
+            slotStates.add(new SlotState());
+        }
+        slotStates.get(slotIndex).reset();
+        if (shouldSyncItem(stack))
+        {
+            changedSlots.set(slotIndex);
+            PENDING.add(this);
+        }
+        else
+        {
+            changedSlots.clear(slotIndex);
+        }
+    }
+
+    private void flush()
+    {
+        if (container == null || player.connection == null || (container != player.openContainer && container != player.inventoryContainer))
+        {
+            // Closed since, the client doesn't have this container anymore
+            changedSlots.clear();
+            return;
+        }
+
+        final ByteBuf slots = Unpooled.buffer();
+        int count = 0;
+        for (int index = changedSlots.nextSetBit(0); index >= 0 && index < container.inventorySlots.size(); index = changedSlots.nextSetBit(index + 1))
+        {
+            if (writeSlot(slots, index, container.getSlot(index).getStack()))
             {
-                syncableItemsList.set(index, ItemStack.EMPTY);
+                count++;
             }
         }
+        changedSlots.clear();
 
-        final PacketCapabilityContainerUpdate message = new PacketCapabilityContainerUpdate(container.windowId, syncableItemsList);
-        if (message.hasData())
+        if (count > 0)
         {
-            TerraFirmaCraft.getNetwork().sendTo(message, player);
+            final ByteBuf data = Unpooled.buffer();
+            ByteBufUtils.writeVarInt(data, count, 5);
+            data.writeBytes(slots);
+            TerraFirmaCraft.getNetwork().sendTo(new PacketCapabilityContainerUpdate(container.windowId, data), player);
         }
     }
 
     /**
-     * This is called to send a single slot contents. It uses a modified packet factory method to accept a capability instance
-     * This only gets called when a slot changes (only non-capability changes count)
+     * Writes the capability data of a slot that the client doesn't have yet
+     *
+     * @return true if anything was written
      */
-    @Override
-    public void sendSlotContents(Container container, int slotIndex, ItemStack stack)
+    private boolean writeSlot(ByteBuf buf, int index, ItemStack stack)
     {
-        if (shouldSyncItem(stack))
+        final SlotState state = slotStates.get(index);
+        final IItemHeat heat = stack.getCapability(CapabilityItemHeat.ITEM_HEAT_CAPABILITY, null);
+        final IFood food = stack.getCapability(CapabilityNutrients.CAPABILITY_NUTRIENTS, null);
+
+        int flags = 0;
+        float temperature = 0;
+        NBTTagCompound heatData = null;
+        long creationDate = 0;
+        if (heat != null)
         {
-            final PacketCapabilityContainerUpdate message = new PacketCapabilityContainerUpdate(container.windowId, slotIndex, stack);
-            if (message.hasData())
-            { // Don't send the message if there's nothing to update
-                TerraFirmaCraft.getNetwork().sendTo(message, player);
+            temperature = heat.getTemperature();
+            if (Math.abs(temperature - state.getTemperature(heat.getHeatCapacity())) > TEMPERATURE_TOLERANCE)
+            {
+                flags |= FLAG_HEAT;
+            }
+            heatData = getHeatData(heat);
+            if (!heatData.isEmpty() && !heatData.equals(state.heatData))
+            {
+                // This is read together with the temperature
+                flags |= FLAG_HEAT | FLAG_HEAT_DATA;
             }
         }
-    }
+        if (food != null)
+        {
+            creationDate = food.getCreationDate();
+            if (!state.hasCreationDate || state.creationDate != creationDate)
+            {
+                flags |= FLAG_FOOD;
+            }
+        }
+        if (flags == 0)
+        {
+            return false;
+        }
 
-    @Override
-    public void sendWindowProperty(Container container, int ID, int value) {}
+        ByteBufUtils.writeVarInt(buf, index, 5);
+        buf.writeByte(flags);
+        if ((flags & FLAG_HEAT) != 0)
+        {
+            buf.writeFloat(temperature);
+            state.temperature = temperature;
+            state.lastUpdateTick = CalendarTFC.getTotalTime();
+        }
+        if ((flags & FLAG_HEAT_DATA) != 0)
+        {
+            ByteBufUtils.writeTag(buf, heatData);
+            state.heatData = heatData;
+        }
+        if ((flags & FLAG_FOOD) != 0)
+        {
+            buf.writeLong(creationDate);
+            state.creationDate = creationDate;
+            state.hasCreationDate = true;
+        }
+        return true;
+    }
 
-    @Override
-    public void sendAllWindowProperties(Container container, IInventory inventory) {}
+    /**
+     * Gets anything a heat capability saves besides its temperature, i.e. the work done on a forgeable item, or the contents of a vessel
+     */
+    private NBTTagCompound getHeatData(IItemHeat heat)
+    {
+        final NBTTagCompound nbt = heat.serializeNBT();
+        nbt.removeTag("heat");
+        nbt.removeTag("ticks");
+        return nbt;
+    }
 
     private boolean shouldSyncItem(ItemStack stack)
     {
         return stack.hasCapability(CapabilityItemHeat.ITEM_HEAT_CAPABILITY, null) || stack.hasCapability(CapabilityNutrients.CAPABILITY_NUTRIENTS, null);
     }
+
+    /**
+     * What the client has for a slot, as far as the server knows
+     */
+    private static final class SlotState
+    {
+        private float temperature;
+        private long lastUpdateTick;
+        @Nullable
+        private NBTTagCompound heatData;
+        private long creationDate;
+        private boolean hasCreationDate;
+
+        private float getTemperature(float heatCapacity)
+        {
+            return CapabilityItemHeat.adjustTemp(temperature, heatCapacity, CalendarTFC.getTotalTime() - lastUpdateTick);
+        }
+
+        /**
+         * The client's stack has been replaced, so it has new capabilities which are cold and empty
+         */
+        private void reset()
+        {
+            temperature = CapabilityItemHeat.MIN_TEMPERATURE;
+            lastUpdateTick = CalendarTFC.getTotalTime();
+            heatData = null;
+            hasCreationDate = false;
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onServerTick(TickEvent.ServerTickEvent event)
+        {
+            // At the end, all containers have sent their changes for this tick
+            if (event.phase == TickEvent.Phase.END && !PENDING.isEmpty())
+            {
+                PENDING.forEach(CapabilityContainerListener::flush);
+                PENDING.clear();
+            }
+        }
+    }
 }
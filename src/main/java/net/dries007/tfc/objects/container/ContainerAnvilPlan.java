@@ -11,7 +11,6 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 
-import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.recipes.AnvilRecipe;
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.client.TFCGuiHandler;
@@ -37,7 +36,7 @@ public class ContainerAnvilPlan extends ContainerTE<TEAnvilTFC> implements IButt
             if (tile.setRecipe(recipe))
             {
                 // Send an update to the client
-                TerraFirmaCraft.getNetwork().sendToDimension(new PacketAnvilUpdate(tile), tile.getWorld().provider.getDimension());
+                tile.sendToWatchers(new PacketAnvilUpdate(tile));
             }
 
             // Switch to anvil GUI
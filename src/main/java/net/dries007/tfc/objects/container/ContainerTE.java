@@ -59,6 +59,12 @@ public abstract class ContainerTE<T extends TEInventory> extends ContainerSimple
         addPlayerInventorySlots(playerInv);
     }
 
+    @Nonnull
+    public T getTile()
+    {
+        return tile;
+    }
+
     @Override
     public void detectAndSendChanges()
     {
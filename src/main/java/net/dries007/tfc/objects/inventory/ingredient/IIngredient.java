@@ -5,8 +5,10 @@
 
 package net.dries007.tfc.objects.inventory.ingredient;
 
+import java.util.Collection;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import net.minecraft.block.Block;
 import net.minecraft.item.Item;
@@ -97,6 +99,18 @@ public interface IIngredient<T> extends Predicate<T>
         return input;
     }
 
+    /**
+     * Gets everything this ingredient can match, so recipes can be looked up by their input (see {@link net.dries007.tfc.objects.recipes.RecipeIndex})
+     * For item stack ingredients these are {@link Item}s, for fluid stack ingredients {@link Fluid}s
+     *
+     * @return the keys, or null if it isn't known what this ingredient matches
+     */
+    @Nullable
+    default Collection<?> getMatchingKeys()
+    {
+        return null;
+    }
+
     /**
      * Get the amount represented by this ingredient
      *
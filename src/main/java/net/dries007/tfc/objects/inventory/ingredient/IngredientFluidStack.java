@@ -5,6 +5,8 @@
 
 package net.dries007.tfc.objects.inventory.ingredient;
 
+import java.util.Collection;
+import java.util.Collections;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -37,6 +39,12 @@ public class IngredientFluidStack implements IIngredient<FluidStack>
         return fluidStack != null && fluidStack.getFluid() != null && fluidStack.getFluid() == this.inputFluid.getFluid();
     }
 
+    @Override
+    public Collection<?> getMatchingKeys()
+    {
+        return Collections.singleton(inputFluid.getFluid());
+    }
+
     @Override
     @Nullable
     public FluidStack consume(FluidStack input)
@@ -5,6 +5,8 @@
 
 package net.dries007.tfc.objects.inventory.ingredient;
 
+import java.util.Collection;
+import java.util.Collections;
 import javax.annotation.Nonnull;
 
 import net.minecraft.item.ItemStack;
@@ -44,6 +46,12 @@ public class IngredientItemStack implements IIngredient<ItemStack>
         return false;
     }
 
+    @Override
+    public Collection<?> getMatchingKeys()
+    {
+        return Collections.singleton(inputStack.getItem());
+    }
+
     @Override
     @Nonnull
     public ItemStack consume(ItemStack input)
@@ -5,6 +5,9 @@
 
 package net.dries007.tfc.objects.inventory.ingredient;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 
@@ -41,6 +44,12 @@ public class IngredientMultipleFluidStack implements IIngredient<FluidStack>
         return false;
     }
 
+    @Override
+    public Collection<?> getMatchingKeys()
+    {
+        return Arrays.asList(fluids);
+    }
+
     @Override
     public FluidStack consume(FluidStack input)
     {
@@ -5,10 +5,12 @@
 
 package net.dries007.tfc.objects.inventory.ingredient;
 
+import java.util.Collection;
 import javax.annotation.Nonnull;
 
 import net.minecraft.item.ItemStack;
 
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.util.OreDictionaryHelper;
 
 public class IngredientOreDict implements IIngredient<ItemStack>
@@ -45,6 +47,12 @@ public class IngredientOreDict implements IIngredient<ItemStack>
         return stack != null && !stack.isEmpty() && OreDictionaryHelper.doesStackMatchOre(stack, oreName);
     }
 
+    @Override
+    public Collection<?> getMatchingKeys()
+    {
+        return RecipeIndex.getOreItems(oreName);
+    }
+
     @Override
     @Nonnull
     public ItemStack consume(ItemStack input)
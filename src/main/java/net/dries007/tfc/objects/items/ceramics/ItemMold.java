@@ -39,7 +39,6 @@ import net.dries007.tfc.api.types.Metal;
 import net.dries007.tfc.client.TFCGuiHandler;
 import net.dries007.tfc.objects.fluids.FluidMetal;
 import net.dries007.tfc.util.Helpers;
-import net.dries007.tfc.world.classic.CalendarTFC;
 
 public class ItemMold extends ItemFiredPottery
 {
@@ -235,16 +234,7 @@ public class ItemMold extends ItemFiredPottery
         public NBTTagCompound serializeNBT()
         {
             NBTTagCompound nbt = new NBTTagCompound();
-            float temp = getTemperature();
-            nbt.setFloat("heat", temp);
-            if (temp <= 0)
-            {
-                nbt.setLong("ticks", -1);
-            }
-            else
-            {
-                nbt.setLong("ticks", CalendarTFC.getTotalTime());
-            }
+            CapabilityItemHeat.writeTemperature(nbt, temperature, lastUpdateTick, heatCapacity);
             return tank.writeToNBT(nbt);
         }
 
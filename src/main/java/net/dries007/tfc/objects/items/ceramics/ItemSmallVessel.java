@@ -271,16 +271,7 @@ public class ItemSmallVessel extends ItemFiredPottery
             fluidMode = tank.getFluidAmount() > 0;
             nbt.setBoolean("fluidMode", fluidMode);
 
-            float temp = getTemperature();
-            nbt.setFloat("heat", temp);
-            if (temp <= 0)
-            {
-                nbt.setLong("ticks", -1);
-            }
-            else
-            {
-                nbt.setLong("ticks", CalendarTFC.getTotalTime());
-            }
+            CapabilityItemHeat.writeTemperature(nbt, temperature, lastUpdateTick, heatCapacity);
 
             if (fluidMode)
             {
@@ -0,0 +1,152 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.objects.recipes;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.oredict.OreDictionary;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Recipes (or anything else with an input) by the keys their input can match, i.e. the {@link Item} or the fluid.
+ * Finding the recipe for an input then only needs to test the few candidates for its key, instead of every recipe.
+ *
+ * Recipes that can't say what they match are candidates for every key. Candidates are always in the same order as the source,
+ * so the first match is the same as when testing every recipe.
+ * The index is built the first time it's used, and again after anything it could depend on changes (registries, the ore dictionary or {@link RecipeIndex#invalidate()})
+ *
+ * @param <T> the recipe type
+ */
+public final class RecipeIndex<T>
+{
+    // Changed whenever all indexes need to be built again
+    private static volatile int globalVersion;
+
+    /**
+     * Marks all indexes to be built again, i.e. when a recipe registry or the ore dictionary changed
+     */
+    public static void invalidateAll()
+    {
+        globalVersion++;
+    }
+
+    /**
+     * Gets the items of an ore dictionary name, to use as keys for recipes with ore dictionary inputs
+     */
+    @Nonnull
+    public static Set<Item> getOreItems(String oreName)
+    {
+        Set<Item> items = new HashSet<>();
+        for (ItemStack stack : OreDictionary.getOres(oreName, false))
+        {
+            items.add(stack.getItem());
+        }
+        return items;
+    }
+
+    private final Supplier<? extends Collection<T>> source;
+    private final Function<T, Collection<?>> keys;
+    private volatile int version;
+    private volatile Index<T> index;
+
+    /**
+     * @param source the recipes, in the order they should be tested in
+     * @param keys   the keys a recipe can match, or null if it could match anything
+     */
+    public RecipeIndex(Supplier<? extends Collection<T>> source, Function<T, Collection<?>> keys)
+    {
+        this.source = source;
+        this.keys = keys;
+    }
+
+    /**
+     * Gets the recipes that could match an input with a key. They still need to be tested
+     *
+     * @param key the key of the input, i.e. its item. Null if it doesn't have one
+     * @return an unmodifiable list, in source order
+     */
+    @Nonnull
+    public List<T> get(@Nullable Object key)
+    {
+        Index<T> current = index;
+        if (current == null || current.globalVersion != globalVersion || current.version != version)
+        {
+            // Versions are read before the recipes, so a change during this is caught next time
+            current = new Index<>(globalVersion, version, source.get(), keys);
+            index = current;
+        }
+        List<T> candidates = key == null ? null : current.byKey.get(key);
+        return candidates != null ? candidates : current.unkeyed;
+    }
+
+    /**
+     * Marks this index to be built again, i.e. when a recipe was added to the source
+     */
+    public void invalidate()
+    {
+        version++;
+    }
+
+    private static final class Index<T>
+    {
+        private final int globalVersion, version;
+        private final Map<Object, List<T>> byKey;
+        private final List<T> unkeyed;
+
+        private Index(int globalVersion, int version, Collection<T> recipes, Function<T, Collection<?>> keys)
+        {
+            this.globalVersion = globalVersion;
+            this.version = version;
+
+            // Recipes without keys are added to every list, so each list stays in source order
+            Map<Object, List<T>> byKey = new HashMap<>();
+            List<T> unkeyed = new ArrayList<>();
+            for (T recipe : recipes)
+            {
+                Collection<?> recipeKeys = keys.apply(recipe);
+                if (recipeKeys == null)
+                {
+                    unkeyed.add(recipe);
+                    byKey.values().forEach(list -> list.add(recipe));
+                }
+                else
+                {
+                    for (Object key : recipeKeys)
+                    {
+                        List<T> list = byKey.computeIfAbsent(key, k -> new ArrayList<>(unkeyed));
+                        // Ingredients can list the same key twice
+                        if (list.isEmpty() || list.get(list.size() - 1) != recipe)
+                        {
+                            list.add(recipe);
+                        }
+                    }
+                }
+            }
+            byKey.replaceAll((key, list) -> Collections.unmodifiableList(list));
+            this.byKey = byKey;
+            this.unkeyed = Collections.unmodifiableList(unkeyed);
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onOreRegister(OreDictionary.OreRegisterEvent event)
+        {
+            invalidateAll();
+        }
+    }
+}
@@ -5,9 +5,12 @@
 
 package net.dries007.tfc.objects.recipes.heat;
 
+import java.util.Collection;
+import java.util.Collections;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
@@ -16,6 +19,7 @@ import net.dries007.tfc.api.capability.heat.IItemHeat;
 import net.dries007.tfc.api.types.Metal;
 import net.dries007.tfc.api.util.IMetalObject;
 import net.dries007.tfc.objects.fluids.FluidsTFC;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.OreDictionaryHelper;
 
@@ -116,6 +120,19 @@ public class HeatRecipe
         }
     }
 
+    /**
+     * @return the items this recipe can match, used to look it up
+     */
+    @Nonnull
+    public Collection<Item> getInputItems()
+    {
+        if (inputType == InputType.ITEM)
+        {
+            return Collections.singleton(inputStack.getItem());
+        }
+        return RecipeIndex.getOreItems(inputOre);
+    }
+
     private enum OutputType
     {
         METAL,
@@ -7,7 +7,6 @@ package net.dries007.tfc.objects.recipes.heat;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import javax.annotation.Nullable;
 
 import net.minecraft.init.Blocks;
@@ -15,10 +14,12 @@ import net.minecraft.item.ItemStack;
 
 import net.dries007.tfc.api.util.IMetalObject;
 import net.dries007.tfc.objects.blocks.BlocksTFC;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 
 public final class HeatRecipeManager
 {
     private static final List<HeatRecipe> recipes = new ArrayList<>();
+    private static final RecipeIndex<HeatRecipe> INDEX = new RecipeIndex<>(() -> recipes, HeatRecipe::getInputItems);
 
     public static void postInit()
     {
@@ -28,20 +29,24 @@ public final class HeatRecipeManager
         recipes.add(new HeatRecipe(new ItemStack(Blocks.GLASS), "sand"));
 
         // todo: craft tweaker supported recipes (See NTP for a nice-ish way to do it)
+        INDEX.invalidate();
     }
 
     public static void add(HeatRecipe recipe)
     {
         recipes.add(recipe);
+        INDEX.invalidate();
     }
 
     @Nullable
     public static HeatRecipe get(ItemStack stack)
     {
-        Optional<HeatRecipe> recipe = recipes.stream().filter(x -> x.matchesInput(stack)).findFirst();
-        if (recipe.isPresent())
+        for (HeatRecipe recipe : INDEX.get(stack.getItem()))
         {
-            return recipe.get();
+            if (recipe.matchesInput(stack))
+            {
+                return recipe;
+            }
         }
         // Default Recipes
         // These are for default behaviors (IMetalObject = it can melt into liquid metal)
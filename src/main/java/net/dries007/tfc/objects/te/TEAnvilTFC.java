@@ -19,7 +19,6 @@ import net.minecraft.util.SoundCategory;
 import net.minecraft.util.StringUtils;
 import net.minecraft.util.text.TextComponentTranslation;
 
-import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.capability.forge.CapabilityForgeable;
 import net.dries007.tfc.api.capability.forge.IForgeable;
 import net.dries007.tfc.api.capability.heat.CapabilityItemHeat;
@@ -144,7 +143,7 @@ public class TEAnvilTFC extends TEInventory
         {
             if (checkRecipeUpdate())
             {
-                TerraFirmaCraft.getNetwork().sendToDimension(new PacketAnvilUpdate(this), world.provider.getDimension());
+                sendToWatchers(new PacketAnvilUpdate(this));
             }
         }
     }
@@ -270,7 +269,7 @@ public class TEAnvilTFC extends TEInventory
             }
 
             // Step was added, so send update regardless
-            TerraFirmaCraft.getNetwork().sendToDimension(new PacketAnvilUpdate(this), world.provider.getDimension());
+            sendToWatchers(new PacketAnvilUpdate(this));
             markDirty();
         }
     }
@@ -15,6 +15,8 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ITickable;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.StringUtils;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.fluids.*;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
@@ -22,6 +24,7 @@ import net.minecraftforge.items.CapabilityItemHandler;
 
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.recipes.BarrelRecipe;
+import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.network.PacketBarrelUpdate;
 import net.dries007.tfc.objects.blocks.wood.BlockBarrel;
 import net.dries007.tfc.objects.fluids.capability.FluidHandlerSided;
@@ -45,6 +48,7 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
     private long sealedTick, sealedCalendarTick;
     private BarrelRecipe recipe;
     private int tickCounter;
+    private long lastUpdateTick;
 
     public TEBarrel()
     {
@@ -82,6 +86,11 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
 
         nbt.setLong("sealedTick", sealedTick);
         nbt.setLong("sealedCalendarTick", sealedCalendarTick);
+        if (recipe != null)
+        {
+            //noinspection ConstantConditions
+            nbt.setString("recipe", recipe.getRegistryName().toString());
+        }
 
         return nbt;
     }
@@ -186,11 +195,14 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
 
     public void onSealed()
     {
+        // Called right after the block state changed, which doesn't always send an update packet
+        updateLockStatus();
+        TETickScheduler.wake(this);
         sealedTick = CalendarTFC.getTotalTime();
         sealedCalendarTick = CalendarTFC.getCalendarTime();
         recipe = BarrelRecipe.get(inventory.getStackInSlot(SLOT_ITEM), tank.getFluid());
         TerraFirmaCraft.getLog().info("Current recipe: {}. Calendar Tick: {} / {}", recipe == null ? "nothing" : recipe.getRegistryName(), sealedCalendarTick, CalendarTFC.getTimeAndDate(sealedCalendarTick));
-        TerraFirmaCraft.getNetwork().sendToDimension(new PacketBarrelUpdate(this, recipe, sealedCalendarTick), world.provider.getDimension());
+        sendToWatchers(new PacketBarrelUpdate(this, recipe, sealedCalendarTick));
     }
 
     public void onReceivePacket(@Nullable BarrelRecipe recipe, long sealedCalendarTick)
@@ -213,9 +225,12 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
 
         if (!world.isRemote)
         {
-            tickCounter++;
+            // Catch up on the ticks spent dormant
+            final long tick = CalendarTFC.getTotalTime();
+            tickCounter += (int) Math.min(10, Math.max(1, tick - lastUpdateTick));
+            lastUpdateTick = tick;
 
-            if (tickCounter == 10)
+            if (tickCounter >= 10)
             {
                 tickCounter = 0;
 
@@ -264,6 +279,18 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
                     recipe = null;
                 }
             }
+
+            // Sleep until something needs to be done. Anything else happens when the barrel is used or sealed
+            long nextTick = Long.MAX_VALUE;
+            if (!sealed || !inventory.getStackInSlot(SLOT_FLUID_CONTAINER_IN).isEmpty())
+            {
+                nextTick = tick + 10 - tickCounter;
+            }
+            if (recipe != null)
+            {
+                nextTick = Math.min(nextTick, sealedTick + recipe.getDuration() + 1);
+            }
+            TETickScheduler.sleepUntil(this, nextTick);
         }
     }
 
@@ -290,6 +317,7 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
                 IBlockState state = world.getBlockState(pos);
                 world.notifyBlockUpdate(pos, state, state, 3);
             }
+            TETickScheduler.wake(this);
         }
         super.setAndUpdateSlots(slot);
     }
@@ -302,6 +330,8 @@ public class TEBarrel extends TEInventory implements ITickable, IItemHandlerSide
         tank.readFromNBT(nbt.getCompoundTag("tank"));
         sealedTick = nbt.getLong("sealedTick");
         sealedCalendarTick = nbt.getLong("sealedCalendarTick");
+        String recipeName = nbt.getString("recipe");
+        recipe = StringUtils.isNullOrEmpty(recipeName) ? null : TFCRegistries.BARREL.getValue(new ResourceLocation(recipeName));
     }
 
     @Override
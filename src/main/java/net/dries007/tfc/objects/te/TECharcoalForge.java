@@ -24,8 +24,10 @@ import net.dries007.tfc.objects.blocks.devices.BlockFirePit;
 import net.dries007.tfc.objects.recipes.heat.HeatRecipe;
 import net.dries007.tfc.objects.recipes.heat.HeatRecipeManager;
 import net.dries007.tfc.util.Fuel;
+import net.dries007.tfc.util.DeviceTemperature;
 import net.dries007.tfc.util.FuelManager;
 import net.dries007.tfc.util.ITileFields;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 import static net.dries007.tfc.api.capability.heat.CapabilityItemHeat.MAX_TEMPERATURE;
 import static net.dries007.tfc.objects.blocks.devices.BlockCharcoalForge.LIT;
@@ -42,11 +44,15 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
 
     public static final int FIELD_TEMPERATURE = 0;
 
+    // How often (in ticks) items are heated up when nothing else happens
+    private static final int HEAT_UPDATE_INTERVAL = 20;
+
     private boolean requiresSlotUpdate = false;
-    private float temperature; // Current Temperature
+    private final DeviceTemperature temperature = new DeviceTemperature(); // Current Temperature
     private int burnTicks; // Ticks remaining on the current item of fuel
     private float burnTemperature; // Temperature provided from the current item of fuel
     private int airTicks; // Ticks of air provided by bellows
+    private long lastUpdateTick = -1; // -1 if there was nothing to update
 
     public TECharcoalForge()
     {
@@ -55,7 +61,6 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
         // 10 - 13 are the extra slots for molds and stuff. 10 at the top, 14 at the bottom. Iterate in that order
         super(14);
 
-        temperature = 0;
         burnTemperature = 0;
         burnTicks = 0;
         airTicks = 0;
@@ -68,7 +73,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
      */
     public float getTemperature()
     {
-        return temperature;
+        return temperature.get();
     }
 
     public void onAirIntake(float amount)
@@ -78,6 +83,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
         {
             airTicks = 600;
         }
+        TETickScheduler.wake(this);
     }
 
     @Override
@@ -85,13 +91,21 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     {
         if (world.isRemote) return;
         IBlockState state = world.getBlockState(pos);
-        if (state.getValue(BlockFirePit.LIT))
+        boolean lit = state.getValue(BlockFirePit.LIT);
+
+        // The ticks since the last update. Nothing changes while sleeping without a wake up time, so that counts as one
+        final long tick = CalendarTFC.getTotalTime();
+        final long ticks = lastUpdateTick < 0 ? 1 : Math.max(1, tick - lastUpdateTick);
+        lastUpdateTick = tick;
+
+        final boolean wasHot = temperature.get() > 0;
+        if (lit)
         {
             // Update fuel
             if (burnTicks > 0)
             {
                 // Double fuel consumption if using bellows
-                burnTicks -= airTicks > 0 ? 2 : 1;
+                burnTicks -= (airTicks > 0 ? 2 : 1) * ticks;
             }
             if (burnTicks <= 0)
             {
@@ -100,6 +114,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
                 if (stack.isEmpty())
                 {
                     world.setBlockState(pos, state.withProperty(BlockFirePit.LIT, false));
+                    lit = false;
                     burnTicks = 0;
                     burnTemperature = 0;
                 }
@@ -121,33 +136,22 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
         }
 
         // Update bellows air
-        if (airTicks > 0)
-        {
-            airTicks--;
-        }
-        else
-        {
-            airTicks = 0;
-        }
-
-        // Always update temperature / cooking, until the fire pit is not hot anymore
-        if (temperature > 0 || burnTemperature > 0)
+        airTicks = (int) Math.max(0, airTicks - ticks);
+
+        // Update temperature. This keeps changing by itself until the next update
+        // Modifier for heating = 2x for bellows, modifier for cooling = 0.5x for bellows
+        final float heatingRate = (airTicks > 0 ? 2 : 1) * (float) ConfigTFC.GENERAL.temperatureModifierHeating;
+        final float coolingRate = (airTicks > 0 ? 0.5f : 1) * (float) ConfigTFC.GENERAL.temperatureModifierHeating;
+        final float targetTemperature = Math.min(MAX_TEMPERATURE, burnTemperature + airTicks);
+        temperature.setTarget(targetTemperature, heatingRate, coolingRate);
+        final float currentTemperature = temperature.get();
+
+        // How long until something needs to happen next
+        long nextUpdate = lit ? burnTicks : Long.MAX_VALUE;
+        if (currentTemperature > 0)
         {
-            // Update temperature
-            float targetTemperature = Math.min(MAX_TEMPERATURE, burnTemperature + airTicks);
-            if (temperature < targetTemperature)
-            {
-                // Modifier for heating = 2x for bellows
-                temperature += (airTicks > 0 ? 2 : 1) * ConfigTFC.GENERAL.temperatureModifierHeating;
-            }
-            else if (temperature > targetTemperature)
-            {
-                // Modifier for cooling = 0.5x for bellows
-                temperature -= (airTicks > 0 ? 0.5 : 1) * ConfigTFC.GENERAL.temperatureModifierHeating;
-            }
-
-            // Update items in slots
-            // Loop through input + 2 output slots
+            // Update items in slots, for all the ticks since the last update
+            // Loop through input + extra slots
             for (int i = SLOT_INPUT_MIN; i <= SLOT_EXTRA_MAX; i++)
             {
                 ItemStack stack = inventory.getStackInSlot(i);
@@ -155,18 +159,23 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
                 if (cap != null)
                 {
                     // Update temperature of item
-                    float itemTemp = cap.getTemperature();
-                    if (temperature > itemTemp)
-                    {
-                        CapabilityItemHeat.addTemp(cap);
-                    }
+                    CapabilityItemHeat.addTemp(cap, currentTemperature, ticks);
 
                     // This will melt + consume the input stack
                     // Output stacks are assumed to not melt (see the case of ceramic molds in the output)
-                    if (cap.isMolten() && i <= SLOT_INPUT_MAX)
+                    if (i <= SLOT_INPUT_MAX)
                     {
-                        handleInputMelting(stack, i);
+                        if (cap.isMolten())
+                        {
+                            handleInputMelting(stack, i);
+                        }
+                        else
+                        {
+                            nextUpdate = Math.min(nextUpdate, temperature.getTicksUntil(cap, cap.getMeltTemp()));
+                        }
                     }
+                    // Items are kept up to date with the forge at least this often
+                    nextUpdate = Math.min(nextUpdate, HEAT_UPDATE_INTERVAL);
                 }
             }
         }
@@ -176,12 +185,33 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
         {
             cascadeFuelSlots();
         }
+
+        if (!wasHot && targetTemperature > 0)
+        {
+            // Anything on top that uses the heat (i.e. a crucible) might be dormant
+            TETickScheduler.wake(world, pos.up());
+        }
+        if (airTicks > 0)
+        {
+            // The temperature target changes every tick, so keep updating
+            return;
+        }
+        if (nextUpdate == Long.MAX_VALUE)
+        {
+            lastUpdateTick = -1;
+            TETickScheduler.sleep(this);
+        }
+        else
+        {
+            TETickScheduler.sleepUntil(this, tick + nextUpdate);
+        }
     }
 
     public void onCreate()
     {
         burnTicks += 200;
         burnTemperature = 500;
+        TETickScheduler.wake(this);
     }
 
     @Override
@@ -189,6 +219,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     {
         this.markDirty();
         requiresSlotUpdate = true;
+        TETickScheduler.wake(this);
     }
 
     @Override
@@ -221,7 +252,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     @Override
     public void readFromNBT(NBTTagCompound nbt)
     {
-        temperature = nbt.getFloat("temperature");
+        temperature.set(nbt.getFloat("temperature"));
         burnTicks = nbt.getInteger("burnTicks");
         airTicks = nbt.getInteger("airTicks");
         burnTemperature = nbt.getFloat("burnTemperature");
@@ -232,7 +263,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     @Nonnull
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
-        nbt.setFloat("temperature", temperature);
+        nbt.setFloat("temperature", temperature.get());
         nbt.setInteger("burnTicks", burnTicks);
         nbt.setInteger("airTicks", airTicks);
         nbt.setFloat("burnTemperature", burnTemperature);
@@ -242,7 +273,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     public void debug()
     {
         TerraFirmaCraft.getLog().debug("Debugging Charcoal Forge:");
-        TerraFirmaCraft.getLog().debug("Temp {} | Burn Temp {} | Fuel Ticks {}", temperature, burnTemperature, burnTicks);
+        TerraFirmaCraft.getLog().debug("Temp {} | Burn Temp {} | Fuel Ticks {}", temperature.get(), burnTemperature, burnTicks);
         TerraFirmaCraft.getLog().debug("Burning? {}", world.getBlockState(pos).getValue(LIT));
         for (int i = SLOT_INPUT_MIN; i <= SLOT_INPUT_MAX; i++)
         {
@@ -261,7 +292,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     {
         if (index == FIELD_TEMPERATURE)
         {
-            this.temperature = (float) value;
+            this.temperature.set((float) value);
         }
         else
         {
@@ -274,7 +305,7 @@ public class TECharcoalForge extends TEInventory implements ITickable, ITileFiel
     {
         if (index == FIELD_TEMPERATURE)
         {
-            return (int) temperature;
+            return (int) temperature.get();
         }
         TerraFirmaCraft.getLog().warn("Invalid field ID {} in TECharcoalForge#getField", index);
         return 0;
@@ -15,19 +15,21 @@ import net.minecraft.util.ITickable;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
-import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 
+import io.netty.buffer.ByteBuf;
 import net.dries007.tfc.ConfigTFC;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.api.capability.IMoldHandler;
 import net.dries007.tfc.api.capability.heat.CapabilityItemHeat;
 import net.dries007.tfc.api.capability.heat.IItemHeat;
 import net.dries007.tfc.api.types.Metal;
-import net.dries007.tfc.network.PacketCrucibleUpdate;
 import net.dries007.tfc.objects.fluids.FluidsTFC;
 import net.dries007.tfc.util.Alloy;
+import net.dries007.tfc.util.DeviceTemperature;
 import net.dries007.tfc.util.IHeatProviderBlock;
 import net.dries007.tfc.util.ITileFields;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 @ParametersAreNonnullByDefault
 public class TECrucible extends TEInventory implements ITickable, ITileFields
@@ -39,16 +41,22 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
 
     public static final int CRUCIBLE_MAX_METAL_FLUID = 3000; // = 30 Ingots worth
 
+    // How often (in ticks) the crucible and its contents are heated up when nothing else happens
+    private static final int HEAT_UPDATE_INTERVAL = 20;
+    // Temperatures sent to client are rounded down to this, so small changes aren't sent
+    private static final int SYNC_TEMPERATURE_STEP = 10;
+
     private final Alloy alloy;
     private Metal alloyResult;
-    private float temperature;
+    private final DeviceTemperature temperature = new DeviceTemperature();
     private float targetTemperature;
     private int lastFillTimer;
+    private long lastUpdateTick = -1; // -1 if there was nothing to update
+    private int syncedTemperature = -1; // The temperature step last sent to client
 
     public TECrucible()
     {
         super(2);
-        this.temperature = 0;
         this.alloy = new Alloy(CRUCIBLE_MAX_METAL_FLUID);
         this.lastFillTimer = 0;
     }
@@ -58,6 +66,11 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
     {
         if (world.isRemote) return;
 
+        // The ticks since the last update. Nothing changes while sleeping without a wake up time, so that counts as one
+        final long tick = CalendarTFC.getTotalTime();
+        final long ticks = lastUpdateTick < 0 ? 1 : Math.max(1, tick - lastUpdateTick);
+        lastUpdateTick = tick;
+
         // Update temperature based on block underneath
         Block blockDown = world.getBlockState(pos.down()).getBlock();
         if (blockDown instanceof IHeatProviderBlock)
@@ -65,15 +78,13 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
             this.targetTemperature = ((IHeatProviderBlock) blockDown).getTemperature(world, pos.down());
         }
 
-        // Update temperature
-        if (temperature < targetTemperature)
-        {
-            temperature += (float) ConfigTFC.GENERAL.temperatureModifierHeating;
-        }
-        else if (temperature > targetTemperature)
-        {
-            temperature -= (float) ConfigTFC.GENERAL.temperatureModifierHeating;
-        }
+        // Update temperature. This keeps changing by itself until the next update
+        final float heatingRate = (float) ConfigTFC.GENERAL.temperatureModifierHeating;
+        temperature.setTarget(targetTemperature, heatingRate, heatingRate);
+        final float currentTemperature = temperature.get();
+
+        // How long until something needs to happen next. While hot, check the block underneath regularly, as its temperature changes
+        long nextUpdate = currentTemperature > 0 || targetTemperature > 0 ? HEAT_UPDATE_INTERVAL : Long.MAX_VALUE;
 
         // Input draining
         ItemStack inputStack = inventory.getStackInSlot(SLOT_INPUT);
@@ -82,8 +93,12 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
         boolean needsClientUpdate = false;
         if (cap instanceof IMoldHandler)
         {
+            // Always heat up the item regardless if it is melting or not
+            CapabilityItemHeat.addTemp(cap, currentTemperature, ticks);
+
             // Try and drain fluid
             IMoldHandler mold = (IMoldHandler) cap;
+            lastFillTimer -= ticks;
             if (lastFillTimer <= 0)
             {
                 if (mold.isMolten())
@@ -99,18 +114,12 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
                         needsClientUpdate = true;
                     }
                 }
-                lastFillTimer = 5;
+                lastFillTimer = 6;
             }
-            else
+            if (mold.isMolten())
             {
-                lastFillTimer--;
+                nextUpdate = Math.min(nextUpdate, lastFillTimer);
             }
-            // Always heat up the item regardless if it is melting or not
-            if (cap.getTemperature() < temperature)
-            {
-                CapabilityItemHeat.addTemp(cap);
-            }
-
         }
         else if (cap != null)
         {
@@ -122,9 +131,10 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
                 inventory.setStackInSlot(SLOT_INPUT, ItemStack.EMPTY);
                 needsClientUpdate = true;
             }
-            else if (cap.getTemperature() < temperature)
+            else
             {
-                CapabilityItemHeat.addTemp(cap);
+                CapabilityItemHeat.addTemp(cap, currentTemperature, ticks);
+                nextUpdate = Math.min(nextUpdate, temperature.getTicksUntil(cap, cap.getMeltTemp()));
             }
         }
 
@@ -137,7 +147,7 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
 
             // Check that the crucible metal is molten
             Metal alloyMetal = alloy.getResult();
-            if (temperature > alloyMetal.getMeltTemp())
+            if (currentTemperature > alloyMetal.getMeltTemp())
             {
                 // Fill from the current alloy
                 int amountToFill = alloy.removeAlloy(1, true);
@@ -154,19 +164,45 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
                         alloy.removeAlloy(amountFilled, false);
 
                         // Set the output item to high temperature
-                        capOut.setTemperature(temperature);
+                        capOut.setTemperature(currentTemperature);
                         needsClientUpdate = true;
+
+                        // Keep filling every tick
+                        nextUpdate = 1;
                     }
                 }
             }
+            else
+            {
+                nextUpdate = Math.min(nextUpdate, temperature.getTicksUntil(alloyMetal.getMeltTemp()));
+            }
         }
 
         if (needsClientUpdate)
         {
-            TerraFirmaCraft.getNetwork().sendToAllTracking(new PacketCrucibleUpdate(this), new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 64));
+            // Sent together with anything else that changes within the next few ticks
+            markForSync();
+        }
+
+        if (nextUpdate == Long.MAX_VALUE)
+        {
+            // Cold, so nothing changes until the contents or the block underneath do
+            lastUpdateTick = -1;
+            TETickScheduler.sleep(this);
+        }
+        else
+        {
+            TETickScheduler.sleepUntil(this, tick + nextUpdate);
         }
     }
 
+    @Override
+    public void setAndUpdateSlots(int slot)
+    {
+        super.setAndUpdateSlots(slot);
+        TETickScheduler.wake(this);
+    }
+
     @Override
     public boolean isItemValid(int slot, ItemStack stack)
     {
@@ -181,7 +217,7 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
     public void readFromNBT(NBTTagCompound nbt)
     {
         alloy.deserializeNBT(nbt.getCompoundTag("alloy"));
-        temperature = nbt.getFloat("temp");
+        temperature.set(nbt.getFloat("temp"));
 
         // Also set the cached alloyResult:
         alloyResult = alloy.getResult();
@@ -194,11 +230,43 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
         nbt.setTag("alloy", alloy.serializeNBT());
-        nbt.setFloat("temp", temperature);
+        nbt.setFloat("temp", temperature.get());
 
         return super.writeToNBT(nbt);
     }
 
+    @Override
+    public void writeSyncData(ByteBuf buf)
+    {
+        super.writeSyncData(buf);
+
+        final int temperatureStep = (int) temperature.get() / SYNC_TEMPERATURE_STEP;
+        buf.writeBoolean(temperatureStep != syncedTemperature);
+        if (temperatureStep != syncedTemperature)
+        {
+            ByteBufUtils.writeVarInt(buf, temperatureStep, 5);
+            syncedTemperature = temperatureStep;
+        }
+        alloy.writeChanges(buf);
+    }
+
+    /**
+     * Used on CLIENT to update the alloy contents
+     * Also updates cached alloy result
+     */
+    @Override
+    public void readSyncData(ByteBuf buf)
+    {
+        super.readSyncData(buf);
+
+        if (buf.readBoolean())
+        {
+            temperature.set(ByteBufUtils.readVarInt(buf, 5) * SYNC_TEMPERATURE_STEP);
+        }
+        alloy.readChanges(buf);
+        alloyResult = alloy.getResult();
+    }
+
     @Override
     public int getFieldCount()
     {
@@ -210,7 +278,7 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
     {
         if (index == FIELD_TEMPERATURE)
         {
-            this.temperature = value;
+            this.temperature.set(value);
             return;
         }
         TerraFirmaCraft.getLog().warn("Illegal field id {} in TECrucible#setField", index);
@@ -221,7 +289,7 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
     {
         if (index == FIELD_TEMPERATURE)
         {
-            return (int) temperature;
+            return (int) temperature.get();
         }
         TerraFirmaCraft.getLog().warn("Illegal field id {} in TECrucible#getField", index);
         return 0;
@@ -238,18 +306,6 @@ public class TECrucible extends TEInventory implements ITickable, ITileFields
         return alloy;
     }
 
-    /**
-     * Used on CLIENT to update the alloy contents
-     * Also updates cached alloy result
-     *
-     * @param nbt the nbt from the packet
-     */
-    public void setAlloy(@Nonnull NBTTagCompound nbt)
-    {
-        alloy.deserializeNBT(nbt);
-        alloyResult = alloy.getResult();
-    }
-
     /**
      * Used on CLIENT for quicker rendering - doesn't have to calculate the alloy every render tick
      *
@@ -23,8 +23,10 @@ import net.dries007.tfc.api.capability.heat.IItemHeat;
 import net.dries007.tfc.objects.recipes.heat.HeatRecipe;
 import net.dries007.tfc.objects.recipes.heat.HeatRecipeManager;
 import net.dries007.tfc.util.Fuel;
+import net.dries007.tfc.util.DeviceTemperature;
 import net.dries007.tfc.util.FuelManager;
 import net.dries007.tfc.util.ITileFields;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 import static net.dries007.tfc.api.capability.heat.CapabilityItemHeat.MAX_TEMPERATURE;
 import static net.dries007.tfc.objects.blocks.devices.BlockFirePit.LIT;
@@ -41,17 +43,20 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
 
     public static final int FIELD_TEMPERATURE = 0;
 
+    // How often (in ticks) items are heated up when nothing else happens
+    private static final int HEAT_UPDATE_INTERVAL = 20;
+
     private boolean requiresSlotUpdate = false;
-    private float temperature; // Current Temperature
+    private final DeviceTemperature temperature = new DeviceTemperature(); // Current Temperature
     private int burnTicks; // Ticks remaining on the current item of fuel
     private int airTicks; // Ticks of bellows provided air remaining
     private float burnTemperature; // Temperature provided from the current item of fuel
+    private long lastUpdateTick = -1; // -1 if there was nothing to update
 
     public TEFirePit()
     {
         super(7);
 
-        temperature = 0;
         burnTemperature = 0;
         burnTicks = 0;
     }
@@ -63,7 +68,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
      */
     public float getTemperature()
     {
-        return temperature;
+        return temperature.get();
     }
 
     @Override
@@ -71,20 +76,29 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     {
         if (world.isRemote) return;
         IBlockState state = world.getBlockState(pos);
-        if (state.getValue(LIT))
+        boolean lit = state.getValue(LIT);
+
+        // The ticks since the last update. Nothing changes while sleeping without a wake up time, so that counts as one
+        final long tick = CalendarTFC.getTotalTime();
+        final long ticks = lastUpdateTick < 0 ? 1 : Math.max(1, tick - lastUpdateTick);
+        lastUpdateTick = tick;
+
+        final boolean wasHot = temperature.get() > 0;
+        if (lit)
         {
             // Update fuel
             if (burnTicks > 0)
             {
-                burnTicks -= airTicks > 0 ? 2 : 1;
+                burnTicks -= (airTicks > 0 ? 2 : 1) * ticks;
             }
-            if (burnTicks == 0)
+            if (burnTicks <= 0)
             {
                 // Consume fuel
                 ItemStack stack = inventory.getStackInSlot(SLOT_FUEL_CONSUME);
                 if (stack.isEmpty())
                 {
                     world.setBlockState(pos, state.withProperty(LIT, false));
+                    lit = false;
                     burnTicks = 0;
                     burnTemperature = 0;
                 }
@@ -100,30 +114,20 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
         }
 
         // Update air ticks
-        if (airTicks > 0)
-        {
-            airTicks--;
-        }
-        else
-        {
-            airTicks = 0;
-        }
-
-        // Always update temperature / cooking, until the fire pit is not hot anymore
-        if (temperature > 0 || burnTemperature > 0)
+        airTicks = (int) Math.max(0, airTicks - ticks);
+
+        // Update temperature. This keeps changing by itself until the next update
+        final float heatingRate = (airTicks > 0 ? 2 : 1) * (float) ConfigTFC.GENERAL.temperatureModifierHeating;
+        final float coolingRate = (airTicks > 0 ? 0.5f : 1) * (float) ConfigTFC.GENERAL.temperatureModifierHeating;
+        final float targetTemperature = Math.min(MAX_TEMPERATURE, burnTemperature + airTicks);
+        temperature.setTarget(targetTemperature, heatingRate, coolingRate);
+        final float currentTemperature = temperature.get();
+
+        // How long until something needs to happen next
+        long nextUpdate = lit ? burnTicks : Long.MAX_VALUE;
+        if (currentTemperature > 0)
         {
-            // Update temperature
-            float targetTemp = Math.min(MAX_TEMPERATURE, burnTemperature + airTicks);
-            if (temperature < targetTemp)
-            {
-                temperature += (airTicks > 0 ? 2 : 1) * ConfigTFC.GENERAL.temperatureModifierHeating;
-            }
-            else if (temperature > targetTemp)
-            {
-                temperature -= (airTicks > 0 ? 0.5 : 1) * ConfigTFC.GENERAL.temperatureModifierHeating;
-            }
-
-            // Update items in slots
+            // Update items in slots, for all the ticks since the last update
             // Loop through input + 2 output slots
             for (int i = SLOT_ITEM_INPUT; i < SLOT_ITEM_INPUT + 3; i++)
             {
@@ -131,18 +135,23 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
                 IItemHeat cap = stack.getCapability(CapabilityItemHeat.ITEM_HEAT_CAPABILITY, null);
                 if (cap != null)
                 {
-                    float itemTemp = cap.getTemperature();
-                    if (temperature > itemTemp)
-                    {
-                        CapabilityItemHeat.addTemp(cap);
-                    }
+                    CapabilityItemHeat.addTemp(cap, currentTemperature, ticks);
 
                     // This will melt + consume the input stack
                     // Output stacks are assumed to not melt (see the case of ceramic molds in the output)
-                    if (cap.isMolten() && i == SLOT_ITEM_INPUT)
+                    if (i == SLOT_ITEM_INPUT)
                     {
-                        handleInputMelting(stack);
+                        if (cap.isMolten())
+                        {
+                            handleInputMelting(stack);
+                        }
+                        else
+                        {
+                            nextUpdate = Math.min(nextUpdate, temperature.getTicksUntil(cap, cap.getMeltTemp()));
+                        }
                     }
+                    // Items are kept up to date with the fire pit at least this often
+                    nextUpdate = Math.min(nextUpdate, HEAT_UPDATE_INTERVAL);
                 }
             }
         }
@@ -152,6 +161,26 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
         {
             cascadeFuelSlots();
         }
+
+        if (!wasHot && targetTemperature > 0)
+        {
+            // Anything on top that uses the heat (i.e. a crucible) might be dormant
+            TETickScheduler.wake(world, pos.up());
+        }
+        if (airTicks > 0)
+        {
+            // The temperature target changes every tick, so keep updating
+            return;
+        }
+        if (nextUpdate == Long.MAX_VALUE)
+        {
+            lastUpdateTick = -1;
+            TETickScheduler.sleep(this);
+        }
+        else
+        {
+            TETickScheduler.sleepUntil(this, tick + nextUpdate);
+        }
     }
 
     @Override
@@ -159,6 +188,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     {
         this.markDirty();
         requiresSlotUpdate = true;
+        TETickScheduler.wake(this);
     }
 
     @Override
@@ -187,7 +217,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     @Override
     public void readFromNBT(NBTTagCompound nbt)
     {
-        temperature = nbt.getFloat("temperature");
+        temperature.set(nbt.getFloat("temperature"));
         burnTicks = nbt.getInteger("burnTicks");
         airTicks = nbt.getInteger("airTicks");
         burnTemperature = nbt.getFloat("burnTemperature");
@@ -198,7 +228,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     @Nonnull
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
-        nbt.setFloat("temperature", temperature);
+        nbt.setFloat("temperature", temperature.get());
         nbt.setInteger("burnTicks", burnTicks);
         nbt.setFloat("burnTemperature", burnTemperature);
         return super.writeToNBT(nbt);
@@ -209,12 +239,13 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
         Fuel fuel = FuelManager.getFuel(log);
         burnTicks = fuel.getAmount();
         burnTemperature = fuel.getTemperature();
+        TETickScheduler.wake(this);
     }
 
     public void debug()
     {
         TerraFirmaCraft.getLog().debug("Debugging Fire pit:");
-        TerraFirmaCraft.getLog().debug("Temp {} | Burn Temp {} | Fuel Ticks {}", temperature, burnTemperature, burnTicks);
+        TerraFirmaCraft.getLog().debug("Temp {} | Burn Temp {} | Fuel Ticks {}", temperature.get(), burnTemperature, burnTicks);
         TerraFirmaCraft.getLog().debug("Burning? {}", world.getBlockState(pos).getValue(LIT));
     }
 
@@ -229,7 +260,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     {
         if (index == FIELD_TEMPERATURE)
         {
-            this.temperature = (float) value;
+            this.temperature.set((float) value);
         }
         else
         {
@@ -242,7 +273,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
     {
         if (index == FIELD_TEMPERATURE)
         {
-            return (int) temperature;
+            return (int) temperature.get();
         }
         TerraFirmaCraft.getLog().warn("Invalid Field ID {} in TEFirePit#getField", index);
         return 0;
@@ -255,6 +286,7 @@ public class TEFirePit extends TEInventory implements ITickable, ITileFields
         {
             airTicks = 600;
         }
+        TETickScheduler.wake(this);
     }
 
     private void cascadeFuelSlots()
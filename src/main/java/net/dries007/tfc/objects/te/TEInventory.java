@@ -5,10 +5,13 @@
 
 package net.dries007.tfc.objects.te;
 
+import java.util.BitSet;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.inventory.InventoryHelper;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -18,11 +21,18 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
 
+import io.netty.buffer.ByteBuf;
 import mcp.MethodsReturnNonnullByDefault;
+import net.dries007.tfc.TerraFirmaCraft;
+import net.dries007.tfc.objects.container.ContainerTE;
 import net.dries007.tfc.objects.inventory.capability.ItemStackHandlerTE;
 
 /**
@@ -35,6 +45,8 @@ import net.dries007.tfc.objects.inventory.capability.ItemStackHandlerTE;
 public abstract class TEInventory extends TileEntity
 {
     protected final ItemStackHandler inventory;
+    private final BitSet syncSlots = new BitSet(); // Slots changed since the last sync
+    long lastSyncTick = Long.MIN_VALUE; // World time of the last sync, used by TESyncScheduler
 
     TEInventory(int inventorySize)
     {
@@ -55,6 +67,84 @@ public abstract class TEInventory extends TileEntity
 
     public boolean isItemValid(int slot, ItemStack stack) { return true; }
 
+    /**
+     * Writes the changes to send to clients, after {@link TEInventory#markForSync()}
+     * By default this is the slots marked with {@link TEInventory#markForSync(int)}. Override to add other fields, and only write what has changed if possible
+     *
+     * @param buf the buffer to write to
+     */
+    public void writeSyncData(ByteBuf buf)
+    {
+        ByteBufUtils.writeVarInt(buf, syncSlots.cardinality(), 5);
+        for (int slot = syncSlots.nextSetBit(0); slot >= 0; slot = syncSlots.nextSetBit(slot + 1))
+        {
+            ByteBufUtils.writeVarInt(buf, slot, 5);
+            ByteBufUtils.writeItemStack(buf, inventory.getStackInSlot(slot));
+        }
+        syncSlots.clear();
+    }
+
+    /**
+     * Used on CLIENT to apply the changes written by {@link TEInventory#writeSyncData(ByteBuf)}
+     *
+     * @param buf the buffer to read from
+     */
+    public void readSyncData(ByteBuf buf)
+    {
+        final int count = ByteBufUtils.readVarInt(buf, 5);
+        for (int i = 0; i < count; i++)
+        {
+            final int slot = ByteBufUtils.readVarInt(buf, 5);
+            final ItemStack stack = ByteBufUtils.readItemStack(buf);
+            if (slot < inventory.getSlots())
+            {
+                inventory.setStackInSlot(slot, stack);
+            }
+        }
+    }
+
+    /**
+     * Sends a packet to the players tracking this tile entity's chunk, and the players that have a container for it open
+     * Players that start tracking it later get the full NBT with the chunk instead, so this should only be used for things that are saved to NBT
+     * Only does something on server
+     *
+     * @param message the packet to send
+     */
+    public void sendToWatchers(IMessage message)
+    {
+        if (world instanceof WorldServer)
+        {
+            final int chunkX = pos.getX() >> 4, chunkZ = pos.getZ() >> 4;
+            TerraFirmaCraft.getNetwork().sendToAllTracking(message, new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX(), pos.getY(), pos.getZ(), 0));
+            for (EntityPlayer player : world.playerEntities)
+            {
+                if (player instanceof EntityPlayerMP && player.openContainer instanceof ContainerTE && ((ContainerTE<?>) player.openContainer).getTile() == this
+                    && !((WorldServer) world).getPlayerChunkMap().isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ))
+                {
+                    TerraFirmaCraft.getNetwork().sendTo(message, (EntityPlayerMP) player);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks this tile entity to be synced to clients. Changes are sent together, at most once every few ticks
+     * This is instead of {@link World#notifyBlockUpdate}, which sends the whole NBT every time
+     */
+    protected void markForSync()
+    {
+        TESyncScheduler.queue(this);
+    }
+
+    /**
+     * Marks a slot to be synced to clients
+     */
+    protected void markForSync(int slot)
+    {
+        syncSlots.set(slot);
+        TESyncScheduler.queue(this);
+    }
+
     @Override
     public void readFromNBT(NBTTagCompound compound)
     {
@@ -24,6 +24,7 @@ import net.dries007.tfc.objects.blocks.BlocksTFC;
 import net.dries007.tfc.objects.blocks.wood.BlockLogPile;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.OreDictionaryHelper;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 import static net.dries007.tfc.objects.blocks.BlockCharcoalPile.LAYERS;
 import static net.dries007.tfc.objects.blocks.wood.BlockLogPile.ONFIRE;
@@ -36,6 +37,7 @@ public class TELogPile extends TEInventory implements ITickable
 
     private boolean burning;
     private int burnTicks;
+    private long lastUpdateTick;
 
     public TELogPile()
     {
@@ -50,11 +52,17 @@ public class TELogPile extends TEInventory implements ITickable
     {
         if (!world.isRemote)
         {
+            final long tick = CalendarTFC.getTotalTime();
             if (burning)
             {
                 if (burnTicks < ConfigTFC.GENERAL.pitKilnTime)
                 {
-                    burnTicks++;
+                    // Catch up on the ticks spent dormant
+                    burnTicks = (int) Math.min(ConfigTFC.GENERAL.pitKilnTime, burnTicks + Math.max(1, tick - lastUpdateTick));
+                    if (burnTicks < ConfigTFC.GENERAL.pitKilnTime)
+                    {
+                        TETickScheduler.sleepUntil(this, tick + ConfigTFC.GENERAL.pitKilnTime - burnTicks);
+                    }
                 }
                 else
                 {
@@ -68,7 +76,13 @@ public class TELogPile extends TEInventory implements ITickable
                 {
                     burning = true;
                 }
+                else
+                {
+                    // Woken up when the block above changes, or when lit
+                    TETickScheduler.sleep(this);
+                }
             }
+            lastUpdateTick = tick;
         }
     }
 
@@ -109,13 +123,14 @@ public class TELogPile extends TEInventory implements ITickable
     {
         burnTicks = nbt.getInteger("burn_ticks");
         burning = nbt.getBoolean("burning");
+        lastUpdateTick = CalendarTFC.getTotalTime();
         super.readFromNBT(nbt);
     }
 
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
-        nbt.setInteger("burn_ticks", burnTicks);
+        nbt.setInteger("burn_ticks", getBurnTicks());
         nbt.setBoolean("burning", burning);
         return super.writeToNBT(nbt);
     }
@@ -147,7 +162,12 @@ public class TELogPile extends TEInventory implements ITickable
 
     public void light()
     {
+        if (!burning)
+        {
+            lastUpdateTick = CalendarTFC.getTotalTime();
+        }
         this.burning = true;
+        TETickScheduler.wake(this);
         tryLightNearby();
     }
 
@@ -166,6 +186,16 @@ public class TELogPile extends TEInventory implements ITickable
         return burning;
     }
 
+    // Includes the ticks missed while dormant, so they aren't lost when saving
+    private int getBurnTicks()
+    {
+        if (burning && burnTicks < ConfigTFC.GENERAL.pitKilnTime)
+        {
+            return (int) Math.min(ConfigTFC.GENERAL.pitKilnTime, burnTicks + Math.max(0, CalendarTFC.getTotalTime() - lastUpdateTick));
+        }
+        return burnTicks;
+    }
+
     private void tryLightNearby()
     {
         for (EnumFacing side : EnumFacing.values())
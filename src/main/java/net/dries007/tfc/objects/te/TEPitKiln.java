@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.objects.te;
 
+import java.util.BitSet;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -23,9 +24,11 @@ import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
 
+import io.netty.buffer.ByteBuf;
 import net.dries007.tfc.ConfigTFC;
 import net.dries007.tfc.api.recipes.PitKilnRecipe;
 import net.dries007.tfc.api.types.Metal;
@@ -33,6 +36,7 @@ import net.dries007.tfc.objects.blocks.BlocksTFC;
 import net.dries007.tfc.objects.items.ItemsTFC;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.OreDictionaryHelper;
+import net.dries007.tfc.world.classic.CalendarTFC;
 
 @ParametersAreNonnullByDefault
 public class TEPitKiln extends TEPlacedItem implements ITickable
@@ -91,15 +95,20 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
 
     private final NonNullList<ItemStack> logItems = NonNullList.withSize(WOOD_NEEDED, ItemStack.EMPTY);
     private final NonNullList<ItemStack> strawItems = NonNullList.withSize(STRAW_NEEDED, ItemStack.EMPTY);
+    private final BitSet syncFuel = new BitSet(); // Straw and log slots changed since the last sync, logs come after the straw
 
     private int burnTicksToGo;
+    private long lastUpdateTick;
 
     @Override
     public void update()
     {
         if (burnTicksToGo > 0)
         {
-            burnTicksToGo--;
+            // On the server, catch up on the ticks spent dormant
+            final long tick = CalendarTFC.getTotalTime();
+            burnTicksToGo -= world.isRemote ? 1 : (int) Math.min(burnTicksToGo, Math.max(1, tick - lastUpdateTick));
+            lastUpdateTick = tick;
             BlockPos above = pos.up();
             if (world.isAirBlock(above))
             {
@@ -117,8 +126,7 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
             }
             if (burnTicksToGo == 0)
             {
-                strawItems.clear();
-                logItems.clear();
+                clearFuel();
 
                 for (int i = 0; i < inventory.getSlots(); i++)
                 {
@@ -135,6 +143,15 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
                 // Since there will be no items in the pit kiln at this point
                 TEPlacedItem.convertPitKilnToPlacedItem(world, pos);
             }
+            else
+            {
+                // Woken up early if the fire above changes
+                TETickScheduler.sleepUntil(this, tick + burnTicksToGo);
+            }
+        }
+        else
+        {
+            TETickScheduler.sleep(this);
         }
     }
 
@@ -142,6 +159,7 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
     public void readFromNBT(NBTTagCompound nbt)
     {
         burnTicksToGo = nbt.getInteger("burnTicksToGo");
+        lastUpdateTick = CalendarTFC.getTotalTime();
         ItemStackHelper.loadAllItems(nbt.getCompoundTag("strawItems"), strawItems);
         ItemStackHelper.loadAllItems(nbt.getCompoundTag("logItems"), logItems);
 
@@ -152,17 +170,62 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
     @Nonnull
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
-        nbt.setLong("burnTicksToGo", burnTicksToGo);
+        nbt.setLong("burnTicksToGo", getBurnTicksToGo());
         nbt.setTag("strawItems", ItemStackHelper.saveAllItems(new NBTTagCompound(), strawItems));
         nbt.setTag("logItems", ItemStackHelper.saveAllItems(new NBTTagCompound(), logItems));
         return super.writeToNBT(nbt);
     }
 
+    @Override
+    public void writeSyncData(ByteBuf buf)
+    {
+        super.writeSyncData(buf);
+        ByteBufUtils.writeVarInt(buf, getBurnTicksToGo(), 5);
+        ByteBufUtils.writeVarInt(buf, syncFuel.cardinality(), 5);
+        for (int slot = syncFuel.nextSetBit(0); slot >= 0; slot = syncFuel.nextSetBit(slot + 1))
+        {
+            ByteBufUtils.writeVarInt(buf, slot, 5);
+            ByteBufUtils.writeItemStack(buf, slot < STRAW_NEEDED ? strawItems.get(slot) : logItems.get(slot - STRAW_NEEDED));
+        }
+        syncFuel.clear();
+    }
+
+    @Override
+    public void readSyncData(ByteBuf buf)
+    {
+        super.readSyncData(buf);
+        burnTicksToGo = ByteBufUtils.readVarInt(buf, 5);
+        final int count = ByteBufUtils.readVarInt(buf, 5);
+        for (int i = 0; i < count; i++)
+        {
+            final int slot = ByteBufUtils.readVarInt(buf, 5);
+            final ItemStack stack = ByteBufUtils.readItemStack(buf);
+            if (slot < STRAW_NEEDED)
+            {
+                strawItems.set(slot, stack);
+            }
+            else if (slot < STRAW_NEEDED + WOOD_NEEDED)
+            {
+                logItems.set(slot - STRAW_NEEDED, stack);
+            }
+        }
+    }
+
     public boolean isLit()
     {
         return burnTicksToGo > 0;
     }
 
+    // Includes the ticks missed while dormant, so they aren't lost when saving. Stays lit until the next update finishes it
+    private int getBurnTicksToGo()
+    {
+        if (burnTicksToGo > 0 && world != null && !world.isRemote)
+        {
+            return (int) Math.max(1, burnTicksToGo - Math.max(0, CalendarTFC.getTotalTime() - lastUpdateTick));
+        }
+        return burnTicksToGo;
+    }
+
     public boolean hasFuel()
     {
         return !(logItems.stream().anyMatch(ItemStack::isEmpty) || strawItems.stream().anyMatch(ItemStack::isEmpty));
@@ -182,11 +245,26 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
         if (stack.isEmpty() || player.isSneaking())
         {
             // This will search through the logItems, then the strawItems
-            ItemStack dropStack = logItems.stream().filter(i -> !i.isEmpty()).findFirst().orElseGet(() ->
-                strawItems.stream().filter(i -> !i.isEmpty()).findFirst().orElse(ItemStack.EMPTY));
-            if (!dropStack.isEmpty())
+            int slot = -1;
+            for (int i = 0; i < logItems.size() && slot == -1; i++)
             {
+                if (!logItems.get(i).isEmpty())
+                {
+                    slot = STRAW_NEEDED + i;
+                }
+            }
+            for (int i = 0; i < strawItems.size() && slot == -1; i++)
+            {
+                if (!strawItems.get(i).isEmpty())
+                {
+                    slot = i;
+                }
+            }
+            if (slot != -1)
+            {
+                ItemStack dropStack = slot < STRAW_NEEDED ? strawItems.get(slot) : logItems.get(slot - STRAW_NEEDED);
                 player.addItemStackToInventory(dropStack.splitStack(1));
+                syncFuel.set(slot);
                 updateBlock();
 
                 if (getStrawCount() == 0)
@@ -271,6 +349,8 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
                     }
                 }
                 burnTicksToGo = ConfigTFC.GENERAL.pitKilnTime;
+                lastUpdateTick = CalendarTFC.getTotalTime();
+                TETickScheduler.wake(this);
                 updateBlock();
                 world.setBlockState(above, Blocks.FIRE.getDefaultState());
                 return true;
@@ -288,13 +368,19 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
             {
                 world.setBlockToAir(pos.up());
             }
-            strawItems.clear();
-            logItems.clear();
+            clearFuel();
             // The easiest way to do this is just to convert to a PlacedItem:
             TEPlacedItem.convertPitKilnToPlacedItem(world, pos);
         }
     }
 
+    private void clearFuel()
+    {
+        strawItems.clear();
+        logItems.clear();
+        syncFuel.set(0, STRAW_NEEDED + WOOD_NEEDED);
+    }
+
     private void addStrawBlock()
     {
         for (int i = 0; i < 4; i++)
@@ -310,6 +396,7 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
             if (strawItems.get(i).isEmpty())
             {
                 strawItems.set(i, stack);
+                syncFuel.set(i);
                 return;
             }
         }
@@ -322,6 +409,7 @@ public class TEPitKiln extends TEPlacedItem implements ITickable
             if (logItems.get(i).isEmpty())
             {
                 logItems.set(i, stack);
+                syncFuel.set(STRAW_NEEDED + i);
                 return;
             }
         }
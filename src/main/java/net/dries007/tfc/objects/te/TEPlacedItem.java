@@ -8,7 +8,6 @@ package net.dries007.tfc.objects.te;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -20,6 +19,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
 
+import io.netty.buffer.ByteBuf;
 import net.dries007.tfc.api.capability.size.CapabilityItemSize;
 import net.dries007.tfc.api.capability.size.IItemSize;
 import net.dries007.tfc.api.capability.size.Size;
@@ -117,6 +117,8 @@ public class TEPlacedItem extends TEInventory
             {
                 player.addItemStackToInventory(current.splitStack(1));
                 inventory.setStackInSlot(slot, ItemStack.EMPTY);
+                markForSync(slot);
+                markForSync(SLOT_LARGE_ITEM);
 
                 // This is set to false no matter what happens earlier
                 isHoldingLargeItem = false;
@@ -142,6 +144,7 @@ public class TEPlacedItem extends TEInventory
                 if (inventory.getStackInSlot(slot).isEmpty())
                 {
                     inventory.setStackInSlot(slot, stack.splitStack(1));
+                    markForSync(slot);
                     updateBlock();
                     return true;
                 }
@@ -153,6 +156,7 @@ public class TEPlacedItem extends TEInventory
                 {
                     inventory.setStackInSlot(SLOT_LARGE_ITEM, stack.splitStack(1));
                     isHoldingLargeItem = true;
+                    markForSync(SLOT_LARGE_ITEM);
                     updateBlock();
                     return true;
                 }
@@ -169,12 +173,25 @@ public class TEPlacedItem extends TEInventory
         }
         else
         {
-            IBlockState state = world.getBlockState(pos);
-            world.notifyBlockUpdate(pos, state, state, 3); // sync TE
+            markForSync(); // sync TE
             markDirty(); // make sure everything saves to disk
         }
     }
 
+    @Override
+    public void writeSyncData(ByteBuf buf)
+    {
+        super.writeSyncData(buf);
+        buf.writeBoolean(isHoldingLargeItem);
+    }
+
+    @Override
+    public void readSyncData(ByteBuf buf)
+    {
+        super.readSyncData(buf);
+        isHoldingLargeItem = buf.readBoolean();
+    }
+
     protected boolean isEmpty()
     {
         if (isHoldingLargeItem && inventory.getStackInSlot(SLOT_LARGE_ITEM).isEmpty())
@@ -0,0 +1,90 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.objects.te;
+
+import java.util.*;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import net.dries007.tfc.ConfigTFC;
+import net.dries007.tfc.network.PacketDeviceUpdate;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Sends changes to tile entities to the clients tracking them, at most once every {@link ConfigTFC.GeneralCFG#deviceSyncInterval} ticks per tile entity
+ * Everything that changes in between is sent together in one {@link PacketDeviceUpdate}, at the end of the world tick, see {@link TEInventory#sendToWatchers}
+ *
+ * This only does something on the server.
+ */
+@ParametersAreNonnullByDefault
+public final class TESyncScheduler
+{
+    private static final Map<World, Set<TEInventory>> QUEUED = new HashMap<>();
+
+    static void queue(TEInventory te)
+    {
+        final World world = te.getWorld();
+        if (world != null && !world.isRemote)
+        {
+            QUEUED.computeIfAbsent(world, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(te);
+        }
+    }
+
+    private static void flush(World world, Set<TEInventory> queued)
+    {
+        final long tick = world.getTotalWorldTime();
+        final int interval = ConfigTFC.GENERAL.deviceSyncInterval;
+        Iterator<TEInventory> iterator = queued.iterator();
+        while (iterator.hasNext())
+        {
+            TEInventory te = iterator.next();
+            final BlockPos pos = te.getPos();
+            if (te.isInvalid() || !world.isBlockLoaded(pos) || world.getTileEntity(pos) != te)
+            {
+                // Removed or unloaded, clients get the full NBT again when it comes back
+                iterator.remove();
+            }
+            else if (te.lastSyncTick + interval <= tick)
+            {
+                te.lastSyncTick = tick;
+                te.sendToWatchers(new PacketDeviceUpdate(te));
+                iterator.remove();
+            }
+        }
+    }
+
+    private TESyncScheduler() {}
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                Set<TEInventory> queued = QUEUED.get(event.world);
+                if (queued != null && !queued.isEmpty())
+                {
+                    flush(event.world, queued);
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            QUEUED.remove(event.getWorld());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.objects.te;
+
+import java.util.*;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import net.dries007.tfc.world.classic.CalendarTFC;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Lets ticking tile entities stop ticking while there's nothing for them to do.
+ * A dormant tile entity is taken out of the world's list of tickable tile entities, and put back when {@link #wake} is called (i.e. an item is inserted, or the device is lit),
+ * or when the calendar reaches the tick it asked to sleep until. Tile entities have to catch up on the time they missed themselves, using {@link CalendarTFC#getTotalTime()}.
+ *
+ * This only does something on the server. The tick list is only changed at the end of the world tick, so this is safe to use from {@link ITickable#update()}.
+ */
+@ParametersAreNonnullByDefault
+public final class TETickScheduler
+{
+    private static final Map<World, TETickScheduler> SCHEDULERS = new HashMap<>();
+    private static final int PURGE_INTERVAL = 1200;
+
+    /**
+     * Stops ticking until woken up by {@link #wake}
+     */
+    public static void sleep(TileEntity te)
+    {
+        sleepUntil(te, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stops ticking until woken up by {@link #wake}, or until the calendar reaches a tick
+     *
+     * @param tick the total calendar tick to update again at
+     */
+    public static void sleepUntil(TileEntity te, long tick)
+    {
+        final World world = te.getWorld();
+        if (world != null && !world.isRemote)
+        {
+            SCHEDULERS.computeIfAbsent(world, TETickScheduler::new).schedule(te, tick);
+        }
+    }
+
+    /**
+     * Starts ticking again, from the next tick on
+     */
+    public static void wake(TileEntity te)
+    {
+        final World world = te.getWorld();
+        if (world != null && !world.isRemote)
+        {
+            TETickScheduler scheduler = SCHEDULERS.get(world);
+            if (scheduler != null)
+            {
+                scheduler.wakeUp(te);
+            }
+        }
+    }
+
+    /**
+     * Wakes up the tile entity at a position, if there is one, i.e. when the block next to it changed
+     */
+    public static void wake(World world, BlockPos pos)
+    {
+        if (!world.isRemote && SCHEDULERS.containsKey(world) && world.isBlockLoaded(pos))
+        {
+            TileEntity te = world.getTileEntity(pos);
+            if (te != null)
+            {
+                wake(te);
+            }
+        }
+    }
+
+    private final World world;
+    private final Set<TileEntity> sleeping = Collections.newSetFromMap(new IdentityHashMap<>()); // Still in the tick list, removed at the end of the tick
+    private final Set<TileEntity> dormant = Collections.newSetFromMap(new IdentityHashMap<>()); // Removed from the tick list
+    private final Set<TileEntity> waking = Collections.newSetFromMap(new IdentityHashMap<>()); // Dormant, added back at the end of the tick
+    private final Map<TileEntity, Long> wakeTicks = new IdentityHashMap<>();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private int ticksSincePurge;
+
+    private TETickScheduler(World world)
+    {
+        this.world = world;
+    }
+
+    private void schedule(TileEntity te, long tick)
+    {
+        if (tick <= CalendarTFC.getTotalTime() + 1)
+        {
+            // It would be woken up before it misses an update
+            wakeUp(te);
+            return;
+        }
+        if (!dormant.contains(te))
+        {
+            sleeping.add(te);
+        }
+        waking.remove(te);
+        if (tick == Long.MAX_VALUE)
+        {
+            wakeTicks.remove(te);
+        }
+        else
+        {
+            // Older queue entries for the same tile entity are ignored when they come up
+            wakeTicks.put(te, tick);
+            queue.add(new Entry(te, tick));
+        }
+    }
+
+    private void wakeUp(TileEntity te)
+    {
+        sleeping.remove(te);
+        wakeTicks.remove(te);
+        if (dormant.contains(te))
+        {
+            waking.add(te);
+        }
+    }
+
+    private void tick()
+    {
+        // Anything that needs to update on the next tick
+        final long nextTick = CalendarTFC.getTotalTime() + 1;
+        while (!queue.isEmpty() && queue.peek().tick <= nextTick)
+        {
+            Entry entry = queue.poll();
+            Long tick = wakeTicks.get(entry.te);
+            if (tick != null && tick == entry.tick)
+            {
+                wakeUp(entry.te);
+            }
+        }
+
+        if (!sleeping.isEmpty())
+        {
+            world.tickableTileEntities.removeAll(sleeping);
+            for (TileEntity te : sleeping)
+            {
+                if (isLoaded(te))
+                {
+                    dormant.add(te);
+                }
+                else
+                {
+                    wakeTicks.remove(te);
+                }
+            }
+            sleeping.clear();
+        }
+
+        if (!waking.isEmpty())
+        {
+            for (TileEntity te : waking)
+            {
+                dormant.remove(te);
+                // Don't add back anything that has been removed or unloaded since
+                if (isLoaded(te))
+                {
+                    world.tickableTileEntities.add(te);
+                }
+            }
+            waking.clear();
+        }
+
+        if (++ticksSincePurge >= PURGE_INTERVAL)
+        {
+            ticksSincePurge = 0;
+            dormant.removeIf(te -> !isLoaded(te));
+            wakeTicks.keySet().removeIf(te -> !dormant.contains(te));
+            queue.removeIf(entry -> !wakeTicks.containsKey(entry.te));
+        }
+    }
+
+    private boolean isLoaded(TileEntity te)
+    {
+        // Unloaded tile entities aren't always invalidated, so this needs to check the world
+        return !te.isInvalid() && world.isBlockLoaded(te.getPos()) && world.getTileEntity(te.getPos()) == te;
+    }
+
+    private void remove(Collection<TileEntity> tileEntities)
+    {
+        for (TileEntity te : tileEntities)
+        {
+            sleeping.remove(te);
+            dormant.remove(te);
+            waking.remove(te);
+            wakeTicks.remove(te);
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry>
+    {
+        private final TileEntity te;
+        private final long tick;
+
+        private Entry(TileEntity te, long tick)
+        {
+            this.te = te;
+            this.tick = tick;
+        }
+
+        @Override
+        public int compareTo(Entry other)
+        {
+            return Long.compare(tick, other.tick);
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            // At the end, the world is done updating tile entities so the list can be changed
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                TETickScheduler scheduler = SCHEDULERS.get(event.world);
+                if (scheduler != null)
+                {
+                    scheduler.tick();
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onChunkUnload(ChunkEvent.Unload event)
+        {
+            TETickScheduler scheduler = SCHEDULERS.get(event.getWorld());
+            if (scheduler != null)
+            {
+                scheduler.remove(event.getChunk().getTileEntityMap().values());
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            SCHEDULERS.remove(event.getWorld());
+        }
+    }
+}
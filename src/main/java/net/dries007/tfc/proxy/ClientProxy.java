@@ -16,6 +16,9 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import io.netty.buffer.ByteBuf;
+import net.dries007.tfc.client.render.RenderFallingColumns;
+
 @SuppressWarnings("unused")
 @SideOnly(Side.CLIENT)
 public class ClientProxy implements IProxy
@@ -61,4 +64,10 @@ public class ClientProxy implements IProxy
             return context.getServerHandler().player.getEntityWorld();
         }
     }
+
+    @Override
+    public void addFallingBlocks(World world, ByteBuf data)
+    {
+        RenderFallingColumns.add(world, data);
+    }
 }
@@ -13,6 +13,8 @@ import net.minecraft.util.IThreadListener;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+import io.netty.buffer.ByteBuf;
+
 public interface IProxy
 {
     @Nonnull
@@ -24,6 +26,9 @@ public interface IProxy
     @Nullable
     World getWorld(MessageContext context);
 
+    // Starts drawing the columns of falling blocks from a PacketFallingBlocks, client only
+    void addFallingBlocks(World world, ByteBuf data);
+
     class WrongSideException extends RuntimeException
     {
         WrongSideException(String message)
@@ -15,6 +15,8 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import io.netty.buffer.ByteBuf;
+
 @SuppressWarnings("unused")
 @SideOnly(Side.SERVER)
 public class ServerProxy implements IProxy
@@ -60,4 +62,10 @@ public class ServerProxy implements IProxy
             throw new WrongSideException("Tried to get the player from a client-side MessageContext on the dedicated server");
         }
     }
+
+    @Override
+    public void addFallingBlocks(World world, ByteBuf data)
+    {
+        throw new WrongSideException("Tried to draw falling blocks on the dedicated server");
+    }
 }
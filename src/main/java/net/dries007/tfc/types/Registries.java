@@ -22,6 +22,7 @@ import net.minecraftforge.registries.RegistryBuilder;
 import net.dries007.tfc.api.recipes.*;
 import net.dries007.tfc.api.registries.TFCRegistryEvent;
 import net.dries007.tfc.api.types.*;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 
 import static net.dries007.tfc.api.registries.TFCRegistryNames.*;
 import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
@@ -63,7 +64,8 @@ public final class Registries
 
     private static <T extends IForgeRegistryEntry<T>> void newRegistry(ResourceLocation name, Class<T> tClass, boolean isPreBlockRegistry)
     {
-        IForgeRegistry<T> reg = new RegistryBuilder<T>().setName(name).setType(tClass).create();
+        // Recipe lookups are indexed, and need to be built again whenever the contents of a registry change
+        IForgeRegistry<T> reg = new RegistryBuilder<T>().setName(name).setType(tClass).add((IForgeRegistry.BakeCallback<T>) (owner, stage) -> RecipeIndex.invalidateAll()).create();
         if (isPreBlockRegistry)
         {
             preBlockRegistries.put(name, reg);
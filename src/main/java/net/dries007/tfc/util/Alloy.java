@@ -5,35 +5,60 @@
 
 package net.dries007.tfc.util;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.google.common.collect.Sets;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.registries.ForgeRegistry;
 
+import io.netty.buffer.ByteBuf;
 import net.dries007.tfc.api.recipes.AlloyRecipe;
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Metal;
 import net.dries007.tfc.api.util.IMetalObject;
 import net.dries007.tfc.objects.fluids.FluidMetal;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 
 /**
  * A helper class for working with alloys
+ * The amount of each metal is stored by metal registry id. The result is only worked out again after the contents change.
  *
  * @author AlcatrazEscapee
  */
 public class Alloy implements INBTSerializable<NBTTagCompound>
 {
-    private final Map<Metal, Double> metalMap;
+    // Alloy recipes by the set of metals they are made of
+    private static final RecipeIndex<AlloyRecipe> RECIPES = new RecipeIndex<>(() -> TFCRegistries.ALLOYS.getValuesCollection(), recipe -> Collections.singleton(recipe.getMetals().keySet()));
+
+    private static int getId(Metal metal)
+    {
+        return ((ForgeRegistry<Metal>) TFCRegistries.METALS).getID(metal);
+    }
+
+    private static Metal getMetal(int id)
+    {
+        return ((ForgeRegistry<Metal>) TFCRegistries.METALS).getValue(id);
+    }
+
+    private static double getAmount(double[] amounts, int id)
+    {
+        return id < amounts.length ? amounts[id] : 0;
+    }
+
+    private final BitSet metals; // The metals that are part of the alloy
+    private double[] amounts; // The amount of each metal
+    private Metal result; // Cached result, null if it needs to be worked out again
     private int totalAmount;
     private int maxAmount;
     private boolean isValid;
+    private double[] syncedAmounts; // The amounts at the last call to writeChanges, null if everything needs to be written
 
     /**
      * Constructs a new alloy. It starts with no metal content
@@ -50,7 +75,8 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
      */
     public Alloy(int maxAmount)
     {
-        this.metalMap = new HashMap<>();
+        this.metals = new BitSet();
+        this.amounts = new double[0];
         this.totalAmount = 0;
         this.isValid = true;
         this.maxAmount = maxAmount;
@@ -126,9 +152,9 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
      */
     public Alloy add(@Nonnull Alloy other)
     {
-        for (Map.Entry<Metal, Double> entry : other.metalMap.entrySet())
+        for (int id = other.metals.nextSetBit(0); id >= 0; id = other.metals.nextSetBit(id + 1))
         {
-            add(entry.getKey(), entry.getValue());
+            add(getMetal(id), other.amounts[id]);
         }
         return this;
     }
@@ -155,8 +181,15 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
                     return this;
                 }
             }
-            metalMap.merge(metal, amount, (x, y) -> x + y);
+            final int id = getId(metal);
+            if (id >= amounts.length)
+            {
+                amounts = Arrays.copyOf(amounts, id + 1);
+            }
+            amounts[id] += amount;
+            metals.set(id);
             totalAmount += amount;
+            result = null;
         }
         else
         {
@@ -173,18 +206,11 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
     @Nonnull
     public Metal getResult()
     {
-        if (metalMap.size() == 1)
+        if (result == null)
         {
-            return metalMap.keySet().iterator().next(); // Easy way to get the only metal in the alloy
+            result = findResult();
         }
-        for (AlloyRecipe r : TFCRegistries.ALLOYS.getValuesCollection())
-        {
-            if (matchesRecipe(r))
-            {
-                return r.getResult();
-            }
-        }
-        return Metal.UNKNOWN;
+        return result;
     }
 
     /**
@@ -196,17 +222,21 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
      */
     public int remove(Metal metalToRemove, int removeAmount)
     {
-        if (metalMap.containsKey(metalToRemove))
+        final int id = getId(metalToRemove);
+        if (metals.get(id))
         {
-            double currentAmount = metalMap.get(metalToRemove);
+            result = null;
+            double currentAmount = amounts[id];
             if (currentAmount > removeAmount)
             {
-                metalMap.put(metalToRemove, currentAmount - removeAmount);
+                amounts[id] = currentAmount - removeAmount;
                 return removeAmount;
             }
             else
             {
-                return (int) metalMap.remove(metalToRemove).doubleValue();
+                metals.clear(id);
+                amounts[id] = 0;
+                return (int) currentAmount;
             }
         }
         return 0;
@@ -233,13 +263,13 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
         }
         else
         {
-            for (Map.Entry<Metal, Double> entry : metalMap.entrySet())
+            for (int id = metals.nextSetBit(0); id >= 0; id = metals.nextSetBit(id + 1))
             {
                 // Remove the amount of metal from each component
-                double remove = removeAmount * entry.getValue() / totalAmount;
-                metalMap.put(entry.getKey(), entry.getValue() - remove);
+                amounts[id] -= removeAmount * amounts[id] / totalAmount;
             }
             totalAmount -= removeAmount;
+            result = null;
             return removeAmount;
         }
     }
@@ -264,9 +294,17 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
         return isValid;
     }
 
+    /**
+     * @return a new map of the amount of each metal in the alloy
+     */
     public Map<Metal, Double> getMetals()
     {
-        return metalMap;
+        Map<Metal, Double> map = new LinkedHashMap<>();
+        for (int id = metals.nextSetBit(0); id >= 0; id = metals.nextSetBit(id + 1))
+        {
+            map.put(getMetal(id), amounts[id]);
+        }
+        return map;
     }
 
     @Override
@@ -277,10 +315,10 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
         nbt.setInteger("maxAmount", maxAmount);
         nbt.setInteger("totalAmount", totalAmount);
         NBTTagCompound alloys = new NBTTagCompound();
-        for (Map.Entry<Metal, Double> entry : this.metalMap.entrySet())
+        for (int id = metals.nextSetBit(0); id >= 0; id = metals.nextSetBit(id + 1))
         {
             //noinspection ConstantConditions
-            alloys.setDouble(entry.getKey().getRegistryName().toString(), entry.getValue());
+            alloys.setDouble(getMetal(id).getRegistryName().toString(), amounts[id]);
         }
         nbt.setTag("contents", alloys);
         return nbt;
@@ -303,11 +341,80 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
                 String key = metal.getRegistryName().toString();
                 if (alloys.hasKey(key))
                 {
-                    double amount = alloys.getDouble(key);
-                    this.metalMap.put(metal, amount);
+                    final int id = getId(metal);
+                    if (id >= amounts.length)
+                    {
+                        amounts = Arrays.copyOf(amounts, id + 1);
+                    }
+                    amounts[id] = alloys.getDouble(key);
+                    metals.set(id);
                 }
             }
+            syncedAmounts = null;
+        }
+    }
+
+    /**
+     * Writes what changed since the last call, so a copy of this alloy (i.e. on client) can be kept up to date with {@link Alloy#readChanges(ByteBuf)}
+     * The first call (and the first after loading from NBT) writes all metals
+     *
+     * @param buf the buffer to write to
+     */
+    public void writeChanges(ByteBuf buf)
+    {
+        final boolean all = syncedAmounts == null;
+        final double[] synced = all ? new double[0] : syncedAmounts;
+        final int size = Math.max(amounts.length, synced.length);
+
+        int changed = 0;
+        for (int id = 0; id < size; id++)
+        {
+            if (getAmount(amounts, id) != getAmount(synced, id))
+            {
+                changed++;
+            }
+        }
+
+        buf.writeBoolean(all);
+        ByteBufUtils.writeVarInt(buf, totalAmount, 5);
+        ByteBufUtils.writeVarInt(buf, changed, 5);
+        for (int id = 0; id < size; id++)
+        {
+            final double amount = getAmount(amounts, id);
+            if (amount != getAmount(synced, id))
+            {
+                ByteBufUtils.writeVarInt(buf, id, 5);
+                buf.writeDouble(amount);
+            }
         }
+        syncedAmounts = Arrays.copyOf(amounts, amounts.length);
+    }
+
+    /**
+     * Applies the changes written by {@link Alloy#writeChanges(ByteBuf)}
+     *
+     * @param buf the buffer to read from
+     */
+    public void readChanges(ByteBuf buf)
+    {
+        if (buf.readBoolean())
+        {
+            clear();
+        }
+        totalAmount = ByteBufUtils.readVarInt(buf, 5);
+        final int changed = ByteBufUtils.readVarInt(buf, 5);
+        for (int i = 0; i < changed; i++)
+        {
+            final int id = ByteBufUtils.readVarInt(buf, 5);
+            final double amount = buf.readDouble();
+            if (id >= amounts.length)
+            {
+                amounts = Arrays.copyOf(amounts, id + 1);
+            }
+            amounts[id] = amount;
+            metals.set(id, amount > 0);
+        }
+        result = null;
     }
 
     /**
@@ -315,35 +422,77 @@ public class Alloy implements INBTSerializable<NBTTagCompound>
      */
     private void clear()
     {
-        metalMap.clear();
+        metals.clear();
+        Arrays.fill(amounts, 0);
+        result = null;
         totalAmount = 0;
         isValid = true;
     }
 
-    private boolean matchesRecipe(AlloyRecipe recipe)
+    @Nonnull
+    private Metal findResult()
     {
-        if (this.metalMap.containsKey(recipe.getResult()))
+        if (metals.cardinality() == 1)
+        {
+            return getMetal(metals.nextSetBit(0)); // Easy way to get the only metal in the alloy
+        }
+
+        // A recipe matches if it has the same metals, or the same metals except for its own result
+        final Set<Metal> alloyMetals = new HashSet<>();
+        for (int id = metals.nextSetBit(0); id >= 0; id = metals.nextSetBit(id + 1))
         {
-            Alloy other = new Alloy().add(this);
-            double resultAmount = other.metalMap.remove(recipe.getResult());
-            other.totalAmount -= resultAmount;
-            return other.matchesRecipeExact(recipe);
+            alloyMetals.add(getMetal(id));
         }
-        return this.matchesRecipeExact(recipe);
+        final List<AlloyRecipe> candidates = new ArrayList<>(RECIPES.get(alloyMetals));
+        for (Metal metal : alloyMetals)
+        {
+            Set<Metal> otherMetals = new HashSet<>(alloyMetals);
+            otherMetals.remove(metal);
+            for (AlloyRecipe recipe : RECIPES.get(otherMetals))
+            {
+                if (recipe.getResult() == metal)
+                {
+                    candidates.add(recipe);
+                }
+            }
+        }
+
+        AlloyRecipe match = null;
+        int matchId = Integer.MAX_VALUE;
+        for (AlloyRecipe recipe : candidates)
+        {
+            // Same as the first match in registry order
+            final int id = ((ForgeRegistry<AlloyRecipe>) TFCRegistries.ALLOYS).getID(recipe);
+            if (id < matchId && matchesRecipe(recipe))
+            {
+                match = recipe;
+                matchId = id;
+            }
+        }
+        return match != null ? match.getResult() : Metal.UNKNOWN;
     }
 
-    private boolean matchesRecipeExact(AlloyRecipe recipe)
+    private boolean matchesRecipe(AlloyRecipe recipe)
     {
+        // The result metal itself doesn't count
+        final int resultId = getId(recipe.getResult());
+        final boolean hasResult = metals.get(resultId);
+        final double amount = hasResult ? (int) (totalAmount - amounts[resultId]) : totalAmount;
+
         // for each metal in the alloy, it needs to satisfy an ingredient
         // for each metal in the recipe, it needs to match with an alloy
-        for (Metal metal : Sets.union(recipe.getMetals().keySet(), metalMap.keySet()))
+        if (metals.cardinality() - (hasResult ? 1 : 0) != recipe.getMetals().size())
         {
-            if (!metalMap.containsKey(metal) ||
-                !recipe.getMetals().containsKey(metal) ||
-                !recipe.getMetals().get(metal).test(metalMap.get(metal) / totalAmount))
+            return false;
+        }
+        for (Map.Entry<Metal, Predicate<Double>> entry : recipe.getMetals().entrySet())
+        {
+            final int id = getId(entry.getKey());
+            if (id == resultId || !metals.get(id) || !entry.getValue().test(amounts[id] / amount))
+            {
                 return false;
+            }
         }
         return true;
     }
-
 }
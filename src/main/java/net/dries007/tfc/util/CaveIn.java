@@ -0,0 +1,123 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import net.dries007.tfc.ConfigTFC;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Collapses the blocks (see {@link ICollapsableBlock}) around a position, i.e. the ceiling above where raw stone was mined.
+ * The collapse starts at one block, and spreads from there with less chance each step (see {@link CollapseList}), up to {@link ConfigTFC.GeneralCFG#collapseRadius} blocks away.
+ * Collapsed blocks turn into blocks that fall, see {@link FallingBlockManager}
+ *
+ * Cave-ins are checked at the end of the tick, at most {@link ConfigTFC.GeneralCFG#collapseChecksPerTick} positions per tick per world, oldest cave-in first.
+ * This only does something on the server.
+ */
+@ParametersAreNonnullByDefault
+public final class CaveIn
+{
+    private static final Map<World, Deque<CaveIn>> CAVE_INS = new HashMap<>();
+
+    /**
+     * Starts a cave-in, at the end of the tick
+     *
+     * @param pos the first block to collapse, if it can
+     */
+    public static void start(World world, BlockPos pos)
+    {
+        if (!world.isRemote)
+        {
+            CAVE_INS.computeIfAbsent(world, key -> new ArrayDeque<>()).add(new CaveIn(pos));
+        }
+    }
+
+    private final CollapseList collapseList;
+
+    private CaveIn(BlockPos pos)
+    {
+        collapseList = new CollapseList(pos, ConfigTFC.GENERAL.collapseRadius);
+        // The first block always collapses
+        collapseList.add(pos.getX(), pos.getY(), pos.getZ(), 1, null);
+    }
+
+    /**
+     * @return how many positions were checked
+     */
+    private int collapse(World world, int maxChecks)
+    {
+        int checks = 0;
+        while (checks < maxChecks && !collapseList.isEmpty())
+        {
+            final CollapseData data = collapseList.pop();
+            checks++;
+            if (!world.isBlockLoaded(data.pos))
+            {
+                continue;
+            }
+            final IBlockState state = world.getBlockState(data.pos);
+            if (state.getBlock() instanceof ICollapsableBlock && world.rand.nextFloat() < data.chance)
+            {
+                final ICollapsableBlock block = (ICollapsableBlock) state.getBlock();
+                if (block.canCollapse(world, data.pos))
+                {
+                    world.setBlockState(data.pos, block.getCollapsedState(state));
+                    if (data.direction == null)
+                    {
+                        collapseList.addAround(data.pos, (float) ConfigTFC.GENERAL.collapsePropagateChance);
+                    }
+                    else
+                    {
+                        collapseList.spread(data);
+                    }
+                }
+            }
+        }
+        return checks;
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                Deque<CaveIn> caveIns = CAVE_INS.get(event.world);
+                int checks = ConfigTFC.GENERAL.collapseChecksPerTick;
+                while (caveIns != null && !caveIns.isEmpty() && checks > 0)
+                {
+                    checks -= caveIns.peek().collapse(event.world, checks);
+                    if (caveIns.peek().collapseList.isEmpty())
+                    {
+                        caveIns.poll();
+                    }
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            CAVE_INS.remove(event.getWorld());
+        }
+    }
+}
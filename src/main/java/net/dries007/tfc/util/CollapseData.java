@@ -5,61 +5,75 @@
 
 package net.dries007.tfc.util;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.util.math.BlockPos;
 
-public class CollapseData
+/**
+ * A position taken from a {@link CollapseList}. The list reuses the same instance every time, so it's only valid until the next one is taken.
+ */
+public final class CollapseData
 {
-    public final BlockPos pos;
-    public final float chance;
-    public final Direction direction;
+    public final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    public float chance;
+    @Nullable
+    public Direction direction; // Null where the collapse started, which spreads in all directions
 
-    public CollapseData(BlockPos pos, float chance, Direction direction)
-    {
-        this.pos = pos;
-        this.chance = chance;
-        this.direction = direction;
-    }
+    CollapseData() {}
 
     public enum Direction
     {
-        NORTH(.05f),
-        SOUTH(.05f),
-        EAST(.05f),
-        WEST(.05f),
-        NORTHEAST(.025f),
-        SOUTHEAST(.025f),
-        NORTHWEST(.025f),
-        SOUTHWEST(.025f);
+        NORTH(.05f, 0, -1),
+        SOUTH(.05f, 0, 1),
+        EAST(.05f, 1, 0),
+        WEST(.05f, -1, 0),
+        NORTHEAST(.025f, 1, 1),
+        SOUTHEAST(.025f, 1, -1),
+        NORTHWEST(.025f, -1, 1),
+        SOUTHWEST(.025f, -1, -1);
+
+        private static final Direction[] VALUES = values();
+
+        static
+        {
+            // A collapse keeps going the same way, or turns to the sides, but never back
+            NORTH.spread = new Direction[] {NORTH, EAST, WEST};
+            SOUTH.spread = new Direction[] {SOUTH, EAST, WEST};
+            EAST.spread = new Direction[] {SOUTH, EAST, NORTH};
+            WEST.spread = new Direction[] {SOUTH, WEST, NORTH};
+            NORTHEAST.spread = new Direction[] {NORTHEAST, EAST, NORTH};
+            SOUTHEAST.spread = new Direction[] {SOUTHEAST, SOUTH, EAST};
+            NORTHWEST.spread = new Direction[] {NORTHWEST, WEST, NORTH};
+            SOUTHWEST.spread = new Direction[] {SOUTHWEST, SOUTH, WEST};
+        }
+
+        static Direction byId(int id)
+        {
+            return VALUES[id];
+        }
 
         public final float decrement;
+        public final int x, z;
+        private Direction[] spread;
 
-        Direction(float decrement)
+        Direction(float decrement, int x, int z)
         {
             this.decrement = decrement;
+            this.x = x;
+            this.z = z;
         }
 
         public BlockPos offset(BlockPos pos)
         {
-            switch (this)
-            {
-                case NORTH:
-                    return pos.add(0, 0, -1);
-                case SOUTH:
-                    return pos.add(0, 0, 1);
-                case EAST:
-                    return pos.add(+1, 0, 0);
-                case WEST:
-                    return pos.add(-1, 0, 0);
-                case NORTHEAST:
-                    return pos.add(1, 0, 1);
-                case SOUTHEAST:
-                    return pos.add(1, 0, -1);
-                case NORTHWEST:
-                    return pos.add(-1, 0, +1);
-                case SOUTHWEST:
-                    return pos.add(-1, 0, -1);
-            }
-            return pos;
+            return pos.add(x, 0, z);
+        }
+
+        /**
+         * @return the directions a collapse going this way spreads in
+         */
+        public Direction[] getSpread()
+        {
+            return spread;
         }
     }
 }
@@ -5,36 +5,117 @@
 
 package net.dries007.tfc.util;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import javax.annotation.Nullable;
 
 import net.minecraft.util.math.BlockPos;
 
-public class CollapseList
+import gnu.trove.list.array.TByteArrayList;
+import gnu.trove.list.array.TFloatArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.set.hash.TLongHashSet;
+
+/**
+ * The positions a collapse (i.e. a fissure, or a cave-in, see {@link ICollapsableBlock}) still has to check, in the order they were added.
+ * Each position has a chance to collapse, which goes down by {@link CollapseData.Direction#decrement} every step it spreads, see {@link #spread(CollapseData)}.
+ * A position is only added once, and only if it's within a radius (horizontally) of where the collapse started.
+ *
+ * Positions are stored as longs, in primitive lists. Nothing is allocated per position, other than when the lists grow.
+ */
+public final class CollapseList
 {
-    private final HashSet<BlockPos> checked = new HashSet<>();
-    private final LinkedList<CollapseData> check = new LinkedList<>();
+    // The same as BlockPos#toLong, without making a BlockPos
+    private static long pack(int x, int y, int z)
+    {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) y & 0xFFF) << 26 | ((long) z & 0x3FFFFFF);
+    }
 
-    public CollapseList()
+    private final TLongArrayList positions = new TLongArrayList();
+    private final TFloatArrayList chances = new TFloatArrayList();
+    private final TByteArrayList directions = new TByteArrayList();
+    private final TLongHashSet added = new TLongHashSet();
+    private final CollapseData data = new CollapseData();
+    private int originX, originZ, radius;
+    private int next;
+
+    /**
+     * @param radius how far (horizontally) a collapse can spread from the origin
+     */
+    public CollapseList(BlockPos origin, int radius)
     {
+        reset(origin, radius);
+    }
 
+    /**
+     * Empties the list, to use it for another collapse
+     */
+    public void reset(BlockPos origin, int radius)
+    {
+        positions.resetQuick();
+        chances.resetQuick();
+        directions.resetQuick();
+        added.clear();
+        originX = origin.getX();
+        originZ = origin.getZ();
+        this.radius = radius;
+        next = 0;
+    }
+
+    /**
+     * @param direction the direction the collapse was going, or null if it should spread in all directions
+     */
+    public void add(int x, int y, int z, float chance, @Nullable CollapseData.Direction direction)
+    {
+        if (Math.abs(x - originX) <= radius && Math.abs(z - originZ) <= radius && y >= 0 && y < 256 && added.add(pack(x, y, z)))
+        {
+            positions.add(pack(x, y, z));
+            chances.add(chance);
+            directions.add((byte) (direction == null ? -1 : direction.ordinal()));
+        }
+    }
+
+    /**
+     * Adds the positions around one, in all directions
+     */
+    public void addAround(BlockPos pos, float chance)
+    {
+        for (CollapseData.Direction direction : CollapseData.Direction.values())
+        {
+            add(pos.getX() + direction.x, pos.getY(), pos.getZ() + direction.z, chance - direction.decrement, direction);
+        }
     }
 
-    public void add(CollapseData collapseData)
+    /**
+     * Adds the next positions after one that collapsed, with less chance to collapse
+     */
+    public void spread(CollapseData data)
     {
-        if (checked.contains(collapseData.pos)) return;
-        check.add(collapseData);
+        if (data.direction == null)
+        {
+            addAround(data.pos, data.chance);
+            return;
+        }
+        for (CollapseData.Direction direction : data.direction.getSpread())
+        {
+            add(data.pos.getX() + direction.x, data.pos.getY(), data.pos.getZ() + direction.z, data.chance - direction.decrement, direction);
+        }
     }
 
     public boolean isEmpty()
     {
-        return check.isEmpty();
+        return next >= positions.size();
     }
 
+    /**
+     * @return the next position. This is the same instance every time, filled in again
+     */
     public CollapseData pop()
     {
-        CollapseData data = check.pop();
-        checked.add(data.pos);
+        final long packed = positions.get(next);
+        final byte direction = directions.get(next);
+        data.pos.setPos((int) (packed >> 38), (int) (packed << 26 >> 52), (int) (packed << 38 >> 38));
+        data.chance = chances.get(next);
+        data.direction = direction < 0 ? null : CollapseData.Direction.byId(direction);
+        next++;
         return data;
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.util;
+
+import net.dries007.tfc.api.capability.heat.IItemHeat;
+import net.dries007.tfc.api.capability.heat.ItemHeatHandler;
+import net.dries007.tfc.world.classic.CalendarTFC;
+
+import static net.dries007.tfc.api.capability.heat.CapabilityItemHeat.getTicksToHeat;
+
+/**
+ * The temperature of a heating device (i.e. fire pit, forge or crucible), which moves towards a target temperature at a fixed rate.
+ * It is stored as the temperature at the last update plus the rate, and worked out from the calendar when read, like {@link ItemHeatHandler} does for items.
+ * This way the device doesn't need to change its temperature every tick.
+ */
+public final class DeviceTemperature
+{
+    private float temperature; // The temperature at the last update
+    private long lastUpdateTick;
+    private float target;
+    private float heatingRate, coolingRate; // Per tick
+
+    /**
+     * @return the current temperature
+     */
+    public float get()
+    {
+        final long ticks = CalendarTFC.getTotalTime() - lastUpdateTick;
+        if (ticks <= 0 || temperature == target)
+        {
+            return temperature;
+        }
+        if (temperature < target)
+        {
+            return Math.min(target, temperature + heatingRate * ticks);
+        }
+        return Math.max(target, temperature - coolingRate * ticks);
+    }
+
+    /**
+     * Sets the current temperature, which then stays the same until a target is set
+     */
+    public void set(float temperature)
+    {
+        this.temperature = temperature;
+        this.target = temperature;
+        this.lastUpdateTick = CalendarTFC.getTotalTime();
+    }
+
+    /**
+     * Sets the temperature to move towards from now on
+     *
+     * @param heatingRate how fast the temperature goes up, per tick
+     * @param coolingRate how fast the temperature goes down, per tick
+     */
+    public void setTarget(float target, float heatingRate, float coolingRate)
+    {
+        this.temperature = get();
+        this.lastUpdateTick = CalendarTFC.getTotalTime();
+        this.target = target;
+        this.heatingRate = heatingRate;
+        this.coolingRate = coolingRate;
+    }
+
+    /**
+     * Gets how long it takes for the temperature to reach a value
+     *
+     * @return the number of ticks, or {@link Long#MAX_VALUE} if it doesn't get there
+     */
+    public long getTicksUntil(float value)
+    {
+        final float current = get();
+        if (current >= value)
+        {
+            return 0;
+        }
+        if (target < value || heatingRate <= 0)
+        {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((value - current) / heatingRate);
+    }
+
+    /**
+     * Gets how long it takes for an item heated by this device to reach a temperature, i.e. to melt.
+     * The item heats up at its own rate, but can't get hotter than the device.
+     *
+     * @return the number of ticks, or {@link Long#MAX_VALUE} if it doesn't get there
+     */
+    public long getTicksUntil(IItemHeat item, float value)
+    {
+        return Math.max(getTicksUntil(value), getTicksToHeat(item, value));
+    }
+}
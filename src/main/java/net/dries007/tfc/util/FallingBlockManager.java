@@ -0,0 +1,444 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.util;
+
+import java.util.*;
+import java.util.function.Predicate;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+
+import gnu.trove.set.hash.TLongHashSet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.TerraFirmaCraft;
+import net.dries007.tfc.network.PacketFallingBlocks;
+import net.dries007.tfc.objects.entity.EntityFallingBlockTFC;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Lets falling blocks (see {@link IFallingBlock}) fall together, instead of as one entity each.
+ * Blocks that start to fall are collected until the end of the tick, and blocks stacked on top of each other fall as one column.
+ * A column is taken out of the world straight away, and put down again where it lands once it would have got there, which is worked out the same way {@link EntityFallingBlockTFC} moves.
+ * Clients get all columns that started falling in a tick in one {@link PacketFallingBlocks}, and draw them falling by themselves.
+ *
+ * Columns aren't saved, so they are put down straight away (where they would land) when the world saves, or when their chunk or the world unloads.
+ * A single block, with no other blocks falling next to it, still falls as an {@link EntityFallingBlockTFC}.
+ * This only does something on the server.
+ */
+@ParametersAreNonnullByDefault
+public final class FallingBlockManager
+{
+    private static final Map<World, FallingBlockManager> MANAGERS = new HashMap<>();
+    private static final int MAX_FALL_TICKS = 600; // Same as falling block entities
+    private static final int TRACKING_RANGE = 160; // Same as falling block entities, see EntitiesTFC
+    private static final double[] FALL_DISTANCES = new double[MAX_FALL_TICKS + 1]; // The distance a block falls in a number of ticks
+    private static boolean landingEarly; // Set while columns are put down early, see IFallingBlock#checkFalling
+
+    static
+    {
+        double distance = 0, motion = 0;
+        for (int tick = 1; tick <= MAX_FALL_TICKS; tick++)
+        {
+            motion -= 0.03999999910593033D;
+            distance -= motion;
+            motion *= 0.9800000190734863D;
+            FALL_DISTANCES[tick] = distance;
+        }
+    }
+
+    /**
+     * @return how many ticks it takes for a falling block to fall a distance
+     */
+    public static int getFallTicks(int distance)
+    {
+        final int index = Arrays.binarySearch(FALL_DISTANCES, distance);
+        return index >= 0 ? index : Math.min(-index - 1, MAX_FALL_TICKS);
+    }
+
+    /**
+     * @param ticks the ticks since the block started falling, can be partial
+     * @return how far a falling block has fallen
+     */
+    public static double getFallDistance(double ticks)
+    {
+        if (ticks <= 0)
+        {
+            return 0;
+        }
+        if (ticks >= MAX_FALL_TICKS)
+        {
+            return FALL_DISTANCES[MAX_FALL_TICKS];
+        }
+        final int tick = (int) ticks;
+        return FALL_DISTANCES[tick] + (FALL_DISTANCES[tick + 1] - FALL_DISTANCES[tick]) * (ticks - tick);
+    }
+
+    /**
+     * @return true while columns are put down early, i.e. when their chunk unloads. The blocks shouldn't start falling again, or check the blocks around them
+     */
+    static boolean isLandingEarly()
+    {
+        return landingEarly;
+    }
+
+    /**
+     * Makes the block at a position fall, at the end of the tick
+     */
+    static void queue(World world, BlockPos pos)
+    {
+        if (!world.isRemote)
+        {
+            MANAGERS.computeIfAbsent(world, FallingBlockManager::new).queued.add(pos.toLong());
+        }
+    }
+
+    private static long getColumnKey(int x, int z)
+    {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private final World world;
+    private final List<Column> falling = new ArrayList<>();
+    private TLongHashSet queued = new TLongHashSet();
+
+    private FallingBlockManager(World world)
+    {
+        this.world = world;
+    }
+
+    private void tick()
+    {
+        if (!queued.isEmpty())
+        {
+            start();
+        }
+        if (!falling.isEmpty())
+        {
+            final long tick = world.getTotalWorldTime();
+            land(column -> column.landTick <= tick && world.isBlockLoaded(column.getPos()), false);
+        }
+    }
+
+    private void start()
+    {
+        // Anything queued while starting these is started next tick
+        final TLongHashSet remaining = queued;
+        queued = new TLongHashSet();
+
+        final List<Column> columns = new ArrayList<>();
+        final TLongHashSet columnKeys = new TLongHashSet();
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        for (long packed : remaining.toArray())
+        {
+            if (!remaining.remove(packed))
+            {
+                continue; // Already part of a column
+            }
+            final BlockPos pos = BlockPos.fromLong(packed);
+            if (!(world.getBlockState(pos).getBlock() instanceof IFallingBlock))
+            {
+                continue; // Changed since
+            }
+
+            // Find the bottom of the column, queued blocks below this one fall with it
+            mutablePos.setPos(pos);
+            while (mutablePos.getY() > 0)
+            {
+                mutablePos.move(EnumFacing.DOWN);
+                if (!(world.getBlockState(mutablePos).getBlock() instanceof IFallingBlock) || !remaining.remove(mutablePos.toLong()))
+                {
+                    mutablePos.move(EnumFacing.UP);
+                    break;
+                }
+            }
+            final int bottom = mutablePos.getY();
+            final IFallingBlock bottomBlock = (IFallingBlock) world.getBlockState(mutablePos).getBlock();
+            if (bottom <= 0 || !bottomBlock.canFallThrough(world.getBlockState(mutablePos.move(EnumFacing.DOWN))))
+            {
+                continue; // Supported again
+            }
+
+            // Everything stacked on top falls with it, unless it only falls sideways
+            final List<IBlockState> states = new ArrayList<>();
+            mutablePos.setPos(pos.getX(), bottom, pos.getZ());
+            while (mutablePos.getY() < 256)
+            {
+                final IBlockState state = world.getBlockState(mutablePos);
+                if (!(state.getBlock() instanceof IFallingBlock))
+                {
+                    break;
+                }
+                final boolean wasQueued = remaining.remove(mutablePos.toLong());
+                if (mutablePos.getY() > pos.getY() && !wasQueued && !((IFallingBlock) state.getBlock()).canFallDown(state))
+                {
+                    break;
+                }
+                states.add(state);
+                mutablePos.move(EnumFacing.UP);
+            }
+            columns.add(new Column(pos.getX(), bottom, pos.getZ(), states.toArray(new IBlockState[0])));
+            columnKeys.add(getColumnKey(pos.getX(), pos.getZ()));
+        }
+
+        final List<Column> started = new ArrayList<>();
+        for (Column column : columns)
+        {
+            final BlockPos pos = new BlockPos(column.x, column.y, column.z);
+            if (column.states.length == 1 && !columnKeys.contains(getColumnKey(column.x - 1, column.z)) && !columnKeys.contains(getColumnKey(column.x + 1, column.z))
+                && !columnKeys.contains(getColumnKey(column.x, column.z - 1)) && !columnKeys.contains(getColumnKey(column.x, column.z + 1))
+                && world.isAreaLoaded(pos, 32))
+            {
+                // A single block on its own
+                world.spawnEntity(new EntityFallingBlockTFC(world, pos, (IFallingBlock) column.states[0].getBlock(), column.states[0]));
+            }
+            else
+            {
+                column.start(world, mutablePos);
+                started.add(column);
+            }
+        }
+        if (started.isEmpty())
+        {
+            return;
+        }
+
+        // Only update the blocks around once all columns are gone, so columns next to each other don't update each other
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        final ByteBuf data = Unpooled.buffer();
+        ByteBufUtils.writeVarInt(data, started.size(), 5);
+        for (Column column : started)
+        {
+            for (int i = 0; i < column.states.length; i++)
+            {
+                world.notifyNeighborsOfStateChange(new BlockPos(column.x, column.y + i, column.z), column.states[i].getBlock(), true);
+            }
+            column.write(data);
+            falling.add(column);
+
+            minX = Math.min(minX, column.x);
+            minY = Math.min(minY, column.landY);
+            minZ = Math.min(minZ, column.z);
+            maxX = Math.max(maxX, column.x);
+            maxY = Math.max(maxY, column.y + column.states.length);
+            maxZ = Math.max(maxZ, column.z);
+        }
+
+        // One packet for all of them, to everyone that could see any of them
+        final double range = TRACKING_RANGE + Math.sqrt((maxX - minX) * (maxX - minX) + (maxY - minY) * (maxY - minY) + (maxZ - minZ) * (maxZ - minZ)) / 2;
+        TerraFirmaCraft.getNetwork().sendToAllAround(new PacketFallingBlocks(data), new NetworkRegistry.TargetPoint(world.provider.getDimension(), (minX + maxX) / 2.0 + 0.5, (minY + maxY) / 2.0, (minZ + maxZ) / 2.0 + 0.5, range));
+    }
+
+    /**
+     * Puts down columns
+     *
+     * @param early if the columns haven't got to the ground yet, but have to be put down now. They are put down without updating the blocks around them, and never dropped as items
+     */
+    private void land(Predicate<Column> filter, boolean early)
+    {
+        final boolean drops = !early && world.getGameRules().getBoolean("doEntityDrops");
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        final Iterator<Column> iterator = falling.iterator();
+        landingEarly = early;
+        try
+        {
+            while (iterator.hasNext())
+            {
+                final Column column = iterator.next();
+                if (filter.test(column))
+                {
+                    iterator.remove();
+                    column.land(world, mutablePos, drops, early);
+                }
+            }
+        }
+        finally
+        {
+            landingEarly = false;
+        }
+    }
+
+    /**
+     * Puts down all columns that are still loaded, before they would be lost
+     */
+    private void landAll()
+    {
+        if (!falling.isEmpty())
+        {
+            land(column -> world.isBlockLoaded(column.getPos()), true);
+            if (!falling.isEmpty())
+            {
+                TerraFirmaCraft.getLog().warn("{} falling block columns were in unloaded chunks and have been lost", falling.size());
+                falling.clear();
+            }
+        }
+    }
+
+    private static final class Column
+    {
+        private final int x, y, z; // The bottom block, before falling
+        private final IBlockState[] states; // Bottom to top
+        private int landY, fallTicks;
+        private long landTick;
+
+        private Column(int x, int y, int z, IBlockState[] states)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.states = states;
+        }
+
+        /**
+         * Takes the blocks out of the world, and works out where and when they land
+         */
+        private void start(World world, BlockPos.MutableBlockPos mutablePos)
+        {
+            landY = findGround(world, mutablePos);
+            fallTicks = getFallTicks(y - landY);
+            landTick = world.getTotalWorldTime() + fallTicks;
+            for (int i = 0; i < states.length; i++)
+            {
+                world.setBlockState(mutablePos.setPos(x, y + i, z), Blocks.AIR.getDefaultState(), 2);
+            }
+        }
+
+        private BlockPos getPos()
+        {
+            return new BlockPos(x, y, z);
+        }
+
+        private void land(World world, BlockPos.MutableBlockPos mutablePos, boolean drops, boolean early)
+        {
+            // The ground might have changed while falling
+            final int ground = findGround(world, mutablePos);
+            if (ground <= 0)
+            {
+                return; // Fell out of the world
+            }
+            int nextY = ground;
+            for (IBlockState state : states)
+            {
+                final IFallingBlock falling = (IFallingBlock) state.getBlock();
+                while (nextY < 256)
+                {
+                    final BlockPos pos = new BlockPos(x, nextY, z);
+                    final IBlockState current = world.getBlockState(pos);
+                    if (world.mayPlace(state.getBlock(), pos, true, EnumFacing.UP, null) && world.setBlockState(pos, state, early ? 2 : 3))
+                    {
+                        falling.onEndFalling(world, pos, state, current);
+                        nextY++;
+                        break;
+                    }
+                    if (!early)
+                    {
+                        if (drops)
+                        {
+                            for (ItemStack stack : falling.getDropsFromFall(world, pos, state, null, fallTicks, y - ground))
+                            {
+                                Block.spawnAsEntity(world, pos, stack);
+                            }
+                        }
+                        break;
+                    }
+                    // Items can't be dropped into a chunk that is unloading, so look for the next place it fits instead
+                    nextY++;
+                }
+            }
+        }
+
+        private int findGround(World world, BlockPos.MutableBlockPos mutablePos)
+        {
+            final IFallingBlock falling = (IFallingBlock) states[0].getBlock();
+            mutablePos.setPos(x, y - 1, z);
+            while (mutablePos.getY() >= 0 && falling.canFallThrough(world.getBlockState(mutablePos)))
+            {
+                mutablePos.move(EnumFacing.DOWN);
+            }
+            return mutablePos.getY() + 1;
+        }
+
+        private void write(ByteBuf buf)
+        {
+            buf.writeInt(x);
+            buf.writeInt(z);
+            ByteBufUtils.writeVarInt(buf, y, 5);
+            ByteBufUtils.writeVarInt(buf, landY, 5);
+            ByteBufUtils.writeVarInt(buf, states.length, 5);
+            for (IBlockState state : states)
+            {
+                ByteBufUtils.writeVarInt(buf, Block.getStateId(state), 5);
+            }
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldTick(TickEvent.WorldTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !event.world.isRemote)
+            {
+                FallingBlockManager manager = MANAGERS.get(event.world);
+                if (manager != null)
+                {
+                    manager.tick();
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldSave(WorldEvent.Save event)
+        {
+            // Falling columns aren't saved, so put them all down before the world is
+            FallingBlockManager manager = MANAGERS.get(event.getWorld());
+            if (manager != null)
+            {
+                manager.landAll();
+            }
+        }
+
+        @SubscribeEvent
+        public static void onChunkUnload(ChunkEvent.Unload event)
+        {
+            // The chunk is saved after this, so the columns in it are saved with it
+            FallingBlockManager manager = MANAGERS.get(event.getWorld());
+            if (manager != null && !manager.falling.isEmpty())
+            {
+                final Chunk chunk = event.getChunk();
+                manager.land(column -> (column.x >> 4) == chunk.x && (column.z >> 4) == chunk.z, true);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            FallingBlockManager manager = MANAGERS.get(event.getWorld());
+            if (manager != null)
+            {
+                manager.landAll();
+                MANAGERS.remove(event.getWorld());
+            }
+        }
+    }
+}
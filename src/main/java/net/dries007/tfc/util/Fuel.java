@@ -38,6 +38,11 @@ public class Fuel
         return this.stack.isItemEqual(stack);
     }
 
+    public ItemStack getStack()
+    {
+        return stack;
+    }
+
     public int getAmount()
     {
         return amount;
@@ -6,6 +6,7 @@
 package net.dries007.tfc.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
 
@@ -16,17 +17,26 @@ import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Tree;
 import net.dries007.tfc.objects.blocks.wood.BlockLogTFC;
 import net.dries007.tfc.objects.items.metal.ItemOreTFC;
+import net.dries007.tfc.objects.recipes.RecipeIndex;
 import net.dries007.tfc.types.DefaultMetals;
 
 public final class FuelManager
 {
     private static final List<Fuel> fuels = new ArrayList<>();
+    private static final RecipeIndex<Fuel> INDEX = new RecipeIndex<>(() -> fuels, x -> Collections.singleton(x.getStack().getItem()));
     private static final Fuel EMPTY = new Fuel(ItemStack.EMPTY, 0, 0);
 
     @Nonnull
     public static Fuel getFuel(ItemStack stack)
     {
-        return fuels.stream().filter(x -> x.matchesInput(stack)).findFirst().orElse(EMPTY);
+        for (Fuel fuel : INDEX.get(stack.getItem()))
+        {
+            if (fuel.matchesInput(stack))
+            {
+                return fuel;
+            }
+        }
+        return EMPTY;
     }
 
     public static boolean isItemFuel(ItemStack stack)
@@ -58,15 +68,17 @@ public final class FuelManager
         fuels.add(new Fuel(new ItemStack(Items.COAL, 1, 1), 8000, 1350f, true));
 
         // todo: peat
+        INDEX.invalidate();
     }
 
     public static boolean addFuel(Fuel fuel)
     {
-        if (fuels.stream().anyMatch(x -> x.matchesInput(fuel)))
+        if (INDEX.get(fuel.getStack().getItem()).stream().anyMatch(x -> x.matchesInput(fuel)))
         {
             return false;
         }
         fuels.add(fuel);
+        INDEX.invalidate();
         return true;
     }
 }
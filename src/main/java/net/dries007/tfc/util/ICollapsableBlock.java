@@ -5,8 +5,19 @@
 
 package net.dries007.tfc.util;
 
-// For raw stone, because it collapses
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+// For raw stone, because it collapses, see CaveIn
 public interface ICollapsableBlock
 {
-    // todo: this
+    // The state the block turns into when it collapses, i.e. cobble, which then falls down
+    IBlockState getCollapsedState(IBlockState state);
+
+    // Can the block collapse at a particular position; only if there's nothing below holding it up
+    default boolean canCollapse(World world, BlockPos pos)
+    {
+        return world.getBlockState(pos.down()).getMaterial().isReplaceable();
+    }
 }
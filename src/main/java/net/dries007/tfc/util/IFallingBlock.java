@@ -15,8 +15,6 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import net.dries007.tfc.objects.entity.EntityFallingBlockTFC;
-
 public interface IFallingBlock
 {
     default boolean canFallThrough(IBlockState state)
@@ -34,19 +32,26 @@ public interface IFallingBlock
     @Nullable
     BlockPos getFallablePos(World world, BlockPos pos);
 
+    // Does the block fall straight down when the block below it falls; if so, it falls together with it, see FallingBlockManager
+    default boolean canFallDown(IBlockState state)
+    {
+        return true;
+    }
+
     default void checkFalling(World worldIn, BlockPos pos, IBlockState state)
     {
+        if (FallingBlockManager.isLandingEarly()) return;
         BlockPos pos1 = getFallablePos(worldIn, pos);
         if (pos1 != null)
         {
-            if (!BlockFalling.fallInstantly && worldIn.isAreaLoaded(pos.add(-32, -32, -32), pos.add(32, 32, 32)))
+            if (!BlockFalling.fallInstantly)
             {
                 if (!pos1.equals(pos))
                 {
                     worldIn.setBlockToAir(pos);
                     worldIn.setBlockState(pos1, state);
                 }
-                worldIn.spawnEntity(new EntityFallingBlockTFC(worldIn, pos1, this, worldIn.getBlockState(pos1)));
+                FallingBlockManager.queue(worldIn, pos1);
             }
             else
             {
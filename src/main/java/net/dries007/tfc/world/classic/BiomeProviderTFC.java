@@ -7,7 +7,10 @@ package net.dries007.tfc.world.classic;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import javax.annotation.Nullable;
 
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.Biome;
@@ -16,6 +19,7 @@ import net.minecraft.world.gen.layer.GenLayer;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class BiomeProviderTFC extends BiomeProvider
 {
@@ -46,4 +50,38 @@ public class BiomeProviderTFC extends BiomeProvider
         original = GenLayerTFC.initialize2(seed);
         return super.getModdedBiomeGenerators(worldType, seed, original);
     }
+
+    /*
+     * The methods below are the entry points that evaluate the gen layers.
+     * Vanilla resets the vanilla IntCache here, which our layers don't use, so reset ours as well.
+     */
+
+    @Override
+    public Biome[] getBiomesForGeneration(Biome[] biomes, int x, int z, int width, int height)
+    {
+        IntCacheTFC.resetIntCache();
+        return super.getBiomesForGeneration(biomes, x, z, width, height);
+    }
+
+    @Override
+    public Biome[] getBiomes(@Nullable Biome[] listToReuse, int x, int z, int width, int length, boolean cacheFlag)
+    {
+        IntCacheTFC.resetIntCache();
+        return super.getBiomes(listToReuse, x, z, width, length, cacheFlag);
+    }
+
+    @Override
+    public boolean areBiomesViable(int x, int z, int radius, List<Biome> allowed)
+    {
+        IntCacheTFC.resetIntCache();
+        return super.areBiomesViable(x, z, radius, allowed);
+    }
+
+    @Nullable
+    @Override
+    public BlockPos findBiomePosition(int x, int z, int range, List<Biome> biomes, Random random)
+    {
+        IntCacheTFC.resetIntCache();
+        return super.findBiomePosition(x, z, range, biomes, random);
+    }
 }
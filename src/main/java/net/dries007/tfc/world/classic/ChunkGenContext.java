@@ -0,0 +1,664 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.BiomeProvider;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.gen.MapGenBase;
+import net.minecraft.world.gen.NoiseGeneratorOctaves;
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import net.minecraftforge.registries.ForgeRegistry;
+
+import mcp.MethodsReturnNonnullByDefault;
+import net.dries007.tfc.ConfigTFC;
+import net.dries007.tfc.api.registries.TFCRegistries;
+import net.dries007.tfc.api.types.Rock;
+import net.dries007.tfc.api.types.RockCategory;
+import net.dries007.tfc.objects.blocks.BlocksTFC;
+import net.dries007.tfc.objects.blocks.stone.BlockRockVariant;
+import net.dries007.tfc.world.classic.biomes.BiomesTFC;
+import net.dries007.tfc.world.classic.genlayers.GenLayerRegionCache;
+import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.datalayers.drainage.GenDrainageLayer;
+import net.dries007.tfc.world.classic.genlayers.datalayers.ph.GenPHLayer;
+import net.dries007.tfc.world.classic.genlayers.datalayers.rock.GenRockLayer;
+import net.dries007.tfc.world.classic.genlayers.datalayers.stability.GenStabilityLayer;
+import net.dries007.tfc.world.classic.mapgen.MapGenCavesTFC;
+import net.dries007.tfc.world.classic.mapgen.MapGenRavineTFC;
+import net.dries007.tfc.world.classic.mapgen.MapGenRiverRavine;
+
+import static net.dries007.tfc.world.classic.ChunkGenTFC.*;
+import static net.dries007.tfc.world.classic.WorldTypeTFC.ROCKLAYER2;
+import static net.dries007.tfc.world.classic.WorldTypeTFC.ROCKLAYER3;
+
+/**
+ * All the state needed to generate the terrain of a single chunk: noise generators, gen layers, map gen passes and scratch arrays.
+ * None of this is safe to share, so every thread that generates terrain has its own context.
+ * Given the same seed and settings, every context produces exactly the same {@link ProtoChunkTFC} for a chunk.
+ *
+ * The world is only used to read the seed, it is never modified from here.
+ */
+@MethodsReturnNonnullByDefault
+@ParametersAreNonnullByDefault
+public class ChunkGenContext
+{
+    private static final float[] parabolicField = new float[25];
+
+    static
+    {
+        for (int x = -2; x <= 2; ++x)
+        {
+            for (int y = -2; y <= 2; ++y)
+            {
+                parabolicField[x + 2 + (y + 2) * 5] = 10.0F / MathHelper.sqrt(x * x + y * y + 0.2F);
+                // Results in the following plot: http://i.imgur.com/rxrui67.png
+            }
+        }
+    }
+
+    private final WorldGenSettings s;
+    private final World world;
+    private final BiomeProvider biomeProvider;
+    private final GenLayerRegionCache regionCache;
+    private final GenLayerRegionCache.Source biomeSource;
+    private final GenLayerRegionCache.Source generationBiomeSource;
+    private final Random rand;
+    private final NoiseGeneratorOctaves noiseGen1;
+    private final NoiseGeneratorOctaves noiseGen2;
+    private final NoiseGeneratorOctaves noiseGen3;
+    private final NoiseGeneratorOctaves noiseGen4;
+    private final NoiseGeneratorOctaves noiseGen5;
+    private final NoiseGeneratorOctaves noiseGen6;
+    private final NoiseGeneratorOctaves mobSpawnerNoise;
+    private final NoiseGeneratorPerlin noiseGen7; // Rainfall
+    private final NoiseGeneratorPerlin noiseGen8; // Flora Density
+    private final NoiseGeneratorPerlin noiseGen9; // Flora Diversity
+    private final NoiseGeneratorPerlin noiseGen10; // Temperature
+    private final GenLayerTFC rocksGenLayer1;
+    private final GenLayerTFC rocksGenLayer2;
+    private final GenLayerTFC rocksGenLayer3;
+    private final GenLayerTFC stabilityGenLayer;
+    private final GenLayerTFC phGenLayer;
+    private final GenLayerTFC drainageGenLayer;
+    private final double[] noise1 = new double[425];
+    private final double[] noise2 = new double[425];
+    private final double[] noise3 = new double[425];
+    private final double[] noise4 = new double[256];
+    private final double[] noise6 = new double[25];
+    private final double[] heightMap = new double[425];
+    private final Biome[] biomes = new Biome[324];
+    private final DataLayer[] stabilityLayer = new DataLayer[256];
+    private final DataLayer[] drainageLayer = new DataLayer[256];
+    private final int[] seaLevelOffsetMap = new int[256];
+    private final int[] chunkHeightMap = new int[256];
+    private final int[] layerData = new int[324];
+    private final float[] biomeBaseHeight = new float[256];
+    private final float[] biomeHeightVariation = new float[256];
+    private final float[] generationBaseHeight = new float[100];
+    private final float[] generationHeightVariation = new float[100];
+    private final int defaultBiomeId;
+    private final int[] rockLayer1 = new int[256];
+    private final int[] rockLayer2 = new int[256];
+    private final int[] rockLayer3 = new int[256];
+
+    private final MapGenCavesTFC caveGen;
+    private final MapGenBase surfaceRavineGen;
+    private final MapGenBase ravineGen;
+    private final MapGenBase riverRavineGen;
+
+    private float rainfall;
+    private float floraDensity;
+    private float floraDiversity;
+    private float baseTemp;
+    private float averageTemp;
+
+    /**
+     * @param biomeProvider The biome provider to use. This must not be shared with another thread, as vanilla's biome cache isn't thread safe.
+     * @param regionCache   The gen layer cache. This should be shared by all contexts for the same world.
+     */
+    public ChunkGenContext(World world, WorldGenSettings s, BiomeProvider biomeProvider, GenLayerRegionCache regionCache)
+    {
+        this.world = world;
+        this.s = s;
+        this.biomeProvider = biomeProvider;
+        this.regionCache = regionCache;
+        this.biomeSource = (x, z, width, height) -> getBiomeIds(biomeProvider.getBiomes(null, x, z, width, height, false), width * height);
+        this.generationBiomeSource = (x, z, width, height) -> getBiomeIds(biomeProvider.getBiomesForGeneration(null, x, z, width, height), width * height);
+
+        // Biome heights by id, so blending the height map only looks at flat arrays
+        for (int id = 0; id < 256; ++id)
+        {
+            final Biome biome = Biome.getBiome(id, Biomes.DEFAULT);
+            biomeBaseHeight[id] = biome.getBaseHeight();
+            biomeHeightVariation[id] = biome.getHeightVariation();
+        }
+        defaultBiomeId = Biome.getIdForBiome(Biomes.DEFAULT);
+
+        final long seed = world.getSeed();
+        rand = new Random(seed);
+
+        noiseGen1 = new NoiseGeneratorOctaves(rand, 4);
+        noiseGen2 = new NoiseGeneratorOctaves(rand, 16);
+        noiseGen3 = new NoiseGeneratorOctaves(rand, 8);
+        noiseGen4 = new NoiseGeneratorOctaves(rand, 4);
+        noiseGen5 = new NoiseGeneratorOctaves(rand, 2);
+        noiseGen6 = new NoiseGeneratorOctaves(rand, 1);
+        mobSpawnerNoise = new NoiseGeneratorOctaves(rand, 8);
+
+        rocksGenLayer1 = GenRockLayer.initialize(seed + 1, RockCategory.Layer.TOP);
+        rocksGenLayer2 = GenRockLayer.initialize(seed + 2, RockCategory.Layer.MIDDLE);
+        rocksGenLayer3 = GenRockLayer.initialize(seed + 3, RockCategory.Layer.BOTTOM);
+
+        noiseGen7 = new NoiseGeneratorPerlin(new Random(seed + 4), 4);
+        noiseGen8 = new NoiseGeneratorPerlin(new Random(seed + 5), 4);
+        noiseGen9 = new NoiseGeneratorPerlin(new Random(seed + 6), 4);
+        noiseGen10 = new NoiseGeneratorPerlin(new Random(seed + 7), 4);
+
+        stabilityGenLayer = GenStabilityLayer.initialize(seed + 9);
+        phGenLayer = GenPHLayer.initialize(seed + 10);
+        drainageGenLayer = GenDrainageLayer.initialize(seed + 11);
+
+        // Caves always got an empty top rock layer before the rock layers were cached, keep it that way so the same seed gives the same caves
+        caveGen = new MapGenCavesTFC(new int[256], stabilityLayer);
+        surfaceRavineGen = new MapGenRavineTFC(s.surfaceRavineRarity, s.surfaceRavineHeight, s.surfaceRavineVariability);
+        ravineGen = new MapGenRavineTFC(s.ravineRarity, s.ravineHeight, s.ravineVariability);
+        riverRavineGen = new MapGenRiverRavine(s.riverRavineRarity);
+    }
+
+    /**
+     * Generates everything about a chunk that doesn't need the chunk itself.
+     * This does not touch the world, so it's safe to call off the server thread.
+     */
+    public ProtoChunkTFC generate(int chunkX, int chunkZ)
+    {
+        // The noise arrays are cleared by the noise generators, and the height map is overwritten entirely
+        Arrays.fill(seaLevelOffsetMap, 0);
+        Arrays.fill(chunkHeightMap, 0);
+
+        rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
+        // The rough terrain goes in the lower half, the biome replacement moves it up and then fills the lower half, so one primer does for both
+        CustomChunkPrimer chunkPrimerOut = CustomChunkPrimer.acquire();
+        generateRoughTerrain(chunkX, chunkZ, chunkPrimerOut);
+
+        loadBiomes(GenLayerRegionCache.Layer.BIOMES, biomeSource, chunkX * 16 - 1, chunkZ * 16 - 1, 18, 18);
+
+        loadLayerGeneratorData(GenLayerRegionCache.Layer.STABILITY, stabilityGenLayer, stabilityLayer, chunkX * 16, chunkZ * 16, 16, 16);
+        loadLayerGeneratorData(GenLayerRegionCache.Layer.DRAINAGE, drainageGenLayer, drainageLayer, chunkX * 16, chunkZ * 16, 16, 16);
+
+        rainfall = 250f + 250f * 0.09f * (float) noiseGen7.getValue(chunkX * 0.005, chunkZ * 0.005); // Range 0 <> 500
+        floraDiversity = 0.5f + 0.5f * 0.09f * (float) noiseGen9.getValue(chunkX * 0.005, chunkZ * 0.005); // Range 0 <> 1
+        floraDensity = (0.3f + 0.4f * rainfall / 500f) + 0.3f * 0.09f * (float) noiseGen8.getValue(chunkX * 0.005, chunkZ * 0.005); // Range 0 <> 1
+
+        regionCache.getInts(GenLayerRegionCache.Layer.ROCK_TOP, rocksGenLayer1::getInts, chunkX * 16, chunkZ * 16, 16, 16, rockLayer1);
+        regionCache.getInts(GenLayerRegionCache.Layer.ROCK_MIDDLE, rocksGenLayer2::getInts, chunkX * 16, chunkZ * 16, 16, 16, rockLayer2);
+        regionCache.getInts(GenLayerRegionCache.Layer.ROCK_BOTTOM, rocksGenLayer3::getInts, chunkX * 16, chunkZ * 16, 16, 16, rockLayer3);
+
+        final float latitudeFactor = ClimateTFC.latitudeFactor(chunkZ); // Range 0 - 1
+        final float monthFactor = 41f - 1.1f * CalendarTFC.Month.getAverageTempMod() * (1f - 0.8f * latitudeFactor);
+        final float regionalFactor = 15f * 0.09f * (float) noiseGen10.getValue(chunkX * 0.005, chunkZ * 0.005); // Range -15 <> 15
+
+        baseTemp = 45f * latitudeFactor - 25f + regionalFactor; // Latitude + Regional Temp
+        averageTemp = monthFactor + 0.2f * baseTemp;
+
+        replaceBlocksForBiomeHigh(chunkX, chunkZ, chunkPrimerOut, chunkPrimerOut);
+
+        caveGen.setRainfall(rainfall);
+        caveGen.generate(world, chunkX, chunkZ, chunkPrimerOut);
+        surfaceRavineGen.generate(world, chunkX, chunkZ, chunkPrimerOut);
+        ravineGen.generate(world, chunkX, chunkZ, chunkPrimerOut);
+        riverRavineGen.generate(world, chunkX, chunkZ, chunkPrimerOut);
+
+        if (ConfigTFC.WORLD.debugMode)
+        {
+            for (int x = 0; x < 16; ++x)
+            {
+                for (int z = 0; z < 16; ++z)
+                {
+                    chunkPrimerOut.setBlockState(x, 240, z, Blocks.STAINED_GLASS.getStateFromMeta(Biome.getIdForBiome(getBiomeOffset(x, z)) & 15));
+
+                    chunkPrimerOut.setBlockState(x, 242, z, Blocks.STAINED_GLASS.getStateFromMeta(rockLayer1[z << 4 | x] & 15));
+                    chunkPrimerOut.setBlockState(x, 244, z, Blocks.STAINED_GLASS.getStateFromMeta(rockLayer2[z << 4 | x] & 15));
+                    chunkPrimerOut.setBlockState(x, 246, z, Blocks.STAINED_GLASS.getStateFromMeta(rockLayer3[z << 4 | x] & 15));
+
+                    chunkPrimerOut.setBlockState(x, 252, z, Blocks.STAINED_GLASS.getStateFromMeta(stabilityLayer[x << 4 | z].layerID & 15));
+                    chunkPrimerOut.setBlockState(x, 254, z, Blocks.STAINED_GLASS.getStateFromMeta(drainageLayer[x << 4 | z].layerID & 15));
+
+                }
+            }
+        }
+
+        byte[] biomeIds = new byte[256];
+        for (int x = 0; x < 16; ++x)
+        {
+            for (int z = 0; z < 16; ++z)
+            {
+                biomeIds[z << 4 | x] = (byte) Biome.getIdForBiome(getBiomeOffset(x, z));
+            }
+        }
+
+        return new ProtoChunkTFC(chunkX, chunkZ, chunkPrimerOut, biomeIds, chunkHeightMap, rockLayer1, rockLayer2, rockLayer3, stabilityLayer, drainageLayer, seaLevelOffsetMap,
+            rainfall, baseTemp, averageTemp, floraDensity, floraDiversity);
+    }
+
+    private void loadLayerGeneratorData(GenLayerRegionCache.Layer layer, GenLayerTFC gen, DataLayer[] layers, int x, int y, int width, int height)
+    {
+        regionCache.getInts(layer, gen::getInts, x, y, width, height, layerData);
+        for (int i = 0; i < width * height; ++i)
+        {
+            layers[i] = DataLayer.get(layerData[i]);
+        }
+    }
+
+    private void loadBiomes(GenLayerRegionCache.Layer layer, GenLayerRegionCache.Source source, int x, int z, int width, int height)
+    {
+        regionCache.getInts(layer, source, x, z, width, height, layerData);
+        for (int i = 0; i < width * height; ++i)
+        {
+            biomes[i] = Biome.getBiome(layerData[i], Biomes.DEFAULT);
+        }
+    }
+
+    private static int[] getBiomeIds(Biome[] biomes, int length)
+    {
+        int[] ids = new int[length];
+        for (int i = 0; i < length; ++i)
+        {
+            ids[i] = Biome.getIdForBiome(biomes[i]);
+        }
+        return ids;
+    }
+
+    private void generateRoughTerrain(int chunkX, int chunkZ, CustomChunkPrimer primer)
+    {
+        regionCache.getInts(GenLayerRegionCache.Layer.GENERATION_BIOMES, generationBiomeSource, chunkX * 4 - 2, chunkZ * 4 - 2, 10, 10, layerData);
+        for (int i = 0; i < 100; ++i)
+        {
+            // Same as Biome.getBiome(id, Biomes.DEFAULT), as the tables hold the default biome for unknown ids
+            final int id = layerData[i] >= 0 && layerData[i] < 256 ? layerData[i] : defaultBiomeId;
+            generationBaseHeight[i] = biomeBaseHeight[id];
+            generationHeightVariation[i] = biomeHeightVariation[id];
+        }
+        generateHeightMap(chunkX * 4, chunkZ * 4);
+
+        for (int x = 0; x < 4; ++x)
+        {
+            for (int z = 0; z < 4; ++z)
+            {
+                final int indexDL = ((x + 0) * 5 + z + 0) * 17;
+                final int indexUL = ((x + 0) * 5 + z + 1) * 17;
+                final int indexDR = ((x + 1) * 5 + z + 0) * 17;
+                final int indexUR = ((x + 1) * 5 + z + 1) * 17;
+                for (int y = 0; y < 16; ++y)
+                {
+                    double noiseDL = heightMap[indexDL + y];
+                    double noiseUL = heightMap[indexUL + y];
+                    double noiseDR = heightMap[indexDR + y];
+                    double noiseUR = heightMap[indexUR + y];
+                    final double noiseDLA = (heightMap[indexDL + y + 1] - noiseDL) * 0.125D;
+                    final double noiseULA = (heightMap[indexUL + y + 1] - noiseUL) * 0.125D;
+                    final double noiseDRA = (heightMap[indexDR + y + 1] - noiseDR) * 0.125D;
+                    final double noiseURA = (heightMap[indexUR + y + 1] - noiseUR) * 0.125D;
+
+                    for (int yy = 0; yy < 8; ++yy)
+                    {
+                        final int blockY = y * 8 + yy;
+                        final IBlockState empty = blockY < 16 ? SALT_WATER : AIR;
+                        double var34 = noiseDL;
+                        double var36 = noiseUL;
+                        final double var38 = (noiseDR - noiseDL) * 0.25D;
+                        final double var40 = (noiseUR - noiseUL) * 0.25D;
+
+                        for (int xx = 0; xx < 4; ++xx)
+                        {
+                            final double var49 = (var36 - var34) * 0.25D;
+                            double var47 = var34 - var49;
+
+                            for (int zz = 0; zz < 4; ++zz)
+                            {
+                                primer.setBlockState(x * 4 + xx, blockY, z * 4 + zz, (var47 += var49) > 0.0D ? STONE : empty);
+                            }
+                            var34 += var38;
+                            var36 += var40;
+                        }
+                        noiseDL += noiseDLA;
+                        noiseUL += noiseULA;
+                        noiseDR += noiseDRA;
+                        noiseUR += noiseURA;
+                    }
+                }
+            }
+        }
+    }
+
+    private void generateHeightMap(int xPos, int zPos)
+    {
+        noiseGen6.generateNoiseOctaves(noise6, xPos, zPos, 5, 5, 200.0D, 200.0D, 0.5D);
+        noiseGen3.generateNoiseOctaves(noise3, xPos, 0, zPos, 5, 17, 5, 12.5, 6.25, 12.5);
+        noiseGen1.generateNoiseOctaves(noise1, xPos, 0, zPos, 5, 17, 5, 1000D, 1000D, 1000D);
+        noiseGen2.generateNoiseOctaves(noise2, xPos, 0, zPos, 5, 17, 5, 1000D, 1000D, 1000D);
+
+        int i = 0;
+        int j = 0;
+
+        for (int x = 0; x < 5; ++x)
+        {
+            for (int z = 0; z < 5; ++z)
+            {
+                float variationBlended = 0.0F;
+                float rootBlended = 0.0F;
+                float totalBlendedHeight = 0.0F;
+                final float baseHeight = generationBaseHeight[x + 2 + (z + 2) * 10];
+
+                for (int xR = -2; xR <= 2; ++xR)
+                {
+                    for (int zR = -2; zR <= 2; ++zR)
+                    {
+                        final int blendIndex = x + xR + 2 + (z + zR + 2) * 10;
+                        final float blendBaseHeight = generationBaseHeight[blendIndex];
+                        float blendedHeight = parabolicField[xR + 2 + (zR + 2) * 5] / 2.0F;
+                        if (blendBaseHeight > baseHeight)
+                            blendedHeight *= 0.5F;
+
+                        variationBlended += generationHeightVariation[blendIndex] * blendedHeight;
+                        rootBlended += blendBaseHeight * blendedHeight;
+                        totalBlendedHeight += blendedHeight;
+                    }
+                }
+
+                variationBlended /= totalBlendedHeight;
+                rootBlended /= totalBlendedHeight;
+                variationBlended = variationBlended * 0.9F + 0.1F;
+                rootBlended = (rootBlended * 4.0F - 1.0F) / 8.0F;
+
+                double scaledNoise6Value = noise6[j++] / 8000.0D;
+
+                if (scaledNoise6Value < 0.0D)
+                    scaledNoise6Value = -scaledNoise6Value * 0.3D; //If negative, make positive and shrink by a third?
+
+                scaledNoise6Value = scaledNoise6Value * 3.0D - 2.0D;
+
+                if (scaledNoise6Value < 0.0D) // Only true when noise6[index2] is between -17,777 and 0, scaledNoise6Value will be at maximum -2
+                {
+                    scaledNoise6Value /= 2.0D; // Results in values between 0 and -1
+                    if (scaledNoise6Value < -1.0D) //Error Checking
+                        scaledNoise6Value = -1.0D;
+                    scaledNoise6Value /= 1.4D * 2.0D; // Results in values between 0 and -0.357143
+                }
+                else
+                {
+                    if (scaledNoise6Value > 1.0D)
+                        scaledNoise6Value = 1.0D;
+                    scaledNoise6Value /= 8.0D; // Results in values between 0 and 0.125
+                }
+
+                // These don't depend on y
+                double rootBlendedCopy = rootBlended;
+                rootBlendedCopy += scaledNoise6Value * 0.2D;
+                rootBlendedCopy = rootBlendedCopy * 17 / 16.0D;
+                final double var28 = 17 / 2.0D + rootBlendedCopy * 4.0D;
+                final double variationDivisor = 2.70 + variationBlended;
+
+                for (int y = 0; y < 17; ++y)
+                {
+                    double output;
+                    // * 256 / 256 is exact, so it's left out
+                    double var32 = (y - var28) * 12.0D / variationDivisor;
+
+                    if (var32 < 0.0D)
+                        var32 *= 4.0D;
+
+                    double var34 = noise1[i] / 512.0D;
+                    double var36 = noise2[i] / 512.0D;
+                    double var38 = (noise3[i] / 10.0D + 1.0D) / 2.0D;
+
+                    if (var38 < 0.0D)
+                        output = var34;
+                    else if (var38 > 1.0D)
+                        output = var36;
+                    else
+                        output = var34 + (var36 - var34) * var38;
+
+                    output -= var32;
+                    if (y > 17 - 4)
+                    {
+                        double var40 = (y - (17 - 4)) / 3.0F;
+                        output = output * (1.0D - var40) + -10.0D * var40;
+                    }
+
+                    heightMap[i++] = output;
+                }
+            }
+        }
+    }
+
+    private Biome getBiomeOffset(int x, int z)
+    {
+        return biomes[(z + 1) * 18 + (x + 1)]; //todo: check, was (z + 1) + (x + 1) * 18
+    }
+
+    /**
+     * @param inp  the rough terrain, in the lower half (y < 128). This can be the same primer as outp:
+     *             the high part of a column only reads the rough terrain of that column, which is cleared before the low part is filled in.
+     * @param outp the primer to fill
+     */
+    private void replaceBlocksForBiomeHigh(int chunkX, int chunkZ, ChunkPrimer inp, CustomChunkPrimer outp)
+    {
+        final int seaLevel = 16;
+        final int yOffset = 128;
+        double var6 = 0.03125D;
+        noiseGen4.generateNoiseOctaves(noise4, chunkX * 16, chunkZ * 16, 0, 16, 16, 1, var6 * 4.0D, var6, var6 * 4.0D);
+        boolean[] cliffMap = new boolean[256];
+        for (int x = 0; x < 16; ++x)
+        {
+            for (int z = 0; z < 16; ++z)
+            {
+                int colIndex = z << 4 | x;
+                Biome biome = getBiomeOffset(x, z);
+                Rock rock1 = ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer1[colIndex]);
+                Rock rock2 = ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer2[colIndex]);
+                Rock rock3 = ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer3[colIndex]);
+                DataLayer drainage = drainageLayer[colIndex];
+                DataLayer stability = stabilityLayer[colIndex];
+                int noise = (int) (noise4[colIndex] / 3.0D + 6.0D);
+                int smooth = -1;
+
+                IBlockState surfaceBlock = BlockRockVariant.get(rock1, rainfall + 1.3 * rand.nextGaussian() >= 150f ? Rock.Type.GRASS : Rock.Type.DRY_GRASS).getDefaultState();
+                IBlockState subSurfaceBlock = BlockRockVariant.get(rock1, Rock.Type.DIRT).getDefaultState();
+
+                if (BiomesTFC.isBeachBiome(getBiomeOffset(x - 1, z)) || BiomesTFC.isBeachBiome(getBiomeOffset(x + 1, z)) || BiomesTFC.isBeachBiome(getBiomeOffset(x, z + 1)) || BiomesTFC.isBeachBiome(getBiomeOffset(x, z - 1)))
+                {
+                    if (!BiomesTFC.isBeachBiome(getBiomeOffset(x, z))) cliffMap[colIndex] = true;
+                }
+
+                int h = 0;
+                for (int y = 127; y >= 0; y--)
+                {
+                    /*
+                     * HIGH PART (yOffset is used)
+                     */
+
+                    float temp = ClimateTFC.adjustTempByHeight(y + yOffset, averageTemp);
+                    if (BiomesTFC.isBeachBiome(biome) && y + yOffset > seaLevel + h && inp.getBlockState(x, y + yOffset, z) == STONE)
+                    {
+                        inp.setBlockState(x, y + yOffset, z, AIR);
+                        if (h == 0) h = (y + yOffset - 16) / 4;
+                    }
+
+                    if (outp.isEmpty(x, y + yOffset, z))
+                    {
+                        outp.setBlockState(x, y + yOffset, z, inp.getBlockState(x, y, z));
+                        if (y + 1 < yOffset && outp.getBlockState(x, y + yOffset, z) == AIR/* no need to check again && BlocksTFC.isSoilOrGravel(outp.getBlockState(x, y + yOffset + 1, z))*/)
+                        {
+                            for (int upCount = 1; BlocksTFC.isSoilOrGravel(outp.getBlockState(x, y + yOffset + upCount, z)); upCount++)
+                            {
+                                outp.setBlockState(x, y + yOffset + upCount, z, AIR);
+                            }
+                        }
+                    }
+
+                    if (outp.getBlockState(x, y + yOffset, z) == STONE)
+                    {
+                        if (seaLevelOffsetMap[colIndex] == 0 && y - seaLevel >= 0)
+                            seaLevelOffsetMap[colIndex] = y - seaLevel;
+
+                        if (chunkHeightMap[colIndex] == 0)
+                            chunkHeightMap[colIndex] = y + yOffset;
+
+                        if (y + yOffset <= ROCKLAYER3 + seaLevelOffsetMap[colIndex])
+                            outp.setBlockState(x, y + yOffset, z, BlockRockVariant.get(rock3, Rock.Type.RAW).getDefaultState());
+                        else if (y + yOffset <= ROCKLAYER2 + seaLevelOffsetMap[colIndex])
+                            outp.setBlockState(x, y + yOffset, z, BlockRockVariant.get(rock2, Rock.Type.RAW).getDefaultState());
+                        else
+                            outp.setBlockState(x, y + yOffset, z, BlockRockVariant.get(rock1, Rock.Type.RAW).getDefaultState());
+
+                        // Deserts / dry areas
+                        if (rainfall < +1.3 * rand.nextGaussian() + 75f)
+                        {
+                            subSurfaceBlock = surfaceBlock = BlockRockVariant.get(rock1, Rock.Type.RAW).getVariant(Rock.Type.SAND).getDefaultState();
+                        }
+
+                        if (biome == BiomesTFC.BEACH || biome == BiomesTFC.OCEAN || biome == BiomesTFC.DEEP_OCEAN)
+                        {
+                            subSurfaceBlock = surfaceBlock = BlockRockVariant.get(rock1, Rock.Type.SAND).getDefaultState();
+                        }
+                        else if (biome == BiomesTFC.GRAVEL_BEACH)
+                        {
+                            subSurfaceBlock = surfaceBlock = BlockRockVariant.get(rock1, Rock.Type.GRAVEL).getDefaultState();
+                        }
+
+                        if (smooth == -1)
+                        {
+                            //The following makes dirt behave nicer and more smoothly, instead of forming sharp cliffs.
+                            int arrayIndexx = x > 0 ? x - 1 + (z * 16) : -1;
+                            int arrayIndexX = x < 15 ? x + 1 + (z * 16) : -1;
+                            int arrayIndexz = z > 0 ? x + ((z - 1) * 16) : -1;
+                            int arrayIndexZ = z < 15 ? x + ((z + 1) * 16) : -1;
+                            for (int counter = 1; counter < noise / 3; counter++)
+                            {
+                                if (arrayIndexx >= 0 && seaLevelOffsetMap[colIndex] - (3 * counter) > seaLevelOffsetMap[arrayIndexx] &&
+                                    arrayIndexX >= 0 && seaLevelOffsetMap[colIndex] - (3 * counter) > seaLevelOffsetMap[arrayIndexX] &&
+                                    arrayIndexz >= 0 && seaLevelOffsetMap[colIndex] - (3 * counter) > seaLevelOffsetMap[arrayIndexz] &&
+                                    arrayIndexZ >= 0 && seaLevelOffsetMap[colIndex] - (3 * counter) > seaLevelOffsetMap[arrayIndexZ])
+                                {
+                                    seaLevelOffsetMap[colIndex]--;
+                                    noise--;
+                                    y--;
+                                }
+                            }
+                            smooth = (int) (noise * (1d - Math.max(Math.min((y - 16) / 80d, 1), 0)));
+
+                            // Set soil below water
+                            for (int c = 1; c < 3; c++)
+                            {
+                                if (yOffset + y + c > 256) continue;
+
+                                IBlockState current = outp.getBlockState(x, yOffset + y + c, z);
+                                if (current != surfaceBlock && current != subSurfaceBlock && !BlocksTFC.isWater(current))
+                                {
+                                    outp.setBlockState(x, yOffset + y + c, z, AIR);
+                                    if (yOffset + y + c + 1 > 256) continue;
+                                    if (outp.getBlockState(x, yOffset + y + c + 1, z) == SALT_WATER)
+                                        outp.setBlockState(x, yOffset + y + c, z, subSurfaceBlock);
+                                }
+                            }
+
+                            // Determine the soil depth based on world y
+                            int dirtH = Math.max(8 - ((y + 96 - WorldTypeTFC.SEALEVEL) / 16), 0);
+
+                            if (smooth > 0)
+                            {
+                                if (y >= seaLevel - 1 && y + 1 < yOffset && inp.getBlockState(x, y + 1, z) != SALT_WATER && dirtH > 0)
+                                {
+                                    outp.setBlockState(x, y + yOffset, z, surfaceBlock);
+
+                                    boolean mountains = BiomesTFC.isMountainBiome(biome) || biome == BiomesTFC.HIGH_HILLS || biome == BiomesTFC.HIGH_HILLS_EDGE;
+                                    for (int c = 1; c < dirtH && !mountains && !cliffMap[colIndex]; c++)
+                                    {
+                                        outp.setBlockState(x, y - c + yOffset, z, subSurfaceBlock);
+                                        if (c > 1 + (5 - drainage.valueInt))
+                                            outp.setBlockState(x, y - c + yOffset, z, BlockRockVariant.get(rock1, Rock.Type.GRAVEL).getDefaultState());
+                                    }
+                                }
+                            }
+                        }
+
+                        if (y > seaLevel - 2 && y < seaLevel && inp.getBlockState(x, y + 1, z) == SALT_WATER ||
+                            y < seaLevel && inp.getBlockState(x, y + 1, z) == SALT_WATER)
+                        {
+                            if (biome != BiomesTFC.SWAMPLAND) // Most areas have gravel and sand bottoms
+                            {
+                                if (outp.getBlockState(x, y + yOffset, z) != BlockRockVariant.get(rock1, Rock.Type.SAND).getDefaultState() && rand.nextInt(5) != 0)
+                                    outp.setBlockState(x, y + yOffset, z, BlockRockVariant.get(rock1, Rock.Type.GRAVEL).getDefaultState());
+                            }
+                            else // Swamp biomes have bottoms that are mostly dirt
+                            {
+                                if (outp.getBlockState(x, y + yOffset, z) != BlockRockVariant.get(rock1, Rock.Type.SAND).getDefaultState())
+                                    outp.setBlockState(x, y + yOffset, z, BlockRockVariant.get(rock1, Rock.Type.DIRT).getDefaultState());
+                            }
+                        }
+                    }
+                    //  && biome != BiomesTFC.OCEAN && biome != BiomesTFC.DEEP_OCEAN && biome != BiomesTFC.BEACH && biome != BiomesTFC.GRAVEL_BEACH
+                    else if (inp.getBlockState(x, y, z) == SALT_WATER && !(BiomesTFC.isOceanicBiome(biome) || BiomesTFC.isBeachBiome(biome)))
+                    {
+                        outp.setBlockState(x, y + yOffset, z, FRESH_WATER);
+                    }
+                }
+
+                if (inp == outp)
+                {
+                    outp.clear(x, z, 0, yOffset);
+                }
+
+                for (int y = 127; y >= 0; y--) // This cannot be optimized with the prev for loop, because the sealeveloffset won't be ready yet.
+                {
+                    /*
+                     * LOW PART (yOffset is NOT used)
+                     */
+                    if (y < 1 + (s.flatBedrock ? 0 : rand.nextInt(3))) //  + (seaLevelOffsetMap[colIndex] / 3)
+                    {
+                        outp.setBlockState(x, y, z, BEDROCK);
+                    }
+                    else if (outp.isEmpty(x, y, z))
+                    {
+                        if (y <= ROCKLAYER3 + seaLevelOffsetMap[colIndex])
+                            outp.setBlockState(x, y, z, BlockRockVariant.get(rock3, Rock.Type.RAW).getDefaultState());
+                        else if (y <= ROCKLAYER2 + seaLevelOffsetMap[colIndex])
+                            outp.setBlockState(x, y, z, BlockRockVariant.get(rock2, Rock.Type.RAW).getDefaultState());
+                        else
+                            outp.setBlockState(x, y, z, BlockRockVariant.get(rock1, Rock.Type.RAW).getDefaultState());
+
+                        if (BiomesTFC.isBeachBiome(biome) || BiomesTFC.isOceanicBiome(biome))
+                        {
+                            if (outp.getBlockState(x, y + 1, z) == SALT_WATER)
+                            {
+                                outp.setBlockState(x, y, z, BlockRockVariant.get(rock1, Rock.Type.SAND).getDefaultState());
+                                outp.setBlockState(x, y - 1, z, BlockRockVariant.get(rock1, Rock.Type.SAND).getDefaultState());
+                            }
+                        }
+                    }
+                    if (y <= 6 && stability.valueInt == 1 && outp.getBlockState(x, y, z) == AIR)
+                    {
+                        outp.setBlockState(x, y, z, LAVA);
+                        if (outp.getBlockState(x, y + 1, z) != LAVA && rand.nextBoolean())
+                        {
+                            outp.setBlockState(x, y + 1, z, LAVA);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import net.dries007.tfc.ConfigTFC;
+import net.dries007.tfc.TerraFirmaCraft;
+import net.dries007.tfc.world.classic.genlayers.GenLayerRegionCache;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Generates chunk terrain ({@link ProtoChunkTFC}) ahead of time on a pool of worker threads.
+ * Each world has its own pool, with one {@link ChunkGenContext} per thread (and with that its own noise, gen layers and int cache), so the output is identical to generating on the server thread.
+ * The contexts are made on the server thread when the pool starts, and dropped together with the pool when the world unloads, so nothing keeps the world loaded.
+ *
+ * Chunks have to be requested with {@link ChunkGenExecutor#submit(int, int)}, vanilla still asks for chunks one by one on the server thread.
+ * {@link ChunkGenTFC#generateChunk(int, int)} picks up the finished result if there is one, and only creates the {@link net.minecraft.world.chunk.Chunk} itself.
+ *
+ * The submitting and taking is not thread safe, it must only happen from the server thread.
+ */
+public final class ChunkGenExecutor
+{
+    private static final int MAX_PENDING_PER_THREAD = 64;
+    private static final Map<World, ChunkGenExecutor> EXECUTORS = new HashMap<>();
+
+    /**
+     * The amount of worker threads to use, from the config
+     */
+    public static int getThreads()
+    {
+        int configured = ConfigTFC.WORLD.chunkGenThreads;
+        return configured > 0 ? configured : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    private final Map<Long, PendingChunk> pending = new HashMap<>();
+    private final World world;
+    private final WorldGenSettings settings;
+    private final GenLayerRegionCache regionCache;
+    private ExecutorService executor;
+    private BlockingQueue<ChunkGenContext> contexts;
+    private int threads;
+
+    public ChunkGenExecutor(World world, WorldGenSettings settings, GenLayerRegionCache regionCache)
+    {
+        this.world = world;
+        this.settings = settings;
+        this.regionCache = regionCache;
+        EXECUTORS.put(world, this);
+    }
+
+    private ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            // The biome provider holds gen layers and a cache, so each context needs a fresh one. They're made here, on the server thread
+            threads = getThreads();
+            contexts = new ArrayBlockingQueue<>(threads);
+            for (int i = 0; i < threads; i++)
+            {
+                contexts.add(new ChunkGenContext(world, settings, world.getWorldType().getBiomeProvider(world), regionCache));
+            }
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "TFC Chunk Generator #" + count.incrementAndGet() + " (dim " + world.provider.getDimension() + ")");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Starts generating a chunk in the background. Does nothing if it's already queued, or if too many chunks are waiting to be picked up.
+     *
+     * @return true if the chunk is now pending
+     */
+    public boolean submit(int chunkX, int chunkZ)
+    {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (pending.containsKey(key)) return true;
+        if (pending.size() >= getMaxPending()) return false;
+        final ExecutorService executor = getExecutor();
+        final BlockingQueue<ChunkGenContext> contexts = this.contexts;
+        PendingChunk chunk = new PendingChunk();
+        chunk.future = executor.submit(() -> {
+            if (!chunk.started.compareAndSet(false, true))
+            {
+                return null;
+            }
+            // There's one context per thread, so this never has to wait
+            ChunkGenContext context = contexts.take();
+            try
+            {
+                return context.generate(chunkX, chunkZ);
+            }
+            finally
+            {
+                contexts.add(context);
+            }
+        });
+        pending.put(key, chunk);
+        return true;
+    }
+
+    /**
+     * Takes a chunk that was generated in the background
+     *
+     * If the chunk is still being generated, this waits for it to finish.
+     *
+     * @return the generated chunk, or null if it wasn't submitted (or hasn't started yet), in which case it's faster to generate it directly.
+     */
+    @Nullable
+    public ProtoChunkTFC take(int chunkX, int chunkZ)
+    {
+        PendingChunk chunk = pending.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (chunk == null || chunk.started.compareAndSet(false, true))
+        {
+            // Either not submitted, or claimed before a worker got to it, so the worker will skip it
+            return null;
+        }
+        try
+        {
+            return chunk.future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (ExecutionException e)
+        {
+            TerraFirmaCraft.getLog().warn("Chunk {}, {} failed to generate in the background, it will be generated again.", chunkX, chunkZ);
+            TerraFirmaCraft.getLog().catching(e);
+            return null;
+        }
+    }
+
+    public boolean isPending(int chunkX, int chunkZ)
+    {
+        return pending.containsKey(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    public int getPendingCount()
+    {
+        return pending.size();
+    }
+
+    public int getMaxPending()
+    {
+        return (executor != null ? threads : getThreads()) * MAX_PENDING_PER_THREAD;
+    }
+
+    /**
+     * Drops all chunks that haven't been taken yet.
+     */
+    public void clear()
+    {
+        pending.values().forEach(chunk -> chunk.started.set(true));
+        pending.clear();
+    }
+
+    /**
+     * Stops the worker threads and drops the contexts, when the world unloads
+     */
+    private void shutdown()
+    {
+        clear();
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+            contexts = null;
+        }
+    }
+
+    private static final class PendingChunk
+    {
+        private final AtomicBoolean started = new AtomicBoolean();
+        private Future<ProtoChunkTFC> future;
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            if (!event.getWorld().isRemote)
+            {
+                ChunkGenExecutor executor = EXECUTORS.remove(event.getWorld());
+                if (executor != null)
+                {
+                    executor.shutdown();
+                }
+            }
+        }
+    }
+}
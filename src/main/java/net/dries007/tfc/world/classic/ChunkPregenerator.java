@@ -0,0 +1,392 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import net.dries007.tfc.ConfigTFC;
+import net.dries007.tfc.TerraFirmaCraft;
+
+import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
+
+/**
+ * Generates and populates all chunks in a square around the world spawn, in a spiral going outwards.
+ * Work is done at the end of each server tick, for at most {@link ConfigTFC.WorldCFG#pregenTickBudget} ms.
+ * The progress is saved with the world, so it continues after a restart.
+ *
+ * While running, chunks that are coming up are handed to the {@link ChunkGenExecutor} so their terrain is generated in the background,
+ * and {@link WorldGenProfiler} is enabled so the time spent in each stage can be reported.
+ */
+@ParametersAreNonnullByDefault
+public final class ChunkPregenerator
+{
+    private static final Map<Integer, ChunkPregenerator> ACTIVE = new HashMap<>();
+    private static final long LOG_INTERVAL = 30_000_000_000L; // 30 seconds, in nanoseconds
+
+    @Nullable
+    public static ChunkPregenerator get(World world)
+    {
+        return ACTIVE.get(world.provider.getDimension());
+    }
+
+    /**
+     * Starts generating chunks, or resumes an unfinished run with the same radius
+     *
+     * @param radius the radius in chunks
+     */
+    public static ChunkPregenerator start(WorldServer world, int radius)
+    {
+        stop(world);
+        PregenWorldData data = PregenWorldData.get(world);
+        if (data.radius != radius || data.index >= getTotal(radius))
+        {
+            ChunkPos center = new ChunkPos(world.getSpawnPoint());
+            data.centerX = center.x;
+            data.centerZ = center.z;
+            data.radius = radius;
+            data.index = 0;
+        }
+        data.active = true;
+        data.markDirty();
+
+        ChunkPregenerator pregen = new ChunkPregenerator(world, data);
+        ACTIVE.put(world.provider.getDimension(), pregen);
+        WorldGenProfiler.reset();
+        WorldGenProfiler.setEnabled(true);
+        return pregen;
+    }
+
+    /**
+     * Stops generating chunks. The progress is kept, so the same radius can be resumed later.
+     *
+     * @return true if anything was running
+     */
+    public static boolean stop(World world)
+    {
+        ChunkPregenerator pregen = ACTIVE.remove(world.provider.getDimension());
+        if (pregen != null)
+        {
+            pregen.data.active = false;
+            pregen.data.markDirty();
+            pregen.finish();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the chunk offset from the center for a position along the spiral.
+     * Position 0 is the center, then every ring k (1, 2, ...) has 8k positions, going counter clockwise.
+     */
+    public static ChunkPos getSpiralOffset(long index)
+    {
+        if (index == 0) return new ChunkPos(0, 0);
+        final int ring = (int) ((Math.sqrt(index) + 1) / 2);
+        final long side = 2L * ring;
+        final long positionInRing = index - (side - 1) * (side - 1);
+        final int pos = (int) (positionInRing % side);
+        switch ((int) (positionInRing / side))
+        {
+            case 0:
+                return new ChunkPos(ring, -ring + 1 + pos);
+            case 1:
+                return new ChunkPos(ring - 1 - pos, ring);
+            case 2:
+                return new ChunkPos(-ring, ring - 1 - pos);
+            default:
+                return new ChunkPos(-ring + 1 + pos, -ring);
+        }
+    }
+
+    /**
+     * Chunks are only populated once the chunks next to them exist, so one extra ring is generated around the radius
+     */
+    private static long getTotal(int radius)
+    {
+        final long side = 2L * (radius + 1) + 1;
+        return side * side;
+    }
+
+    private final WorldServer world;
+    private final PregenWorldData data;
+    private final long total;
+    private final Deque<ChunkPos> loadedChunks = new ArrayDeque<>();
+    private long submittedIndex;
+    private long chunksGenerated;
+    private long chunksVisited;
+    private long activeNanos;
+    private long lastLog;
+
+    private ChunkPregenerator(WorldServer world, PregenWorldData data)
+    {
+        this.world = world;
+        this.data = data;
+        this.total = getTotal(data.radius);
+        this.submittedIndex = data.index;
+        this.lastLog = System.nanoTime();
+    }
+
+    public int getRadius()
+    {
+        return data.radius;
+    }
+
+    public long getIndex()
+    {
+        return data.index;
+    }
+
+    public long getTotal()
+    {
+        return total;
+    }
+
+    public double getChunksPerSecond()
+    {
+        return activeNanos == 0 ? 0 : chunksGenerated * 1_000_000_000d / activeNanos;
+    }
+
+    /**
+     * @return a few lines describing the progress and performance so far
+     */
+    public List<String> getStatus()
+    {
+        final Runtime runtime = Runtime.getRuntime();
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("Pre-generating radius %d around chunk %d, %d: %d / %d (%.1f%%)", data.radius, data.centerX, data.centerZ, data.index, total, 100d * data.index / total));
+        lines.add(String.format("%d chunks generated, %d visited, %.2f chunks/s", chunksGenerated, chunksVisited, getChunksPerSecond()));
+        for (Map.Entry<String, WorldGenProfiler.Stage> entry : WorldGenProfiler.getStages().entrySet())
+        {
+            lines.add(String.format("> %s: %.3f ms (%d calls)", entry.getKey(), entry.getValue().getAverageMillis(), entry.getValue().getCount()));
+        }
+        lines.add(String.format("Heap: %d / %d MB", (runtime.totalMemory() - runtime.freeMemory()) >> 20, runtime.maxMemory() >> 20));
+        return lines;
+    }
+
+    private void tick()
+    {
+        final long start = System.nanoTime();
+        final long deadline = start + ConfigTFC.WORLD.pregenTickBudget * 1_000_000L;
+        final ChunkProviderServer provider = world.getChunkProvider();
+
+        submitAhead(provider);
+        while (data.index < total && System.nanoTime() < deadline)
+        {
+            final ChunkPos pos = getChunkPos(data.index);
+            if (!provider.isChunkGeneratedAt(pos.x, pos.z))
+            {
+                chunksGenerated++;
+            }
+            // This generates the chunk if needed, and populates it (and the chunks next to it) once possible
+            provider.provideChunk(pos.x, pos.z);
+            loadedChunks.add(pos);
+            chunksVisited++;
+            data.index++;
+        }
+        data.markDirty();
+        unloadBehind(provider);
+
+        final long now = System.nanoTime();
+        activeNanos += now - start;
+        if (data.index >= total)
+        {
+            TerraFirmaCraft.getLog().info("Finished pre-generating chunks in dimension {}", world.provider.getDimension());
+            getStatus().forEach(TerraFirmaCraft.getLog()::info);
+            stop(world);
+        }
+        else if (now - lastLog > LOG_INTERVAL)
+        {
+            lastLog = now;
+            getStatus().forEach(TerraFirmaCraft.getLog()::info);
+        }
+    }
+
+    /**
+     * Hands the next chunks that don't exist yet to the background generator, as far as it will take them
+     */
+    private void submitAhead(ChunkProviderServer provider)
+    {
+        if (!(provider.chunkGenerator instanceof ChunkGenTFC)) return;
+
+        final ChunkGenExecutor executor = ((ChunkGenTFC) provider.chunkGenerator).getExecutor();
+        submittedIndex = Math.max(submittedIndex, data.index);
+        while (submittedIndex < total)
+        {
+            final ChunkPos pos = getChunkPos(submittedIndex);
+            if (!provider.isChunkGeneratedAt(pos.x, pos.z) && !executor.submit(pos.x, pos.z))
+            {
+                break;
+            }
+            submittedIndex++;
+        }
+    }
+
+    /**
+     * Unloads chunks that are two rings behind, those won't be needed to populate anything anymore
+     */
+    private void unloadBehind(ChunkProviderServer provider)
+    {
+        final int currentRing = getRing(getChunkPos(data.index));
+        while (!loadedChunks.isEmpty() && getRing(loadedChunks.peekFirst()) < currentRing - 1)
+        {
+            final ChunkPos pos = loadedChunks.removeFirst();
+            final Chunk chunk = provider.getLoadedChunk(pos.x, pos.z);
+            if (chunk != null)
+            {
+                provider.queueUnload(chunk);
+            }
+        }
+    }
+
+    private void finish()
+    {
+        final ChunkProviderServer provider = world.getChunkProvider();
+        if (provider.chunkGenerator instanceof ChunkGenTFC)
+        {
+            ((ChunkGenTFC) provider.chunkGenerator).getExecutor().clear();
+        }
+        for (ChunkPos pos : loadedChunks)
+        {
+            final Chunk chunk = provider.getLoadedChunk(pos.x, pos.z);
+            if (chunk != null)
+            {
+                provider.queueUnload(chunk);
+            }
+        }
+        loadedChunks.clear();
+        if (ACTIVE.isEmpty())
+        {
+            WorldGenProfiler.setEnabled(false);
+        }
+    }
+
+    private ChunkPos getChunkPos(long index)
+    {
+        final ChunkPos offset = getSpiralOffset(index);
+        return new ChunkPos(data.centerX + offset.x, data.centerZ + offset.z);
+    }
+
+    private int getRing(ChunkPos pos)
+    {
+        return Math.max(Math.abs(pos.x - data.centerX), Math.abs(pos.z - data.centerZ));
+    }
+
+    @Mod.EventBusSubscriber(modid = MOD_ID)
+    public static final class EventHandler
+    {
+        @SubscribeEvent
+        public static void onServerTick(TickEvent.ServerTickEvent event)
+        {
+            if (event.phase == TickEvent.Phase.END && !ACTIVE.isEmpty())
+            {
+                // Copy, as finishing removes the entry
+                new ArrayList<>(ACTIVE.values()).forEach(ChunkPregenerator::tick);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldLoad(WorldEvent.Load event)
+        {
+            final World world = event.getWorld();
+            if (!world.isRemote && world instanceof WorldServer)
+            {
+                PregenWorldData data = PregenWorldData.get(world);
+                if (data.active)
+                {
+                    TerraFirmaCraft.getLog().info("Resuming chunk pre-generation in dimension {} at {} / {}", world.provider.getDimension(), data.index, getTotal(data.radius));
+                    start((WorldServer) world, data.radius);
+                }
+            }
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event)
+        {
+            final World world = event.getWorld();
+            ChunkPregenerator pregen = get(world);
+            if (!world.isRemote && pregen != null && pregen.world == world)
+            {
+                // Keep it marked as active, so it resumes when the world is loaded again
+                ACTIVE.remove(world.provider.getDimension());
+                pregen.finish();
+            }
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    public static class PregenWorldData extends WorldSavedData
+    {
+        private static final String NAME = MOD_ID + ":pregen";
+
+        @Nonnull
+        public static PregenWorldData get(World world)
+        {
+            MapStorage mapStorage = world.getPerWorldStorage();
+            PregenWorldData data = (PregenWorldData) mapStorage.getOrLoadData(PregenWorldData.class, NAME);
+            if (data == null)
+            {
+                data = new PregenWorldData();
+                mapStorage.setData(NAME, data);
+            }
+            return data;
+        }
+
+        private int centerX;
+        private int centerZ;
+        private int radius;
+        private long index;
+        private boolean active;
+
+        public PregenWorldData()
+        {
+            super(NAME);
+        }
+
+        @SuppressWarnings("unused")
+        public PregenWorldData(String name)
+        {
+            super(name);
+        }
+
+        @Override
+        public void readFromNBT(NBTTagCompound nbt)
+        {
+            centerX = nbt.getInteger("centerX");
+            centerZ = nbt.getInteger("centerZ");
+            radius = nbt.getInteger("radius");
+            index = nbt.getLong("index");
+            active = nbt.getBoolean("active");
+        }
+
+        @Override
+        @Nonnull
+        public NBTTagCompound writeToNBT(NBTTagCompound nbt)
+        {
+            nbt.setInteger("centerX", centerX);
+            nbt.setInteger("centerZ", centerZ);
+            nbt.setInteger("radius", radius);
+            nbt.setLong("index", index);
+            nbt.setBoolean("active", active);
+            return nbt;
+        }
+    }
+}
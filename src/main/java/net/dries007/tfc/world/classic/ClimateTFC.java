@@ -17,7 +17,8 @@ import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 public final class ClimateTFC
 {
     private static final float[] Y_FACTOR_CACHE = new float[441];
-    private static final Random RANDOM = new Random();
+    private static final int TEMP_CACHE_BITS = 10;
+    private static final HourlyTemp[] TEMP_CACHE = new HourlyTemp[1 << TEMP_CACHE_BITS];
 
     static
     {
@@ -162,6 +163,7 @@ public final class ClimateTFC
 
     /**
      * Get the exact temperature for a location, including day + hour variation
+     * This only changes every hour, so it's cached for a chunk (or rather, for its base temperature and z position), until the hour changes.
      *
      * @param baseTemp The base temperature, either from {@link ChunkDataTFC} or {@link ClimateRenderHelper}
      * @param z        the z-coordinate
@@ -169,20 +171,53 @@ public final class ClimateTFC
      */
     private static float getTemp(float baseTemp, int z)
     {
-        int h = (int) ((CalendarTFC.getTotalHours() - 6) % CalendarTFC.HOURS_IN_DAY);
-        if (h < 0) h += CalendarTFC.HOURS_IN_DAY;
+        final long hour = CalendarTFC.getTotalHours();
+        final int chunkZ = z >> 4;
+        final int baseTempBits = Float.floatToIntBits(baseTemp);
+        final int index = ((baseTempBits * 31 + chunkZ) * 0x9E3779B9) >>> (32 - TEMP_CACHE_BITS);
+
+        // Entries are never changed once made, so this is safe to use from any thread. At worst, an entry is made twice
+        HourlyTemp temps = TEMP_CACHE[index];
+        if (temps == null || temps.hour != hour || temps.chunkZ != chunkZ || temps.baseTempBits != baseTempBits)
+        {
+            temps = new HourlyTemp(baseTemp, chunkZ, hour);
+            TEMP_CACHE[index] = temps;
+        }
+        return temps.temps[z & 15];
+    }
 
-        float hourMod;
-        if (h < 12) hourMod = ((float) h / 11) * 0.3f;
-        else hourMod = 0.3f - ((((float) h - 12) / 11) * 0.3f);
+    private ClimateTFC() {}
 
-        // Note: this does not use world seed, as that is not synced from server - client, resulting in the seed being different
-        long day = CalendarTFC.getTotalDays();
-        RANDOM.setSeed(day);
-        final float dailyTemp = (RANDOM.nextInt(200) - 100) / 20f;
+    /**
+     * The temperatures for each z position of a chunk, during one hour
+     */
+    private static final class HourlyTemp
+    {
+        private final int baseTempBits, chunkZ;
+        private final long hour;
+        private final float[] temps = new float[16];
 
-        return getMonthAdjTemp(baseTemp, z) + dailyTemp + (hourMod * (baseTemp + dailyTemp));
-    }
+        private HourlyTemp(float baseTemp, int chunkZ, long hour)
+        {
+            this.baseTempBits = Float.floatToIntBits(baseTemp);
+            this.chunkZ = chunkZ;
+            this.hour = hour;
 
-    private ClimateTFC() {}
+            int h = (int) ((hour - 6) % CalendarTFC.HOURS_IN_DAY);
+            if (h < 0) h += CalendarTFC.HOURS_IN_DAY;
+
+            float hourMod;
+            if (h < 12) hourMod = ((float) h / 11) * 0.3f;
+            else hourMod = 0.3f - ((((float) h - 12) / 11) * 0.3f);
+
+            // Note: this does not use world seed, as that is not synced from server - client, resulting in the seed being different
+            final long day = hour / CalendarTFC.HOURS_IN_DAY;
+            final float dailyTemp = (new Random(day).nextInt(200) - 100) / 20f;
+
+            for (int i = 0; i < temps.length; i++)
+            {
+                temps[i] = getMonthAdjTemp(baseTemp, (chunkZ << 4) + i) + dailyTemp + (hourMod * (baseTemp + dailyTemp));
+            }
+        }
+    }
 }
@@ -5,39 +5,74 @@
 
 package net.dries007.tfc.world.classic;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.annotation.Nonnull;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.world.chunk.ChunkPrimer;
 
+/**
+ * A chunk primer that stores a palette index per block, and a palette of the (few) block states used in the chunk.
+ * Unlike the vanilla primer, it knows which blocks haven't been set at all, see {@link CustomChunkPrimer#isEmpty(int, int, int)}
+ *
+ * Primers are reused: get one with {@link CustomChunkPrimer#acquire()} and hand it back with {@link CustomChunkPrimer#release()} once the chunk is created.
+ */
 public class CustomChunkPrimer extends ChunkPrimer
 {
     private static final IBlockState DEFAULT_STATE = Blocks.AIR.getDefaultState();
-    private final IBlockState[] data = new IBlockState[65536];
+    private static final int MAX_POOLED = 32;
+    private static final BlockingQueue<CustomChunkPrimer> POOL = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    /**
+     * Gets an empty primer. This is thread safe.
+     */
+    @Nonnull
+    public static CustomChunkPrimer acquire()
+    {
+        CustomChunkPrimer primer = POOL.poll();
+        if (primer == null)
+        {
+            return new CustomChunkPrimer();
+        }
+        primer.clear();
+        return primer;
+    }
+
+    // Index 0 is reserved for blocks that haven't been set
+    private final char[] data = new char[65536];
+    private final Map<IBlockState, Integer> paletteIndex = new IdentityHashMap<>();
+    private IBlockState[] palette = new IBlockState[64];
+    private int paletteSize = 1;
+    private IBlockState lastState;
+    private char lastIndex;
 
     @Override
     @Nonnull
     public IBlockState getBlockState(int x, int y, int z)
     {
-        IBlockState iblockstate = data[x << 12 | z << 8 | y];
+        IBlockState iblockstate = palette[data[x << 12 | z << 8 | y]];
         return iblockstate == null ? DEFAULT_STATE : iblockstate;
     }
 
     @Override
     public void setBlockState(int x, int y, int z, @Nonnull IBlockState state)
     {
-        data[x << 12 | z << 8 | y] = state;
+        data[x << 12 | z << 8 | y] = getIndex(state);
     }
 
     @Override
     public int findGroundBlockIdx(int x, int z)
     {
-        int i = (x << 12 | z << 8) + 256 - 1;
+        int i = x << 12 | z << 8;
 
         for (int j = 255; j >= 0; --j)
         {
-            IBlockState iblockstate = data[i + j];
+            IBlockState iblockstate = palette[data[i + j]];
             if (iblockstate != null && iblockstate != DEFAULT_STATE)
             {
                 return j;
@@ -48,6 +83,63 @@ public class CustomChunkPrimer extends ChunkPrimer
 
     public boolean isEmpty(int x, int y, int z)
     {
-        return data[x << 12 | z << 8 | y] == null;
+        return data[x << 12 | z << 8 | y] == 0;
+    }
+
+    /**
+     * Marks the blocks in a column as not set
+     *
+     * @param minY the lowest y value, inclusive
+     * @param maxY the highest y value, exclusive
+     */
+    public void clear(int x, int z, int minY, int maxY)
+    {
+        final int i = x << 12 | z << 8;
+        Arrays.fill(data, i + minY, i + maxY, (char) 0);
+    }
+
+    /**
+     * Returns this primer to the pool. It must not be used afterwards.
+     */
+    public void release()
+    {
+        POOL.offer(this);
+    }
+
+    private char getIndex(IBlockState state)
+    {
+        // Blocks are mostly set in runs of the same state
+        if (state == lastState)
+        {
+            return lastIndex;
+        }
+        Integer index = paletteIndex.get(state);
+        if (index == null)
+        {
+            if (paletteSize > Character.MAX_VALUE)
+            {
+                throw new IllegalStateException("Too many different block states in one chunk.");
+            }
+            if (paletteSize == palette.length)
+            {
+                palette = Arrays.copyOf(palette, palette.length * 2);
+            }
+            index = paletteSize++;
+            palette[index] = state;
+            paletteIndex.put(state, index);
+        }
+        lastState = state;
+        lastIndex = (char) index.intValue();
+        return lastIndex;
+    }
+
+    private void clear()
+    {
+        Arrays.fill(data, (char) 0);
+        Arrays.fill(palette, 1, paletteSize, null);
+        paletteIndex.clear();
+        paletteSize = 1;
+        lastState = null;
+        lastIndex = 0;
     }
 }
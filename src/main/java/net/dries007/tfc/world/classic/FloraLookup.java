@@ -0,0 +1,247 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.dries007.tfc.api.registries.TFCRegistries;
+import net.dries007.tfc.api.types.Plant;
+import net.dries007.tfc.api.types.Tree;
+
+/**
+ * Finds the trees and plants that can generate in a climate, without going through the whole registry every time.
+ * The climate is split into cells, which remember the trees / plants that are valid anywhere in them.
+ * If those are valid in the whole cell the answer is precomputed, otherwise only the few candidates get checked.
+ * Either way the result is the same as checking every registry entry.
+ *
+ * Cells are filled the first time they are used (by then the registries are frozen). This is thread safe.
+ */
+public enum FloraLookup
+{
+    INSTANCE;
+
+    // Most dominant first. Same order as always used by tree world gen
+    private static final Comparator<Tree> DOMINANCE = (s, t) -> (int) (t.getDominance() - s.getDominance());
+
+    // Steps are powers of two, so cell bounds are exact
+    private static final float TEMP_STEP = 1f;
+    private static final int TEMP_OFFSET = -48, TEMP_CELLS = 96;
+    private static final float RAIN_STEP = 8f;
+    private static final int RAIN_OFFSET = 0, RAIN_CELLS = 64;
+    private static final float DENSITY_STEP = 1f / 16f;
+    private static final int DENSITY_OFFSET = 0, DENSITY_CELLS = 20;
+
+    private static int getCell(float value, float step, int offset, int cells)
+    {
+        // Also false for NaN
+        if (value >= offset * step && value < (offset + cells) * step)
+        {
+            return (int) Math.floor(value / step) - offset;
+        }
+        return -1;
+    }
+
+    private static float getMin(int cell, float step, int offset)
+    {
+        return (cell + offset) * step;
+    }
+
+    private static float getMax(int cell, float step, int offset)
+    {
+        return Math.nextDown((cell + offset + 1) * step);
+    }
+
+    @Nonnull
+    private static List<Tree> getTrees(Collection<Tree> trees, float temp, float rain, float density)
+    {
+        return Collections.unmodifiableList(trees.stream()
+            .filter(t -> t.isValidLocation(temp, rain, density))
+            .sorted(DOMINANCE)
+            .collect(Collectors.toList()));
+    }
+
+    @Nullable
+    private static Tree getDominantTree(Collection<Tree> trees, float temp, float rain, float density)
+    {
+        return trees.stream()
+            .filter(t -> t.isValidLocation(temp, rain, density))
+            .min(DOMINANCE)
+            .orElse(null);
+    }
+
+    @Nonnull
+    private static List<Plant> getPlants(Collection<Plant> plants, float temp, float rain)
+    {
+        List<Plant> valid = new ArrayList<>();
+        for (Plant plant : plants)
+        {
+            if (plant.isValidTempForWorldGen(temp) && plant.isValidRain(rain))
+            {
+                valid.add(plant);
+            }
+        }
+        return Collections.unmodifiableList(valid);
+    }
+
+    private final TreeCell[] treeCells = new TreeCell[TEMP_CELLS * RAIN_CELLS * DENSITY_CELLS];
+    private final PlantCell[] plantCells = new PlantCell[TEMP_CELLS * RAIN_CELLS];
+
+    /**
+     * Gets the trees that can generate in a climate
+     *
+     * @return an unmodifiable list, most dominant trees first
+     */
+    @Nonnull
+    public List<Tree> getValidTrees(float temp, float rain, float density)
+    {
+        TreeCell cell = getTreeCell(temp, rain, density);
+        if (cell == null)
+        {
+            return getTrees(TFCRegistries.TREES.getValuesCollection(), temp, rain, density);
+        }
+        return cell.valid != null ? cell.valid : getTrees(cell.candidates, temp, rain, density);
+    }
+
+    /**
+     * Gets the most dominant tree that can generate in a climate
+     */
+    @Nullable
+    public Tree getDominantTree(float temp, float rain, float density)
+    {
+        TreeCell cell = getTreeCell(temp, rain, density);
+        if (cell == null)
+        {
+            return getDominantTree(TFCRegistries.TREES.getValuesCollection(), temp, rain, density);
+        }
+        return cell.valid != null ? cell.dominant : getDominantTree(cell.candidates, temp, rain, density);
+    }
+
+    /**
+     * Gets the plants that can generate in a climate, see {@link Plant#isValidTempForWorldGen(float)} and {@link Plant#isValidRain(float)}
+     *
+     * @return an unmodifiable list, in registry order
+     */
+    @Nonnull
+    public List<Plant> getValidPlants(float temp, float rain)
+    {
+        final int tempCell = getCell(temp, TEMP_STEP, TEMP_OFFSET, TEMP_CELLS);
+        final int rainCell = getCell(rain, RAIN_STEP, RAIN_OFFSET, RAIN_CELLS);
+        if (tempCell == -1 || rainCell == -1)
+        {
+            return getPlants(TFCRegistries.PLANTS.getValuesCollection(), temp, rain);
+        }
+
+        final int index = tempCell * RAIN_CELLS + rainCell;
+        PlantCell cell = plantCells[index];
+        if (cell == null)
+        {
+            // Cells never change, so it doesn't matter if another thread creates the same one at the same time
+            cell = new PlantCell(tempCell, rainCell);
+            plantCells[index] = cell;
+        }
+        return cell.isExact ? cell.candidates : getPlants(cell.candidates, temp, rain);
+    }
+
+    @Nullable
+    private TreeCell getTreeCell(float temp, float rain, float density)
+    {
+        final int tempCell = getCell(temp, TEMP_STEP, TEMP_OFFSET, TEMP_CELLS);
+        final int rainCell = getCell(rain, RAIN_STEP, RAIN_OFFSET, RAIN_CELLS);
+        final int densityCell = getCell(density, DENSITY_STEP, DENSITY_OFFSET, DENSITY_CELLS);
+        if (tempCell == -1 || rainCell == -1 || densityCell == -1)
+        {
+            return null;
+        }
+
+        final int index = (tempCell * RAIN_CELLS + rainCell) * DENSITY_CELLS + densityCell;
+        TreeCell cell = treeCells[index];
+        if (cell == null)
+        {
+            cell = new TreeCell(tempCell, rainCell, densityCell);
+            treeCells[index] = cell;
+        }
+        return cell;
+    }
+
+    private static final class TreeCell
+    {
+        // Trees that are valid somewhere in this cell, in registry order
+        private final List<Tree> candidates;
+        // The answer for the whole cell, or null if some candidates are only valid in part of it
+        private final List<Tree> valid;
+        private final Tree dominant;
+
+        private TreeCell(int tempCell, int rainCell, int densityCell)
+        {
+            final float minTemp = getMin(tempCell, TEMP_STEP, TEMP_OFFSET), maxTemp = getMax(tempCell, TEMP_STEP, TEMP_OFFSET);
+            final float minRain = getMin(rainCell, RAIN_STEP, RAIN_OFFSET), maxRain = getMax(rainCell, RAIN_STEP, RAIN_OFFSET);
+            final float minDensity = getMin(densityCell, DENSITY_STEP, DENSITY_OFFSET), maxDensity = getMax(densityCell, DENSITY_STEP, DENSITY_OFFSET);
+
+            List<Tree> candidates = new ArrayList<>();
+            boolean isExact = true;
+            for (Tree tree : TFCRegistries.TREES.getValuesCollection())
+            {
+                if (tree.getMaxTemp() < minTemp || tree.getMinTemp() > maxTemp || tree.getMaxRain() < minRain || tree.getMinRain() > maxRain || tree.getMaxDensity() < minDensity || tree.getMinDensity() > maxDensity)
+                {
+                    continue;
+                }
+                candidates.add(tree);
+                // Valid ranges are boxes, so being valid at both corners means being valid in the whole cell
+                isExact &= tree.isValidLocation(minTemp, minRain, minDensity) && tree.isValidLocation(maxTemp, maxRain, maxDensity);
+            }
+
+            this.candidates = Collections.unmodifiableList(candidates);
+            if (isExact)
+            {
+                this.valid = Collections.unmodifiableList(candidates.stream().sorted(DOMINANCE).collect(Collectors.toList()));
+                this.dominant = candidates.stream().min(DOMINANCE).orElse(null);
+            }
+            else
+            {
+                this.valid = null;
+                this.dominant = null;
+            }
+        }
+    }
+
+    private static final class PlantCell
+    {
+        // Plants that are valid somewhere in this cell, in registry order
+        private final List<Plant> candidates;
+        // If all candidates are valid in the whole cell
+        private final boolean isExact;
+
+        private PlantCell(int tempCell, int rainCell)
+        {
+            final float minTemp = getMin(tempCell, TEMP_STEP, TEMP_OFFSET), maxTemp = getMax(tempCell, TEMP_STEP, TEMP_OFFSET);
+            final float minRain = getMin(rainCell, RAIN_STEP, RAIN_OFFSET), maxRain = getMax(rainCell, RAIN_STEP, RAIN_OFFSET);
+
+            List<Plant> candidates = new ArrayList<>();
+            boolean isExact = true;
+            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            {
+                final boolean validMin = plant.isValidTempForWorldGen(minTemp), validMax = plant.isValidTempForWorldGen(maxTemp);
+                // World gen temperature is valid close to the average, so if both ends are on the same side and invalid, so is everything in between
+                if ((!validMin && !validMax && (maxTemp < plant.getAvgTemp() || minTemp > plant.getAvgTemp())) || plant.getMaxRain() < minRain || plant.getMinRain() > maxRain)
+                {
+                    continue;
+                }
+                candidates.add(plant);
+                isExact &= validMin && validMax && plant.isValidRain(minRain) && plant.isValidRain(maxRain);
+            }
+
+            this.candidates = Collections.unmodifiableList(candidates);
+            this.isExact = isExact;
+        }
+    }
+}
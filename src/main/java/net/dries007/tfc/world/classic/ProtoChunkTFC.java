@@ -0,0 +1,87 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.Arrays;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import mcp.MethodsReturnNonnullByDefault;
+import net.dries007.tfc.world.classic.chunkdata.ChunkDataProvider;
+import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
+
+/**
+ * The result of {@link ChunkGenContext#generate(int, int)}: blocks, biomes and {@link ChunkDataTFC} of a chunk that hasn't been created yet.
+ * All arrays are copied, so this doesn't share anything with the context that made it and can be handed to another thread.
+ */
+@MethodsReturnNonnullByDefault
+@ParametersAreNonnullByDefault
+public final class ProtoChunkTFC
+{
+    public final int chunkX;
+    public final int chunkZ;
+
+    private CustomChunkPrimer primer;
+    private final byte[] biomeIds;
+    private final int[] heightMap;
+    private final int[] rockLayer1;
+    private final int[] rockLayer2;
+    private final int[] rockLayer3;
+    private final DataLayer[] stabilityLayer;
+    private final DataLayer[] drainageLayer;
+    private final int[] seaLevelOffset;
+    private final float rainfall;
+    private final float baseTemp;
+    private final float avgTemp;
+    private final float floraDensity;
+    private final float floraDiversity;
+
+    ProtoChunkTFC(int chunkX, int chunkZ, CustomChunkPrimer primer, byte[] biomeIds, int[] heightMap, int[] rockLayer1, int[] rockLayer2, int[] rockLayer3,
+                  DataLayer[] stabilityLayer, DataLayer[] drainageLayer, int[] seaLevelOffset, float rainfall, float baseTemp, float avgTemp, float floraDensity, float floraDiversity)
+    {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.primer = primer;
+        this.biomeIds = biomeIds;
+        this.heightMap = Arrays.copyOf(heightMap, 256);
+        this.rockLayer1 = Arrays.copyOf(rockLayer1, 256);
+        this.rockLayer2 = Arrays.copyOf(rockLayer2, 256);
+        this.rockLayer3 = Arrays.copyOf(rockLayer3, 256);
+        this.stabilityLayer = Arrays.copyOf(stabilityLayer, 256);
+        this.drainageLayer = Arrays.copyOf(drainageLayer, 256);
+        this.seaLevelOffset = Arrays.copyOf(seaLevelOffset, 256);
+        this.rainfall = rainfall;
+        this.baseTemp = baseTemp;
+        this.avgTemp = avgTemp;
+        this.floraDensity = floraDensity;
+        this.floraDiversity = floraDiversity;
+    }
+
+    /**
+     * Creates the actual chunk. This must be called on the server thread, as creating a chunk fires events.
+     * This can only be called once, the primer is reused afterwards.
+     */
+    public Chunk toChunk(World world)
+    {
+        if (primer == null) throw new IllegalStateException("Chunk was already created.");
+        Chunk chunk = new Chunk(world, primer, chunkX, chunkZ);
+        primer.release();
+        primer = null;
+
+        ChunkDataTFC chunkData = chunk.getCapability(ChunkDataProvider.CHUNK_DATA_CAPABILITY, null);
+        if (chunkData == null) throw new IllegalStateException("ChunkData capability is missing.");
+        chunkData.setGenerationData(rockLayer1, rockLayer2, rockLayer3, stabilityLayer, drainageLayer, seaLevelOffset,
+            rainfall, baseTemp, avgTemp, floraDensity, floraDiversity);
+
+        System.arraycopy(biomeIds, 0, chunk.getBiomeArray(), 0, 256);
+
+        chunk.setHeightMap(heightMap);
+        chunk.generateSkylightMap();
+        return chunk;
+    }
+}
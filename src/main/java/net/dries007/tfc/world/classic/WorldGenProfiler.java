@@ -0,0 +1,87 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the time spent in each stage of world generation (chunk generation, population, and each world generator)
+ * Only records anything while enabled, which is done by {@link ChunkPregenerator} so it can report on it.
+ *
+ * Stages are only timed on the server thread, so this isn't thread safe.
+ */
+public final class WorldGenProfiler
+{
+    public static final String GENERATE_CHUNK = "generateChunk";
+    public static final String POPULATE = "populate";
+
+    private static final Map<String, Stage> STAGES = new LinkedHashMap<>();
+    private static boolean enabled = false;
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled)
+    {
+        WorldGenProfiler.enabled = enabled;
+    }
+
+    public static void reset()
+    {
+        STAGES.clear();
+    }
+
+    /**
+     * Start timing a stage
+     *
+     * @return the start time, to be passed to {@link WorldGenProfiler#stop(String, long)}
+     */
+    public static long start()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void stop(String stage, long start)
+    {
+        if (enabled && start != 0)
+        {
+            STAGES.computeIfAbsent(stage, k -> new Stage()).add(System.nanoTime() - start);
+        }
+    }
+
+    public static Map<String, Stage> getStages()
+    {
+        return Collections.unmodifiableMap(STAGES);
+    }
+
+    private WorldGenProfiler() {}
+
+    public static final class Stage
+    {
+        private long count;
+        private long totalNanos;
+
+        public long getCount()
+        {
+            return count;
+        }
+
+        public double getAverageMillis()
+        {
+            return count == 0 ? 0 : totalNanos / (count * 1_000_000d);
+        }
+
+        private void add(long nanos)
+        {
+            count++;
+            totalNanos += nanos;
+        }
+    }
+}
@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.world.classic.biomes;
 
+import java.util.List;
 import java.util.Random;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -20,6 +21,7 @@ import net.minecraftforge.event.terraingen.TerrainGen;
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Plant;
 import net.dries007.tfc.world.classic.ClimateTFC;
+import net.dries007.tfc.world.classic.FloraLookup;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 import net.dries007.tfc.world.classic.worldgen.WorldGenPlantTFC;
 import net.dries007.tfc.world.classic.worldgen.WorldGenSandTFC;
@@ -149,6 +151,7 @@ public class BiomeDecoratorTFC extends BiomeDecorator
         final float rainfall = ChunkDataTFC.getRainfall(world, chunkPos);
         final float floraDensity = data.getFloraDensity(); // Use for various plant based decoration (tall grass, those vanilla jungle shrub things, etc.)
         final float floraDiversity = data.getFloraDiversity();
+        final List<Plant> plants = FloraLookup.INSTANCE.getValidPlants(avgTemperature, rainfall);
 
         this.chunkPos = chunkPos;
         // todo: settings for all the rarities?
@@ -165,18 +168,15 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.SHROOM))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                if (plant.getPlantType() == Plant.PlantType.MUSHROOM)
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    if (plant.getPlantType() == Plant.PlantType.MUSHROOM)
+                    for (float i = rng.nextInt(Math.round(mushroomCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                     {
-                        for (float i = rng.nextInt(Math.round(mushroomCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                        {
-                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                            plantGen.generate(world, rng, blockPos);
-                        }
+                        BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                        plantGen.generate(world, rng, blockPos);
                     }
                 }
             }
@@ -184,18 +184,15 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.CACTUS))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                if (plant.getPlantType() == Plant.PlantType.CACTUS)
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    if (plant.getPlantType() == Plant.PlantType.CACTUS)
+                    for (int i = rng.nextInt(Math.round((cactusCount + 32) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
                     {
-                        for (int i = rng.nextInt(Math.round((cactusCount + 32) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
-                        {
-                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                            plantGen.generate(world, rng, blockPos);
-                        }
+                        BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                        plantGen.generate(world, rng, blockPos);
                     }
                 }
             }
@@ -203,29 +200,26 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.LILYPAD))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                switch (plant.getPlantType())
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    switch (plant.getPlantType())
+                    case FLOATING:
                     {
-                        case FLOATING:
+                        for (int i = rng.nextInt(Math.round(floatingCount / floraDiversity)); i < floraDensity * lilyPadPerChunk; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(floatingCount / floraDiversity)); i < floraDensity * lilyPadPerChunk; i++)
-                            {
-                                BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case FLOATING_SEA:
+                        break;
+                    }
+                    case FLOATING_SEA:
+                    {
+                        for (int i = rng.nextInt(Math.round((floatingSeaCount + 64) / floraDiversity)); i < floraDensity * lilyPadPerChunk; i++)
                         {
-                            for (int i = rng.nextInt(Math.round((floatingSeaCount + 64) / floraDiversity)); i < floraDensity * lilyPadPerChunk; i++)
-                            {
-                                BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
+                            BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
                     }
                 }
@@ -234,31 +228,28 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.REED))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                switch (plant.getPlantType())
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    switch (plant.getPlantType())
+                    case REED:
+                    case TALL_REED:
                     {
-                        case REED:
-                        case TALL_REED:
+                        for (int i = rng.nextInt(Math.round(reedCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(reedCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case REED_SEA:
-                        case TALL_REED_SEA:
+                        break;
+                    }
+                    case REED_SEA:
+                    case TALL_REED_SEA:
+                    {
+                        for (int i = rng.nextInt(Math.round(reedSeaCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(reedSeaCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
                     }
                 }
@@ -267,78 +258,75 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.FLOWERS))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                switch (plant.getPlantType())
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    switch (plant.getPlantType())
+                    case WATER:
+                    case TALL_WATER:
+                    case EMERGENT_TALL_WATER:
                     {
-                        case WATER:
-                        case TALL_WATER:
-                        case EMERGENT_TALL_WATER:
+                        for (int i = rng.nextInt(Math.round(waterCount / floraDiversity)); i < floraDensity * waterPlantsPerChunk; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(waterCount / floraDiversity)); i < floraDensity * waterPlantsPerChunk; i++)
-                            {
-                                BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case WATER_SEA:
-                        case TALL_WATER_SEA:
-                        case EMERGENT_TALL_WATER_SEA:
+                        break;
+                    }
+                    case WATER_SEA:
+                    case TALL_WATER_SEA:
+                    case EMERGENT_TALL_WATER_SEA:
+                    {
+                        for (int i = rng.nextInt(Math.round(waterSeaCount / floraDiversity)); i < floraDensity * waterPlantsPerChunk; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(waterSeaCount / floraDiversity)); i < floraDensity * waterPlantsPerChunk; i++)
-                            {
-                                BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getPrecipitationHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case EPIPHYTE:
+                        break;
+                    }
+                    case EPIPHYTE:
+                    {
+                        for (float i = rng.nextInt(Math.round(epiphyteCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (float i = rng.nextInt(Math.round(epiphyteCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case CREEPING:
+                        break;
+                    }
+                    case CREEPING:
+                    {
+                        for (float i = rng.nextInt(Math.round((creepingCount + 32) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (float i = rng.nextInt(Math.round((creepingCount + 32) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case HANGING:
+                        break;
+                    }
+                    case HANGING:
+                    {
+                        for (float i = rng.nextInt(Math.round(hangingCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (float i = rng.nextInt(Math.round(hangingCount / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case TALL_PLANT:
+                        break;
+                    }
+                    case TALL_PLANT:
+                    {
+                        for (float i = rng.nextInt(Math.round((tallCount + 8) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
                         {
-                            for (float i = rng.nextInt(Math.round((tallCount + 8) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case STANDARD:
+                        break;
+                    }
+                    case STANDARD:
+                    {
+                        for (float i = rng.nextInt(Math.round((standardCount + 32) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
                         {
-                            for (float i = rng.nextInt(Math.round((standardCount + 32) / floraDiversity)); i < (1 + floraDensity) * 3; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
                     }
                 }
@@ -347,31 +335,28 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.DEAD_BUSH))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                switch (plant.getPlantType())
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    switch (plant.getPlantType())
+                    case DESERT:
+                    case DESERT_TALL_PLANT:
                     {
-                        case DESERT:
-                        case DESERT_TALL_PLANT:
+                        for (float i = rng.nextInt(Math.round((desertCount + 16) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (float i = rng.nextInt(Math.round((desertCount + 16) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case DRY:
-                        case DRY_TALL_PLANT:
+                        break;
+                    }
+                    case DRY:
+                    case DRY_TALL_PLANT:
+                    {
+                        for (float i = rng.nextInt(Math.round((dryCount + 16) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (float i = rng.nextInt(Math.round((dryCount + 16) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
                     }
                 }
@@ -380,29 +365,26 @@ public class BiomeDecoratorTFC extends BiomeDecorator
 
         if (TerrainGen.decorate(world, rng, forgeChunkPos, DecorateBiomeEvent.Decorate.EventType.GRASS))
         {
-            for (Plant plant : TFCRegistries.PLANTS.getValuesCollection())
+            for (Plant plant : plants)
             {
-                if (plant.isValidTempForWorldGen(avgTemperature) && plant.isValidRain(rainfall))
+                plantGen.setGeneratedPlant(plant);
+                switch (plant.getPlantType())
                 {
-                    plantGen.setGeneratedPlant(plant);
-                    switch (plant.getPlantType())
+                    case SHORT_GRASS:
                     {
-                        case SHORT_GRASS:
+                        for (int i = rng.nextInt(Math.round(grassCount / floraDiversity)); i < (3 + floraDensity) * 5; i++)
                         {
-                            for (int i = rng.nextInt(Math.round(grassCount / floraDiversity)); i < (3 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
-                            break;
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
-                        case TALL_GRASS:
+                        break;
+                    }
+                    case TALL_GRASS:
+                    {
+                        for (int i = rng.nextInt(Math.round((tallGrassCount + 8) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
                         {
-                            for (int i = rng.nextInt(Math.round((tallGrassCount + 8) / floraDiversity)); i < (1 + floraDensity) * 5; i++)
-                            {
-                                BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
-                                plantGen.generate(world, rng, blockPos);
-                            }
+                            BlockPos blockPos = world.getHeight(chunkPos.add(rng.nextInt(16) + 8, 0, rng.nextInt(16) + 8));
+                            plantGen.generate(world, rng, blockPos);
                         }
                     }
                 }
@@ -5,17 +5,25 @@
 
 package net.dries007.tfc.world.classic.chunkdata;
 
-import net.minecraft.nbt.NBTTagCompound;
+import java.util.*;
+
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.world.ChunkWatchEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.network.PacketChunkData;
+import net.dries007.tfc.network.PacketChunkDataRequest;
 
 import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
 
@@ -23,6 +31,7 @@ import static net.dries007.tfc.api.util.TFCConstants.MOD_ID;
 public final class CapabilityChunkData
 {
     public static final ResourceLocation CHUNK_DATA = new ResourceLocation(MOD_ID, "chunkdata");
+    private static final Map<UUID, SentChunkData> SENT = new HashMap<>();
 
     public static void preInit()
     {
@@ -42,12 +51,76 @@ public final class CapabilityChunkData
         Chunk chunk = event.getChunkInstance();
         if (chunk != null)
         {
-            ChunkDataTFC data = chunk.getCapability(ChunkDataProvider.CHUNK_DATA_CAPABILITY, null);
-            if (data != null && data.isInitialized())
+            send(event.getPlayer(), chunk);
+        }
+    }
+
+    /**
+     * Called when a client lost track of its chunk data, see {@link PacketChunkDataRequest}
+     * The client already forgot everything it had, so everything it gets from now on is sent in full.
+     */
+    public static void resend(EntityPlayerMP player, int chunkX, int chunkZ)
+    {
+        SentChunkData sent = SENT.get(player.getUniqueID());
+        if (sent != null)
+        {
+            sent.hashes.clear();
+        }
+        WorldServer world = player.getServerWorld();
+        if (world.getPlayerChunkMap().isPlayerWatchingChunk(player, chunkX, chunkZ))
+        {
+            send(player, world.getChunk(chunkX, chunkZ));
+        }
+    }
+
+    private static void send(EntityPlayerMP player, Chunk chunk)
+    {
+        ChunkDataTFC data = chunk.getCapability(ChunkDataProvider.CHUNK_DATA_CAPABILITY, null);
+        if (data != null && data.isInitialized())
+        {
+            ByteBuf buffer = Unpooled.buffer();
+            data.write(buffer);
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            int hash = Arrays.hashCode(bytes);
+
+            // Keep track of what the client has, so chunks it still has don't need to be sent again
+            SentChunkData sent = SENT.computeIfAbsent(player.getUniqueID(), key -> new SentChunkData());
+            int dimension = chunk.getWorld().provider.getDimension();
+            boolean reset = sent.dimension != dimension;
+            if (reset)
+            {
+                sent.dimension = dimension;
+                sent.hashes.clear();
+            }
+
+            long key = ChunkPos.asLong(chunk.x, chunk.z);
+            Integer sentHash = sent.hashes.get(key);
+            if (sentHash != null && sentHash == hash)
             {
-                NBTTagCompound nbt = (NBTTagCompound) ChunkDataProvider.CHUNK_DATA_CAPABILITY.writeNBT(data, null);
-                TerraFirmaCraft.getNetwork().sendTo(new PacketChunkData(chunk.getPos(), nbt, data.getBaseTemp(), data.getRainfall()), event.getPlayer());
+                TerraFirmaCraft.getNetwork().sendTo(new PacketChunkData(chunk.getPos(), false, hash, null), player);
+            }
+            else
+            {
+                sent.hashes.put(key, hash);
+                TerraFirmaCraft.getNetwork().sendTo(new PacketChunkData(chunk.getPos(), reset, hash, bytes), player);
             }
         }
     }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        // The first chunk sent when they log in again tells the client to forget what it has
+        SENT.remove(event.player.getUniqueID());
+    }
+
+    /**
+     * The chunk data a client has, see {@link PacketChunkData}
+     */
+    private static final class SentChunkData
+    {
+        private final Map<Long, Integer> hashes = PacketChunkData.newCache();
+        private int dimension = Integer.MIN_VALUE;
+    }
 }
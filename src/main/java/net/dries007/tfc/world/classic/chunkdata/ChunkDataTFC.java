@@ -20,13 +20,16 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.registries.ForgeRegistry;
 
+import io.netty.buffer.ByteBuf;
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Rock;
 import net.dries007.tfc.api.types.Tree;
 import net.dries007.tfc.util.NBTBuilder;
 import net.dries007.tfc.world.classic.DataLayer;
+import net.dries007.tfc.world.classic.FloraLookup;
 
 import static net.dries007.tfc.world.classic.WorldTypeTFC.ROCKLAYER2;
 import static net.dries007.tfc.world.classic.WorldTypeTFC.ROCKLAYER3;
@@ -40,9 +43,9 @@ public final class ChunkDataTFC
 
     static
     {
-        Arrays.fill(EMPTY.drainageLayer, DataLayer.ERROR);
-        Arrays.fill(EMPTY.stabilityLayer, DataLayer.ERROR);
-        Arrays.fill(EMPTY.seaLevelOffset, -1);
+        EMPTY.drainageLayer = PalettedArray.filled(DataLayer.ERROR, 256);
+        EMPTY.stabilityLayer = PalettedArray.filled(DataLayer.ERROR, 256);
+        Arrays.fill(EMPTY.seaLevelOffset, (byte) -1);
     }
 
     @Nonnull
@@ -76,12 +79,11 @@ public final class ChunkDataTFC
 
     public static Rock getRockHeight(World world, BlockPos pos) { return get(world, pos).getRockLayerHeight(pos.getX() & 15, pos.getY(), pos.getZ() & 15); }
 
-    private final int[] rockLayer1 = new int[256];
-    private final int[] rockLayer2 = new int[256];
-    private final int[] rockLayer3 = new int[256];
-    private final DataLayer[] drainageLayer = new DataLayer[256]; // To be removed / replaced?
-    private final DataLayer[] stabilityLayer = new DataLayer[256]; // To be removed / replaced?
-    private final int[] seaLevelOffset = new int[256];
+    // These only have a few different values per chunk, so they are stored as palettes. Rocks are null until initialized
+    private PalettedArray<Rock> rockLayers; // All three layers, layer 1 first
+    private PalettedArray<DataLayer> drainageLayer = PalettedArray.filled(null, 256); // To be removed / replaced?
+    private PalettedArray<DataLayer> stabilityLayer = PalettedArray.filled(null, 256); // To be removed / replaced?
+    private final byte[] seaLevelOffset = new byte[256]; // Generation keeps this between 0 and 127, it only goes a little below 0
     private boolean initialized = false;
     private int fishPopulation = FISH_POP_MAX; // todo: Set this based on biome? temp? rng?
 
@@ -99,12 +101,10 @@ public final class ChunkDataTFC
                                   float rainfall, float baseTemp, float avgTemp, float floraDensity, float floraDiversity)
     {
         this.initialized = true;
-        System.arraycopy(rockLayer1, 0, this.rockLayer1, 0, 256);
-        System.arraycopy(rockLayer2, 0, this.rockLayer2, 0, 256);
-        System.arraycopy(rockLayer3, 0, this.rockLayer3, 0, 256);
-        System.arraycopy(stabilityLayer, 0, this.stabilityLayer, 0, 256);
-        System.arraycopy(drainageLayer, 0, this.drainageLayer, 0, 256);
-        System.arraycopy(seaLevelOffset, 0, this.seaLevelOffset, 0, 256);
+        this.rockLayers = getRockLayers(rockLayer1, rockLayer2, rockLayer3);
+        this.stabilityLayer = PalettedArray.of(stabilityLayer);
+        this.drainageLayer = PalettedArray.of(drainageLayer);
+        setSeaLevelOffset(seaLevelOffset);
 
         this.rainfall = rainfall;
         this.baseTemp = baseTemp;
@@ -154,35 +154,30 @@ public final class ChunkDataTFC
 
     public float getFloraDiversity() { return floraDiversity; }
 
+    /**
+     * @return an unmodifiable list of the trees that can generate here, most dominant first
+     */
     public List<Tree> getValidTrees()
     {
-        //todo: replace with efficient code (preferably cached?)
-        return TFCRegistries.TREES.getValuesCollection().stream()
-            .filter(t -> t.isValidLocation(avgTemp, rainfall, floraDensity))
-            .sorted((s, t) -> (int) (t.getDominance() - s.getDominance()))
-            .collect(Collectors.toList());
+        return FloraLookup.INSTANCE.getValidTrees(avgTemp, rainfall, floraDensity);
     }
 
     @Nullable
     public Tree getSparseGenTree()
     {
-        //todo: replace with efficient, (preferably cached?)
-        return TFCRegistries.TREES.getValuesCollection().stream()
-            .filter(t -> t.isValidLocation(0.5f * avgTemp + 10f, 0.5f * rainfall + 120f, 0.5f))
-            .min((s, t) -> (int) (t.getDominance() - s.getDominance()))
-            .orElse(null);
+        return FloraLookup.INSTANCE.getDominantTree(0.5f * avgTemp + 10f, 0.5f * rainfall + 120f, 0.5f);
     }
 
     // Directly accessing the DataLayer is discouraged (except for getting the name). It's easy to use the wrong value.
-    public Rock getRockLayer1(int x, int z) { return ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer1[z << 4 | x]); }
+    public Rock getRockLayer1(int x, int z) { return getRock(z << 4 | x); }
 
-    public Rock getRockLayer2(int x, int z) { return ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer2[z << 4 | x]); }
+    public Rock getRockLayer2(int x, int z) { return getRock(256 | z << 4 | x); }
 
-    public Rock getRockLayer3(int x, int z) { return ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(rockLayer3[z << 4 | x]); }
+    public Rock getRockLayer3(int x, int z) { return getRock(512 | z << 4 | x); }
 
-    public DataLayer getStabilityLayer(int x, int z) { return stabilityLayer[z << 4 | x]; }
+    public DataLayer getStabilityLayer(int x, int z) { return stabilityLayer.get(z << 4 | x); }
 
-    public DataLayer getDrainageLayer(int x, int z) { return drainageLayer[z << 4 | x]; }
+    public DataLayer getDrainageLayer(int x, int z) { return drainageLayer.get(z << 4 | x); }
 
     public Rock getRockLayerHeight(int x, int y, int z)
     {
@@ -192,6 +187,240 @@ public final class ChunkDataTFC
         return getRockLayer1(x, z);
     }
 
+    /**
+     * Writes this to send to clients, see {@link net.dries007.tfc.network.PacketChunkData}
+     * The rock layers use a palette of the rocks in this chunk, which usually only has a few so each rock only needs one or two bits.
+     * The other layers are mostly the same value, so they are run length encoded.
+     *
+     * @param buf the buffer to write to
+     */
+    public void write(ByteBuf buf)
+    {
+        ByteBufUtils.writeVarInt(buf, rockLayers.getPaletteSize(), 5);
+        for (int i = 0; i < rockLayers.getPaletteSize(); i++)
+        {
+            ByteBufUtils.writeVarInt(buf, getRockId(rockLayers.getPaletteValue(i)), 5);
+        }
+        final int[] indexes = new int[rockLayers.size()];
+        for (int i = 0; i < indexes.length; i++)
+        {
+            indexes[i] = rockLayers.getIndex(i);
+        }
+        writeBits(buf, indexes, PalettedArray.getBits(rockLayers.getPaletteSize()));
+
+        writeRuns(buf, getSeaLevelOffsets());
+        writeRuns(buf, getLayerIds(stabilityLayer));
+        writeRuns(buf, getLayerIds(drainageLayer));
+
+        ByteBufUtils.writeVarInt(buf, fishPopulation, 5);
+        buf.writeFloat(rainfall);
+        buf.writeFloat(baseTemp);
+        buf.writeFloat(avgTemp);
+        buf.writeFloat(floraDensity);
+        buf.writeFloat(floraDiversity);
+    }
+
+    /**
+     * Reads what was written by {@link ChunkDataTFC#write(ByteBuf)}
+     *
+     * @param buf the buffer to read from
+     */
+    public void read(ByteBuf buf)
+    {
+        final Rock[] palette = new Rock[ByteBufUtils.readVarInt(buf, 5)];
+        for (int i = 0; i < palette.length; i++)
+        {
+            palette[i] = ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(ByteBufUtils.readVarInt(buf, 5));
+        }
+        rockLayers = new PalettedArray<>(palette, readBits(buf, 3 * 256, PalettedArray.getBits(palette.length)));
+
+        final int[] values = new int[256];
+        readRuns(buf, values);
+        setSeaLevelOffset(values);
+        readRuns(buf, values);
+        stabilityLayer = getLayers(values);
+        readRuns(buf, values);
+        drainageLayer = getLayers(values);
+
+        fishPopulation = ByteBufUtils.readVarInt(buf, 5);
+        rainfall = buf.readFloat();
+        baseTemp = buf.readFloat();
+        avgTemp = buf.readFloat();
+        floraDensity = buf.readFloat();
+        floraDiversity = buf.readFloat();
+
+        initialized = true;
+    }
+
+    private Rock getRock(int index)
+    {
+        if (rockLayers == null)
+        {
+            // Not generated (yet), this is what an empty id array used to give
+            return ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(0);
+        }
+        return rockLayers.get(index);
+    }
+
+    private static int getRockId(Rock rock)
+    {
+        return ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getID(rock);
+    }
+
+    /**
+     * Builds the rock palette from rock ids. Ids are only looked up once per different rock
+     */
+    private static PalettedArray<Rock> getRockLayers(int[]... layers)
+    {
+        int[] ids = new int[4];
+        Rock[] palette = new Rock[4];
+        int paletteSize = 0;
+        final int[] indexes = new int[layers.length * 256];
+        for (int layer = 0; layer < layers.length; layer++)
+        {
+            for (int i = 0; i < 256; i++)
+            {
+                final int id = layers[layer][i];
+                int index = 0;
+                while (index < paletteSize && ids[index] != id)
+                {
+                    index++;
+                }
+                if (index == paletteSize)
+                {
+                    if (paletteSize == ids.length)
+                    {
+                        ids = Arrays.copyOf(ids, paletteSize * 2);
+                        palette = Arrays.copyOf(palette, paletteSize * 2);
+                    }
+                    ids[paletteSize] = id;
+                    palette[paletteSize++] = ((ForgeRegistry<Rock>) TFCRegistries.ROCKS).getValue(id);
+                }
+                indexes[layer << 8 | i] = index;
+            }
+        }
+        return new PalettedArray<>(Arrays.copyOf(palette, paletteSize), indexes);
+    }
+
+    private int[] getRockIds(int layer)
+    {
+        final int[] ids = new int[256];
+        for (int i = 0; i < 256; i++)
+        {
+            ids[i] = getRockId(rockLayers.get(layer << 8 | i));
+        }
+        return ids;
+    }
+
+    private int[] getSeaLevelOffsets()
+    {
+        final int[] values = new int[256];
+        for (int i = 0; i < 256; i++)
+        {
+            values[i] = seaLevelOffset[i];
+        }
+        return values;
+    }
+
+    private void setSeaLevelOffset(int[] values)
+    {
+        for (int i = 0; i < 256; i++)
+        {
+            seaLevelOffset[i] = (byte) values[i];
+        }
+    }
+
+    private static int[] getLayerIds(PalettedArray<DataLayer> layers)
+    {
+        final int[] ids = new int[layers.size()];
+        for (int i = 0; i < ids.length; i++)
+        {
+            ids[i] = layers.get(i).layerID;
+        }
+        return ids;
+    }
+
+    private static PalettedArray<DataLayer> getLayers(int[] ids)
+    {
+        final DataLayer[] layers = new DataLayer[ids.length];
+        for (int i = 0; i < ids.length; i++)
+        {
+            layers[i] = DataLayer.get(ids[i]);
+        }
+        return PalettedArray.of(layers);
+    }
+
+    private static void writeBits(ByteBuf buf, int[] values, int bits)
+    {
+        long buffer = 0;
+        int bufferBits = 0;
+        for (int value : values)
+        {
+            buffer |= (long) value << bufferBits;
+            bufferBits += bits;
+            while (bufferBits >= 8)
+            {
+                buf.writeByte((int) buffer);
+                buffer >>>= 8;
+                bufferBits -= 8;
+            }
+        }
+        if (bufferBits > 0)
+        {
+            buf.writeByte((int) buffer);
+        }
+    }
+
+    private static int[] readBits(ByteBuf buf, int count, int bits)
+    {
+        final int[] values = new int[count];
+        final int mask = (1 << bits) - 1;
+        long buffer = 0;
+        int bufferBits = 0;
+        for (int i = 0; i < count; i++)
+        {
+            while (bufferBits < bits)
+            {
+                buffer |= (long) buf.readUnsignedByte() << bufferBits;
+                bufferBits += 8;
+            }
+            values[i] = (int) buffer & mask;
+            buffer >>>= bits;
+            bufferBits -= bits;
+        }
+        return values;
+    }
+
+    // Each run is the length, then the value (zigzag encoded, so small negative values stay small)
+    private static void writeRuns(ByteBuf buf, int[] values)
+    {
+        int start = 0;
+        while (start < values.length)
+        {
+            final int value = values[start];
+            int end = start + 1;
+            while (end < values.length && values[end] == value)
+            {
+                end++;
+            }
+            ByteBufUtils.writeVarInt(buf, end - start, 5);
+            ByteBufUtils.writeVarInt(buf, (value << 1) ^ (value >> 31), 5);
+            start = end;
+        }
+    }
+
+    private static void readRuns(ByteBuf buf, int[] values)
+    {
+        int start = 0;
+        while (start < values.length)
+        {
+            final int end = start + ByteBufUtils.readVarInt(buf, 5);
+            final int encoded = ByteBufUtils.readVarInt(buf, 5);
+            Arrays.fill(values, start, end, (encoded >>> 1) ^ -(encoded & 1));
+            start = end;
+        }
+    }
+
     public static final class ChunkDataStorage implements Capability.IStorage<ChunkDataTFC>
     {
         public static NBTTagByteArray write(DataLayer[] layers)
@@ -207,6 +436,23 @@ public final class ChunkDataTFC
             }
         }
 
+        private static NBTTagByteArray write(PalettedArray<DataLayer> layers)
+        {
+            final byte[] bytes = new byte[layers.size()];
+            for (int i = 0; i < bytes.length; i++)
+            {
+                bytes[i] = (byte) layers.get(i).layerID;
+            }
+            return new NBTTagByteArray(bytes);
+        }
+
+        private static PalettedArray<DataLayer> read(byte[] bytes)
+        {
+            final DataLayer[] layers = new DataLayer[256];
+            read(layers, bytes);
+            return PalettedArray.of(layers);
+        }
+
         @Nullable
         @Override
         public NBTBase writeNBT(Capability<ChunkDataTFC> capability, ChunkDataTFC instance, EnumFacing side)
@@ -218,10 +464,10 @@ public final class ChunkDataTFC
             NBTTagCompound root = new NBTTagCompound();
             root.setBoolean("valid", true);
 
-            root.setTag("rockLayer1", new NBTTagIntArray(instance.rockLayer1));
-            root.setTag("rockLayer2", new NBTTagIntArray(instance.rockLayer2));
-            root.setTag("rockLayer3", new NBTTagIntArray(instance.rockLayer3));
-            root.setTag("seaLevelOffset", new NBTTagIntArray(instance.seaLevelOffset));
+            root.setTag("rockLayer1", new NBTTagIntArray(instance.getRockIds(0)));
+            root.setTag("rockLayer2", new NBTTagIntArray(instance.getRockIds(1)));
+            root.setTag("rockLayer3", new NBTTagIntArray(instance.getRockIds(2)));
+            root.setTag("seaLevelOffset", new NBTTagIntArray(instance.getSeaLevelOffsets()));
 
             root.setTag("stabilityLayer", write(instance.stabilityLayer));
             root.setTag("drainageLayer", write(instance.drainageLayer));
@@ -243,13 +489,11 @@ public final class ChunkDataTFC
             NBTTagCompound root = (NBTTagCompound) nbt;
             if (nbt != null && root.getBoolean("valid"))
             {
-                System.arraycopy(root.getIntArray("rockLayer1"), 0, instance.rockLayer1, 0, 256);
-                System.arraycopy(root.getIntArray("rockLayer2"), 0, instance.rockLayer2, 0, 256);
-                System.arraycopy(root.getIntArray("rockLayer3"), 0, instance.rockLayer3, 0, 256);
-                System.arraycopy(root.getIntArray("seaLevelOffset"), 0, instance.seaLevelOffset, 0, 256);
+                instance.rockLayers = getRockLayers(root.getIntArray("rockLayer1"), root.getIntArray("rockLayer2"), root.getIntArray("rockLayer3"));
+                instance.setSeaLevelOffset(root.getIntArray("seaLevelOffset"));
 
-                read(instance.stabilityLayer, root.getByteArray("stabilityLayer"));
-                read(instance.drainageLayer, root.getByteArray("drainageLayer"));
+                instance.stabilityLayer = read(root.getByteArray("stabilityLayer"));
+                instance.drainageLayer = read(root.getByteArray("drainageLayer"));
 
                 instance.fishPopulation = root.getInteger("fishPopulation");
 
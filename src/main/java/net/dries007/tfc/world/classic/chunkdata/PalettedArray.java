@@ -0,0 +1,114 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.chunkdata;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size array that only has a few different values, i.e. the rock layers of a chunk.
+ * It is stored as a palette of the different values, and an index into the palette for each value, packed into as few bits as the palette needs.
+ * This can't be changed once created, as chunk data doesn't change after the chunk is generated.
+ *
+ * @param <T> the value type. Values are compared by identity
+ */
+final class PalettedArray<T>
+{
+    /**
+     * @return the number of bits needed for an index into a palette of this size
+     */
+    static int getBits(int paletteSize)
+    {
+        return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    static <T> PalettedArray<T> of(T[] values)
+    {
+        Object[] palette = new Object[4];
+        int paletteSize = 0;
+        final int[] indexes = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            int index = 0;
+            while (index < paletteSize && palette[index] != values[i])
+            {
+                index++;
+            }
+            if (index == paletteSize)
+            {
+                if (paletteSize == palette.length)
+                {
+                    palette = Arrays.copyOf(palette, paletteSize * 2);
+                }
+                palette[paletteSize++] = values[i];
+            }
+            indexes[i] = index;
+        }
+        return new PalettedArray<>(Arrays.copyOf(palette, paletteSize), indexes);
+    }
+
+    static <T> PalettedArray<T> filled(T value, int size)
+    {
+        return new PalettedArray<>(new Object[] {value}, new int[size]);
+    }
+
+    private final Object[] palette;
+    private final long[] indexes;
+    private final int size;
+    private final int bits, mask, valuesPerLong;
+
+    /**
+     * @param palette the different values
+     * @param indexes the index into the palette, for each value
+     */
+    PalettedArray(Object[] palette, int[] indexes)
+    {
+        this.palette = palette;
+        this.size = indexes.length;
+        this.bits = getBits(palette.length);
+        this.mask = (1 << bits) - 1;
+        // Indexes don't go across two longs, so a value is always a single read
+        this.valuesPerLong = bits == 0 ? 0 : 64 / bits;
+        this.indexes = new long[bits == 0 ? 0 : (size + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < size; i++)
+        {
+            if (bits > 0)
+            {
+                this.indexes[i / valuesPerLong] |= (long) indexes[i] << (i % valuesPerLong) * bits;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int i)
+    {
+        return (T) palette[getIndex(i)];
+    }
+
+    int getIndex(int i)
+    {
+        if (bits == 0)
+        {
+            return 0;
+        }
+        return (int) (indexes[i / valuesPerLong] >>> (i % valuesPerLong) * bits) & mask;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    int getPaletteSize()
+    {
+        return palette.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    T getPaletteValue(int index)
+    {
+        return (T) palette[index];
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.genlayers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.dries007.tfc.ConfigTFC;
+
+/**
+ * Caches the output of gen layers per region, instead of evaluating the whole layer stack for every 16x16 chunk.
+ * Gen layer output only depends on the seed and the position, not the area that's asked for, so a region can be evaluated once and then sliced per chunk.
+ *
+ * Regions are shared between all threads generating the same world. Whichever thread asks first evaluates the region with its own gen layers.
+ * Regions are stored as short arrays where possible, and the least recently used ones are dropped when over {@link ConfigTFC.WorldCFG#regionCacheMemory}.
+ */
+public final class GenLayerRegionCache
+{
+    /**
+     * Extra border around each region, so areas that stick out a bit (for example biomes with a border for blending) still fit in a single region
+     */
+    private static final int PADDING = 8;
+
+    private final Map<Long, Region> regions = new LinkedHashMap<>(64, 0.75f, true);
+    private final int regionSize;
+    private final long maxBytes;
+    private long bytes;
+
+    public GenLayerRegionCache()
+    {
+        // Keep it a multiple of 16 so scaled layers divide evenly
+        this.regionSize = ConfigTFC.WORLD.regionCacheSize & ~15;
+        this.maxBytes = ConfigTFC.WORLD.regionCacheMemory * 1024L * 1024L;
+    }
+
+    /**
+     * Gets the layer output for an area, from the cache if possible. Same as {@link net.minecraft.world.gen.layer.GenLayer#getInts(int, int, int, int)}, but copied to an array.
+     *
+     * @param layer  which layer this is
+     * @param source evaluates the layer. This is only called by the thread that asks, so it can use that thread's gen layers.
+     * @param out    the array to fill, at least width * height long
+     */
+    public void getInts(Layer layer, Source source, int x, int z, int width, int height, int[] out)
+    {
+        final int size = regionSize / layer.scale;
+        if (size == 0 || maxBytes == 0)
+        {
+            copy(source, x, z, width, height, out);
+            return;
+        }
+
+        final int regionX = Math.floorDiv(x, size);
+        final int regionZ = Math.floorDiv(z, size);
+        final int minX = regionX * size - PADDING, minZ = regionZ * size - PADDING;
+        final int regionWidth = size + 2 * PADDING;
+        if (x < minX || z < minZ || x + width > minX + regionWidth || z + height > minZ + regionWidth)
+        {
+            // Doesn't fit in a single region
+            copy(source, x, z, width, height, out);
+            return;
+        }
+
+        final Region region = getRegion(layer, regionX, regionZ);
+        synchronized (region)
+        {
+            if (!region.isLoaded())
+            {
+                IntCacheTFC.resetIntCache();
+                region.load(source.getInts(minX, minZ, regionWidth, regionWidth), regionWidth);
+                onLoaded(region);
+            }
+        }
+        region.copy(x - minX, z - minZ, width, height, out);
+    }
+
+    private static void copy(Source source, int x, int z, int width, int height, int[] out)
+    {
+        IntCacheTFC.resetIntCache();
+        System.arraycopy(source.getInts(x, z, width, height), 0, out, 0, width * height);
+    }
+
+    private synchronized Region getRegion(Layer layer, int regionX, int regionZ)
+    {
+        final long key = (long) layer.ordinal() << 56 | ((long) regionZ & 0xFFFFFFFL) << 28 | (long) regionX & 0xFFFFFFFL;
+        return regions.computeIfAbsent(key, Region::new);
+    }
+
+    private synchronized void onLoaded(Region region)
+    {
+        if (regions.get(region.key) != region)
+        {
+            // Already dropped while it was being loaded
+            return;
+        }
+        region.countedBytes = region.getBytes();
+        bytes += region.countedBytes;
+        Iterator<Region> iterator = regions.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext())
+        {
+            Region eldest = iterator.next();
+            if (eldest != region)
+            {
+                // Regions that are still being loaded don't count yet
+                bytes -= eldest.countedBytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * The cached layers. The scale is how many blocks each value covers, regions always cover the same amount of blocks.
+     */
+    public enum Layer
+    {
+        ROCK_TOP(1),
+        ROCK_MIDDLE(1),
+        ROCK_BOTTOM(1),
+        STABILITY(1),
+        DRAINAGE(1),
+        BIOMES(1),
+        GENERATION_BIOMES(4);
+
+        private final int scale;
+
+        Layer(int scale)
+        {
+            this.scale = scale;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Source
+    {
+        int[] getInts(int x, int z, int width, int height);
+    }
+
+    private static final class Region
+    {
+        private final long key;
+        private short[] shortValues;
+        private int[] intValues;
+        private int width;
+        private long countedBytes;
+
+        private Region(long key)
+        {
+            this.key = key;
+        }
+
+        private boolean isLoaded()
+        {
+            return shortValues != null || intValues != null;
+        }
+
+        private long getBytes()
+        {
+            return shortValues != null ? 2L * shortValues.length : intValues != null ? 4L * intValues.length : 0;
+        }
+
+        private void load(int[] values, int width)
+        {
+            final int length = width * width;
+            this.width = width;
+            short[] shorts = new short[length];
+            for (int i = 0; i < length; i++)
+            {
+                if (values[i] != (short) values[i])
+                {
+                    intValues = new int[length];
+                    System.arraycopy(values, 0, intValues, 0, length);
+                    return;
+                }
+                shorts[i] = (short) values[i];
+            }
+            shortValues = shorts;
+        }
+
+        private void copy(int offsetX, int offsetZ, int width, int height, int[] out)
+        {
+            for (int z = 0; z < height; z++)
+            {
+                final int start = (offsetZ + z) * this.width + offsetX;
+                if (intValues != null)
+                {
+                    System.arraycopy(intValues, start, out, z * width, width);
+                }
+                else
+                {
+                    for (int x = 0; x < width; x++)
+                    {
+                        out[z * width + x] = shortValues[start + x];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -132,6 +132,7 @@ public abstract class GenLayerTFC extends GenLayer
             File outFile = new File(name + ".bmp");
             if (outFile.exists())
                 return;
+            IntCacheTFC.resetIntCache();
             int[] ints = genlayer.getInts(0, 0, size, size);
             BufferedImage outBitmap = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
             Graphics2D graphics = (Graphics2D) outBitmap.getGraphics();
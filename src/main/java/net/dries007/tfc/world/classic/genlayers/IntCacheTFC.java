@@ -0,0 +1,85 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.genlayers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.dries007.tfc.ConfigTFC;
+
+/**
+ * Replacement for {@link net.minecraft.world.gen.layer.IntCache} used by all TFC gen layers.
+ * The vanilla one is a single static cache, so two threads evaluating layers at the same time would be handed the same arrays.
+ * This keeps the exact same allocation behaviour, but with one cache per thread.
+ *
+ * As with vanilla, arrays handed out stay valid until the next {@link IntCacheTFC#resetIntCache()} on the same thread.
+ * Resets happen before each top level gen layer evaluation: in {@link net.dries007.tfc.world.classic.BiomeProviderTFC}, {@link GenLayerRegionCache} and {@link GenLayerTFC#drawImage(int, GenLayerTFC, String)}.
+ * On reset, the arrays kept for reuse are dropped if they take up more than {@link ConfigTFC.WorldCFG#intCacheMaxMemory}.
+ */
+public final class IntCacheTFC
+{
+    private static final ThreadLocal<IntCacheTFC> CACHE = ThreadLocal.withInitial(IntCacheTFC::new);
+
+    public static int[] getIntCache(int size)
+    {
+        return CACHE.get().get(size);
+    }
+
+    public static void resetIntCache()
+    {
+        CACHE.get().reset();
+    }
+
+    private final List<int[]> freeSmallArrays = new ArrayList<>();
+    private final List<int[]> inUseSmallArrays = new ArrayList<>();
+    private final List<int[]> freeLargeArrays = new ArrayList<>();
+    private final List<int[]> inUseLargeArrays = new ArrayList<>();
+    private int intCacheSize = 256;
+
+    private IntCacheTFC() {}
+
+    private int[] get(int size)
+    {
+        if (size <= 256)
+        {
+            int[] array = freeSmallArrays.isEmpty() ? new int[256] : freeSmallArrays.remove(freeSmallArrays.size() - 1);
+            inUseSmallArrays.add(array);
+            return array;
+        }
+        if (size > intCacheSize)
+        {
+            intCacheSize = size;
+            freeLargeArrays.clear();
+            inUseLargeArrays.clear();
+        }
+        int[] array = freeLargeArrays.isEmpty() ? new int[intCacheSize] : freeLargeArrays.remove(freeLargeArrays.size() - 1);
+        inUseLargeArrays.add(array);
+        return array;
+    }
+
+    private void reset()
+    {
+        if (!freeLargeArrays.isEmpty()) freeLargeArrays.remove(freeLargeArrays.size() - 1);
+        if (!freeSmallArrays.isEmpty()) freeSmallArrays.remove(freeSmallArrays.size() - 1);
+
+        freeLargeArrays.addAll(inUseLargeArrays);
+        freeSmallArrays.addAll(inUseSmallArrays);
+        inUseLargeArrays.clear();
+        inUseSmallArrays.clear();
+
+        // Vanilla never shrinks, so one large area (like a whole region) would keep its arrays around forever
+        final long maxInts = ConfigTFC.WORLD.intCacheMaxMemory * 1024L * 1024L / 4;
+        if ((long) intCacheSize * freeLargeArrays.size() + 256L * freeSmallArrays.size() > maxInts)
+        {
+            freeLargeArrays.clear();
+            intCacheSize = 256;
+            while (256L * freeSmallArrays.size() > maxInts)
+            {
+                freeSmallArrays.remove(freeSmallArrays.size() - 1);
+            }
+        }
+    }
+}
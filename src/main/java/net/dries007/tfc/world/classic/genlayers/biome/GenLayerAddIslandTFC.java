@@ -6,9 +6,9 @@
 package net.dries007.tfc.world.classic.genlayers.biome;
 
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerAddIslandTFC extends GenLayerTFC
 {
@@ -26,7 +26,7 @@ public class GenLayerAddIslandTFC extends GenLayerTFC
         int var7 = w + 2;
         int var8 = h + 2;
         int[] var9 = this.parent.getInts(var5, var6, var7, var8);
-        int[] var10 = IntCache.getIntCache(w * h);
+        int[] var10 = IntCacheTFC.getIntCache(w * h);
 
         for (int var11 = 0; var11 < h; ++var11)
         {
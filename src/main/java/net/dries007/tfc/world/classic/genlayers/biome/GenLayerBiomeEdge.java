@@ -7,10 +7,10 @@ package net.dries007.tfc.world.classic.genlayers.biome;
 
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerBiomeEdge extends GenLayerTFC
 {
@@ -25,7 +25,7 @@ public class GenLayerBiomeEdge extends GenLayerTFC
     {
         int[] inCache = this.parent.getInts(par1 - 1, par2 - 1, xSize + 2, zSize + 2);
 //        validateIntArray(inCache, xSize + 2, zSize + 2);
-        int[] outCache = IntCache.getIntCache(xSize * zSize);
+        int[] outCache = IntCacheTFC.getIntCache(xSize * zSize);
         int var10;
         int var11;
         int var12;
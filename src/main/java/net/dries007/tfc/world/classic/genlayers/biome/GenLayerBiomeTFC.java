@@ -7,11 +7,11 @@ package net.dries007.tfc.world.classic.genlayers.biome;
 
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomeTFC;
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerBiomeTFC extends GenLayerTFC
 {
@@ -30,7 +30,7 @@ public class GenLayerBiomeTFC extends GenLayerTFC
     {
         int[] var5 = parent.getInts(par1, par2, par3, par4);
 //        validateIntArray(var5, par3, par4);
-        int[] var6 = IntCache.getIntCache(par3 * par4);
+        int[] var6 = IntCacheTFC.getIntCache(par3 * par4);
 
         for (int var7 = 0; var7 < par4; ++var7)
         {
@@ -5,9 +5,8 @@
 
 package net.dries007.tfc.world.classic.genlayers.biome;
 
-import net.minecraft.world.gen.layer.IntCache;
-
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerIslandTFC extends GenLayerTFC
 {
@@ -19,7 +18,7 @@ public class GenLayerIslandTFC extends GenLayerTFC
     @Override
     public int[] getInts(int par1, int par2, int maxX, int maxZ)
     {
-        int[] var5 = IntCache.getIntCache(maxX * maxZ);
+        int[] var5 = IntCacheTFC.getIntCache(maxX * maxZ);
 
         for (int z = 0; z < maxZ; ++z)
         {
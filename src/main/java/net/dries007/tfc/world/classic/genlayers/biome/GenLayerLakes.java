@@ -6,10 +6,10 @@
 package net.dries007.tfc.world.classic.genlayers.biome;
 
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerLakes extends GenLayerTFC
 {
@@ -23,7 +23,7 @@ public class GenLayerLakes extends GenLayerTFC
     public int[] getInts(int par1, int par2, int par3, int par4)
     {
         int[] var5 = this.parent.getInts(par1 - 1, par2 - 1, par3 + 2, par4 + 2);
-        int[] var6 = IntCache.getIntCache(par3 * par4);
+        int[] var6 = IntCacheTFC.getIntCache(par3 * par4);
         int var10;
         int var11;
         int var12;
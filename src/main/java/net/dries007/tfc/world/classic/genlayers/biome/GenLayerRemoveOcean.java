@@ -5,9 +5,8 @@
 
 package net.dries007.tfc.world.classic.genlayers.biome;
 
-import net.minecraft.world.gen.layer.IntCache;
-
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerRemoveOcean extends GenLayerTFC
 {
@@ -30,7 +29,7 @@ public class GenLayerRemoveOcean extends GenLayerTFC
         int k1 = par3 + 2;
         int l1 = par4 + 2;
         int[] biomes = this.parent.getInts(i1, j1, k1, l1);
-        int[] out = IntCache.getIntCache(par3 * par4);
+        int[] out = IntCacheTFC.getIntCache(par3 * par4);
 
         for (int i2 = 0; i2 < par4; ++i2)
         {
@@ -6,9 +6,9 @@
 package net.dries007.tfc.world.classic.genlayers.datalayers.ph;
 
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerAddPH extends GenLayerTFC
 {
@@ -26,7 +26,7 @@ public class GenLayerAddPH extends GenLayerTFC
         int var7 = xSize + 2;
         int var8 = zSize + 2;
         int[] inCache = this.parent.getInts(var5, var6, var7, var8);
-        int[] outCache = IntCache.getIntCache(xSize * zSize);
+        int[] outCache = IntCacheTFC.getIntCache(xSize * zSize);
 
         for (int var11 = 0; var11 < zSize; ++var11)
         {
@@ -6,9 +6,9 @@
 package net.dries007.tfc.world.classic.genlayers.datalayers.rock;
 
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerAddRock extends GenLayerTFC
 {
@@ -26,7 +26,7 @@ public class GenLayerAddRock extends GenLayerTFC
         int var7 = xMax + 2;
         int var8 = zMax + 2;
         int[] var9 = this.parent.getInts(var5, var6, var7, var8);
-        int[] outCache = IntCache.getIntCache(xMax * zMax);
+        int[] outCache = IntCacheTFC.getIntCache(xMax * zMax);
 
         for (int z = 0; z < zMax; ++z)
         {
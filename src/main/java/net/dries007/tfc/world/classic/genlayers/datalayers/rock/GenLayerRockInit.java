@@ -7,12 +7,12 @@ package net.dries007.tfc.world.classic.genlayers.datalayers.rock;
 
 import javax.annotation.Nonnull;
 
-import net.minecraft.world.gen.layer.IntCache;
 import net.minecraftforge.registries.ForgeRegistry;
 
 import net.dries007.tfc.api.registries.TFCRegistries;
 import net.dries007.tfc.api.types.Rock;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerRockInit extends GenLayerTFC
 {
@@ -28,7 +28,7 @@ public class GenLayerRockInit extends GenLayerTFC
     @Nonnull
     public int[] getInts(int par1, int par2, int maxX, int maxZ)
     {
-        int[] cache = IntCache.getIntCache(maxX * maxZ);
+        int[] cache = IntCacheTFC.getIntCache(maxX * maxZ);
 
         for (int z = 0; z < maxZ; ++z)
         {
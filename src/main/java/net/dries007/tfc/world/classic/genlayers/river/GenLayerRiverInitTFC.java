@@ -6,10 +6,10 @@
 package net.dries007.tfc.world.classic.genlayers.river;
 
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerRiverInitTFC extends GenLayerTFC
 {
@@ -23,7 +23,7 @@ public class GenLayerRiverInitTFC extends GenLayerTFC
     public int[] getInts(int xCoord, int zCoord, int xSize, int zSize)
     {
         int[] parentCache = this.parent.getInts(xCoord, zCoord, xSize, zSize);
-        int[] outCache = IntCache.getIntCache(xSize * zSize);
+        int[] outCache = IntCacheTFC.getIntCache(xSize * zSize);
 
         for (int z = 0; z < zSize; ++z)
         {
@@ -7,10 +7,10 @@ package net.dries007.tfc.world.classic.genlayers.river;
 
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerRiverMixTFC extends GenLayerTFC
 {
@@ -77,7 +77,7 @@ public class GenLayerRiverMixTFC extends GenLayerTFC
     {
         layerBiomes = this.biomePatternGeneratorChain.getInts(x, z, xSize, zSize);
         layerRivers = this.riverPatternGeneratorChain.getInts(x, z, xSize, zSize);
-        layerOut = IntCache.getIntCache(xSize * zSize);
+        layerOut = IntCacheTFC.getIntCache(xSize * zSize);
 
         for (int zElement = 0; zElement < zSize; ++zElement)
         {
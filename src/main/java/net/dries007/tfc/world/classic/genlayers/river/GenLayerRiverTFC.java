@@ -7,10 +7,10 @@ package net.dries007.tfc.world.classic.genlayers.river;
 
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.gen.layer.GenLayer;
-import net.minecraft.world.gen.layer.IntCache;
 
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.genlayers.GenLayerTFC;
+import net.dries007.tfc.world.classic.genlayers.IntCacheTFC;
 
 public class GenLayerRiverTFC extends GenLayerTFC
 {
@@ -28,7 +28,7 @@ public class GenLayerRiverTFC extends GenLayerTFC
         int k1 = par3 + 2;
         int l1 = par4 + 2;
         int[] aint = this.parent.getInts(i1, j1, k1, l1);
-        int[] aint1 = IntCache.getIntCache(par3 * par4);
+        int[] aint1 = IntCacheTFC.getIntCache(par3 * par4);
 
         for (int i2 = 0; i2 < par4; ++i2)
         {
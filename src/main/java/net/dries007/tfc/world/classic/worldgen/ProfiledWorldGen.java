@@ -0,0 +1,38 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.worldgen;
+
+import java.util.Random;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.gen.IChunkGenerator;
+import net.minecraftforge.fml.common.IWorldGenerator;
+
+import net.dries007.tfc.world.classic.WorldGenProfiler;
+
+/**
+ * Times a world generator as a separate stage in {@link WorldGenProfiler}
+ */
+public final class ProfiledWorldGen implements IWorldGenerator
+{
+    private final String name;
+    private final IWorldGenerator worldGenerator;
+
+    public ProfiledWorldGen(String name, IWorldGenerator worldGenerator)
+    {
+        this.name = name;
+        this.worldGenerator = worldGenerator;
+    }
+
+    @Override
+    public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider)
+    {
+        final long start = WorldGenProfiler.start();
+        worldGenerator.generate(random, chunkX, chunkZ, world, chunkGenerator, chunkProvider);
+        WorldGenProfiler.stop(name, start);
+    }
+}
@@ -28,7 +28,6 @@ import net.dries007.tfc.world.classic.ChunkGenTFC;
 import net.dries007.tfc.world.classic.biomes.BiomesTFC;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 
-import static net.dries007.tfc.util.CollapseData.Direction.*;
 import static net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC.getRock3;
 
 /**
@@ -37,6 +36,8 @@ import static net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC.getRock3;
  */
 public class WorldGenFissure implements IWorldGenerator
 {
+    private static final int COLLAPSE_RADIUS = 7; // Fissures start 8 - 23 blocks into the chunk, so this (and carving one block further) stays within the chunks being populated
+
     private final IBlockState fillBlock;
     private final boolean checkStability;
     private final int minTunnel;
@@ -95,7 +96,7 @@ public class WorldGenFissure implements IWorldGenerator
         final IBlockState rock = BlockRockVariant.get(getRock3(world, start), Rock.Type.RAW).getDefaultState();
         final IBlockState localFillBlock = (!stable && BlocksTFC.isWater(fillBlock)) ? ChunkGenTFC.HOT_WATER : fillBlock;
 
-        List<BlockPos> list = getCollapseMap(world, start.add(0, -creviceDepth, 0), fillBlock, poolDepth);
+        List<BlockPos> list = getCollapseMap(world, rng, start.add(0, -creviceDepth, 0), fillBlock, poolDepth);
 
         for (BlockPos pos : list)
         {
@@ -118,7 +119,7 @@ public class WorldGenFissure implements IWorldGenerator
         if (list.size() > 10) makeTunnel(rng, world, start.add(0, -poolDepth - 1, 0), rock, localFillBlock);
     }
 
-    private List<BlockPos> getCollapseMap(World world, BlockPos pos, IBlockState fillBlock, int poolDepth)
+    private List<BlockPos> getCollapseMap(World world, Random rng, BlockPos pos, IBlockState fillBlock, int poolDepth)
     {
         final ImmutableList.Builder<BlockPos> b = ImmutableList.builder();
 
@@ -126,14 +127,10 @@ public class WorldGenFissure implements IWorldGenerator
             BlockRockVariant.get(getRock3(world, pos), Rock.Type.RAW).getDefaultState() :
             BlockRockVariant.get(ChunkDataTFC.getRockHeight(world, pos), Rock.Type.RAW).getDefaultState();
 
-        // todo this must be also used somewhere else probably move it.
-        // todo this must be optimizable also
-
-        CollapseList collapseList = new CollapseList();
-
-        for (CollapseData.Direction d : CollapseData.Direction.values())
-            collapseList.add(new CollapseData(d.offset(pos.add(0, -1, 0)), 0.55f - d.decrement, d));
+        final CollapseList collapseList = new CollapseList(pos, COLLAPSE_RADIUS);
+        collapseList.addAround(pos.down(), 0.55f);
 
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         while (!collapseList.isEmpty())
         {
             CollapseData data = collapseList.pop();
@@ -143,60 +140,18 @@ public class WorldGenFissure implements IWorldGenerator
 
             IBlockState block = world.getBlockState(data.pos);
 
-            if (BlocksTFC.isGround(block) && world.rand.nextFloat() < data.chance)
+            if (BlocksTFC.isGround(block) && rng.nextFloat() < data.chance)
             {
-                b.add(data.pos);
-
-                switch (data.direction)
-                {
-                    case NORTH:
-                        collapseList.add(new CollapseData(NORTH.offset(pos), data.chance - NORTH.decrement, NORTH));
-                        collapseList.add(new CollapseData(EAST.offset(pos), data.chance - EAST.decrement, EAST));
-                        collapseList.add(new CollapseData(WEST.offset(pos), data.chance - WEST.decrement, WEST));
-                        break;
-                    case SOUTH:
-                        collapseList.add(new CollapseData(SOUTH.offset(pos), data.chance - SOUTH.decrement, SOUTH));
-                        collapseList.add(new CollapseData(EAST.offset(pos), data.chance - EAST.decrement, EAST));
-                        collapseList.add(new CollapseData(WEST.offset(pos), data.chance - WEST.decrement, WEST));
-                        break;
-                    case EAST:
-                        collapseList.add(new CollapseData(SOUTH.offset(pos), data.chance - SOUTH.decrement, SOUTH));
-                        collapseList.add(new CollapseData(EAST.offset(pos), data.chance - EAST.decrement, EAST));
-                        collapseList.add(new CollapseData(NORTH.offset(pos), data.chance - NORTH.decrement, NORTH));
-                        break;
-                    case WEST:
-                        collapseList.add(new CollapseData(SOUTH.offset(pos), data.chance - SOUTH.decrement, SOUTH));
-                        collapseList.add(new CollapseData(WEST.offset(pos), data.chance - WEST.decrement, WEST));
-                        collapseList.add(new CollapseData(NORTH.offset(pos), data.chance - NORTH.decrement, NORTH));
-                        break;
-                    case NORTHEAST:
-                        collapseList.add(new CollapseData(NORTHEAST.offset(pos), data.chance - NORTHEAST.decrement, NORTHEAST));
-                        collapseList.add(new CollapseData(EAST.offset(pos), data.chance - EAST.decrement, EAST));
-                        collapseList.add(new CollapseData(NORTH.offset(pos), data.chance - NORTH.decrement, NORTH));
-                        break;
-                    case SOUTHEAST:
-                        collapseList.add(new CollapseData(SOUTHEAST.offset(pos), data.chance - SOUTHEAST.decrement, SOUTHEAST));
-                        collapseList.add(new CollapseData(SOUTH.offset(pos), data.chance - SOUTH.decrement, SOUTH));
-                        collapseList.add(new CollapseData(EAST.offset(pos), data.chance - EAST.decrement, EAST));
-                        break;
-                    case NORTHWEST:
-                        collapseList.add(new CollapseData(NORTHWEST.offset(pos), data.chance - NORTHWEST.decrement, NORTHWEST));
-                        collapseList.add(new CollapseData(WEST.offset(pos), data.chance - WEST.decrement, WEST));
-                        collapseList.add(new CollapseData(NORTH.offset(pos), data.chance - NORTH.decrement, NORTH));
-                        break;
-                    case SOUTHWEST:
-                        collapseList.add(new CollapseData(SOUTHWEST.offset(pos), data.chance - SOUTHWEST.decrement, SOUTHWEST));
-                        collapseList.add(new CollapseData(SOUTH.offset(pos), data.chance - SOUTH.decrement, SOUTH));
-                        collapseList.add(new CollapseData(WEST.offset(pos), data.chance - WEST.decrement, WEST));
-                        break;
-                }
+                b.add(data.pos.toImmutable());
+                collapseList.spread(data);
             }
             else if (data.chance < 1)
             {
                 for (int i = 0; i <= poolDepth; i++)
                 {
-                    if (BlocksTFC.isGround(world.getBlockState(pos.add(0, -i, 0))))
-                        world.setBlockState(pos.add(0, -i, 0), rock, 2);
+                    mutablePos.setPos(data.pos.getX(), data.pos.getY() - i, data.pos.getZ());
+                    if (BlocksTFC.isGround(world.getBlockState(mutablePos)))
+                        world.setBlockState(mutablePos, rock, 2);
                 }
             }
         }
@@ -26,6 +26,7 @@ import net.dries007.tfc.world.classic.ChunkGenTFC;
 import net.dries007.tfc.world.classic.WorldTypeTFC;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 import net.dries007.tfc.world.classic.worldgen.vein.Vein;
+import net.dries007.tfc.world.classic.worldgen.vein.VeinIndex;
 
 public class WorldGenLooseRocks implements IWorldGenerator
 {
@@ -41,7 +42,7 @@ public class WorldGenLooseRocks implements IWorldGenerator
         if (world.provider.getDimension() != 0) return;
 
         // Get the proper list of veins
-        List<Vein> veins = WorldGenOreVeins.getNearbyVeins(chunkX, chunkZ, world.getSeed(), 1);
+        List<Vein> veins = VeinIndex.INSTANCE.getNearbyVeins(chunkX, chunkZ, world.getSeed(), 1);
         if (!veins.isEmpty())
         {
             veins.removeIf(v -> {
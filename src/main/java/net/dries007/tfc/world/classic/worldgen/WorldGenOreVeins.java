@@ -5,86 +5,34 @@
 
 package net.dries007.tfc.world.classic.worldgen;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import javax.annotation.Nonnull;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraft.world.gen.IChunkGenerator;
 import net.minecraftforge.fml.common.IWorldGenerator;
 
-import net.dries007.tfc.api.types.Ore;
 import net.dries007.tfc.api.types.Rock;
 import net.dries007.tfc.objects.blocks.stone.BlockRockVariant;
-import net.dries007.tfc.util.collections.WeightedCollection;
 import net.dries007.tfc.world.classic.ChunkGenTFC;
 import net.dries007.tfc.world.classic.WorldTypeTFC;
 import net.dries007.tfc.world.classic.chunkdata.ChunkDataTFC;
 import net.dries007.tfc.world.classic.worldgen.vein.Vein;
-import net.dries007.tfc.world.classic.worldgen.vein.VeinCluster;
-import net.dries007.tfc.world.classic.worldgen.vein.VeinRegistry;
-import net.dries007.tfc.world.classic.worldgen.vein.VeinType;
+import net.dries007.tfc.world.classic.worldgen.vein.VeinIndex;
 
 public class WorldGenOreVeins implements IWorldGenerator
 {
-    private static final int NUM_ROLLS = 2;
     private static final int CHUNK_RADIUS = 2;
     public static final int VEIN_MAX_RADIUS = 16 * CHUNK_RADIUS;
 
-    // Used to generate chunk
-    public static List<Vein> getNearbyVeins(int chunkX, int chunkZ, long worldSeed, int radius)
-    {
-        List<Vein> veins = new ArrayList<>();
-
-        for (int x = -radius; x <= radius; x++)
-        {
-            for (int z = -radius; z <= radius; z++)
-            {
-                List<Vein> vein = getVeinsAtChunk(chunkX + x, chunkZ + z, worldSeed);
-                if (!vein.isEmpty()) veins.addAll(vein);
-            }
-        }
-
-        return veins;
-    }
-
-    // Gets veins at a single chunk. Deterministic for a specific chunk x/z and world seed
-    @Nonnull
-    private static List<Vein> getVeinsAtChunk(int chunkX, int chunkZ, Long worldSeed)
-    {
-        Random rand = new Random(worldSeed + chunkX * 341873128712L + chunkZ * 132897987541L);
-        List<Vein> veins = new ArrayList<>();
-
-        for (int i = 0; i < NUM_ROLLS; i++)
-        {
-            WeightedCollection<VeinType> entries = VeinRegistry.INSTANCE.getVeins();
-            if (rand.nextDouble() < entries.getTotalWeight())
-            {
-                VeinType veinType = entries.getRandomEntry(rand);
-                BlockPos startPos = new BlockPos(
-                    chunkX * 16 + 8 + rand.nextInt(16),
-                    veinType.minY + rand.nextInt(veinType.maxY - veinType.minY),
-                    chunkZ * 16 + 8 + rand.nextInt(16)
-                );
-
-                Ore.Grade grade = Ore.Grade.NORMAL;
-                if (veinType.ore != null && veinType.ore.isGraded())
-                {
-                    int gradeInt = rand.nextInt(100);
-                    if (gradeInt < 20) grade = Ore.Grade.RICH;
-                    else if (gradeInt < 50) grade = Ore.Grade.POOR;
-                }
-
-                veins.add(new VeinCluster(startPos, veinType, grade, rand));
-            }
-        }
-        return veins;
-    }
-
     @Override
     public void generate(Random random, int chunkX, int chunkZ, World world, IChunkGenerator chunkGenerator, IChunkProvider chunkProvider)
     {
@@ -96,16 +44,17 @@ public class WorldGenOreVeins implements IWorldGenerator
         // Check dimension is overworld
         if (world.provider.getDimension() != 0) return;
 
-        List<Vein> veins = getNearbyVeins(chunkX, chunkZ, world.getSeed(), CHUNK_RADIUS);
-        if (veins.isEmpty()) return;
-
         // Set constant values here
         int xoff = chunkX * 16 + 8;
         int zoff = chunkZ * 16 + 8;
 
+        List<Vein> veins = VeinIndex.INSTANCE.getVeinsInArea(chunkX, chunkZ, world.getSeed(), CHUNK_RADIUS, xoff, zoff, xoff + 15, zoff + 15);
+        if (veins.isEmpty()) return;
+
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        final int[] changedSections = new int[4]; // The area spans up to 2x2 chunks, see getChunkIndex
         for (Vein vein : veins)
         {
-
             // Do checks here that are specific to each vein
             if (!vein.type.baseRocks.contains(chunkData.getRock1(0, 0)) &&
                 !vein.type.baseRocks.contains(chunkData.getRock2(0, 0)) &&
@@ -119,25 +68,94 @@ public class WorldGenOreVeins implements IWorldGenerator
                 for (int z = 0; z < 16; z++)
                 {
                     // Do checks here that are specific to the the horizontal position, not the vertical one
-                    if (!vein.inRange(new BlockPos(xoff + x, 0, zoff + z))) continue;
+                    final int blockX = xoff + x, blockZ = zoff + z;
+                    if (!vein.inRange(blockX, blockZ)) continue;
+
+                    final int minY = vein.getLowestY(blockX, blockZ);
+                    final int maxY = vein.getHighestY(blockX, blockZ);
+                    if (minY > maxY) continue;
+
+                    changedSections[getChunkIndex(chunkX, chunkZ, blockX, blockZ)] |= generateColumn(world, random, vein, blockX, blockZ, minY, maxY, cursor);
+                }
+            }
+        }
 
-                    for (int y = vein.getLowestY(); y <= vein.getHighestY(); y++)
-                    {
-                        final BlockPos posAt = new BlockPos(xoff + x, y, z + zoff);
-                        final IBlockState stateAt = world.getBlockState(posAt);
-                        // Do checks specific to the individual block pos that is getting replaced
+        for (int i = 0; i < changedSections.length; i++)
+        {
+            if (changedSections[i] != 0)
+            {
+                sendChangedSections(world, world.getChunk(chunkX + (i & 1), chunkZ + (i >> 1)), changedSections[i]);
+            }
+        }
+    }
 
-                        if (random.nextDouble() > vein.getChanceToGenerate(posAt)) continue;
-                        if (!(stateAt.getBlock() instanceof BlockRockVariant)) continue;
+    private static int getChunkIndex(int chunkX, int chunkZ, int blockX, int blockZ)
+    {
+        return ((blockX >> 4) - chunkX) | ((blockZ >> 4) - chunkZ) << 1;
+    }
 
-                        final BlockRockVariant blockAt = (BlockRockVariant) stateAt.getBlock();
-                        if (blockAt.getType() != Rock.Type.RAW || !vein.type.baseRocks.contains(blockAt.getRock()))
-                            continue;
+    /**
+     * Marks a chunk as changed, and sends players that already have it the changed sections, once each.
+     * This is what vanilla does when a lot of blocks change in one chunk in a tick, see PlayerChunkMapEntry#update
+     */
+    private static void sendChangedSections(World world, Chunk chunk, int sectionMask)
+    {
+        chunk.markDirty();
+        if (world instanceof WorldServer)
+        {
+            final PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.x, chunk.z);
+            if (entry != null && entry.isSentToPlayers())
+            {
+                entry.sendPacket(new SPacketChunkData(chunk, sectionMask));
+            }
+        }
+    }
 
-                        world.setBlockState(posAt, vein.type.getOreState(blockAt.getRock(), vein.grade), 2);
-                    }
-                }
+    /**
+     * Places ore in a single column, directly in the chunk sections.
+     * Only raw rock is replaced, and the ore blocks light the same as the rock, so lighting and the height map stay valid.
+     * The changes aren't sent to players, that is done once for each changed section after all columns are done.
+     *
+     * @return a bit mask of the chunk sections that were changed directly
+     */
+    private int generateColumn(World world, Random random, Vein vein, int blockX, int blockZ, int minY, int maxY, BlockPos.MutableBlockPos cursor)
+    {
+        final Chunk chunk = world.getChunk(blockX >> 4, blockZ >> 4);
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        int changedSections = 0;
+
+        for (int y = Math.max(minY, 0); y <= maxY && y < 256; y++)
+        {
+            final ExtendedBlockStorage section = sections[y >> 4];
+            if (section == Chunk.NULL_BLOCK_STORAGE)
+            {
+                // Empty section, there's no rock to replace here
+                y |= 15;
+                continue;
+            }
+
+            // Do checks specific to the individual block pos that is getting replaced
+            if (random.nextDouble() > vein.getChanceToGenerate(blockX, y, blockZ)) continue;
+
+            final IBlockState stateAt = section.get(blockX & 15, y & 15, blockZ & 15);
+            if (!(stateAt.getBlock() instanceof BlockRockVariant)) continue;
+
+            final BlockRockVariant blockAt = (BlockRockVariant) stateAt.getBlock();
+            if (blockAt.getType() != Rock.Type.RAW || !vein.type.baseRocks.contains(blockAt.getRock()))
+                continue;
+
+            final IBlockState oreState = vein.type.getOreState(blockAt.getRock(), vein.grade);
+            cursor.setPos(blockX, y, blockZ);
+            if (oreState.getLightOpacity(world, cursor) != stateAt.getLightOpacity(world, cursor) || oreState.getLightValue(world, cursor) != stateAt.getLightValue(world, cursor) || oreState.getBlock().hasTileEntity(oreState))
+            {
+                // Not a plain swap, so let the world handle it
+                world.setBlockState(cursor, oreState, 2);
+                continue;
             }
+
+            section.set(blockX & 15, y & 15, blockZ & 15, oreState);
+            changedSections |= 1 << (y >> 4);
         }
+        return changedSections;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@
 
 package net.dries007.tfc.world.classic.worldgen;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
@@ -53,7 +54,7 @@ public class WorldGenTrees implements IWorldGenerator
         final float diversity = chunkData.getFloraDiversity();
         final float density = chunkData.getFloraDensity();
 
-        List<Tree> trees = chunkData.getValidTrees();
+        List<Tree> trees = new ArrayList<>(chunkData.getValidTrees());
         Collections.rotate(trees, -(int) (diversity * (trees.size() - 1f)));
 
         int stickDensity = 3 + (int) (4f * density + 1.5f * trees.size());
@@ -16,8 +16,6 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -31,7 +29,6 @@ import static net.minecraft.block.BlockLog.LOG_AXIS;
 
 public class TreeGenAcacia implements ITreeGenerator
 {
-    private static final PlacementSettings settings = ITreeGenerator.getDefaultSettings();
     private IBlockState trunk;
     private IBlockState bark;
 
@@ -84,7 +81,7 @@ public class TreeGenAcacia implements ITreeGenerator
     private void placeBranch(TemplateManager manager, World world, BlockPos pos, String name)
     {
         ResourceLocation base = new ResourceLocation(name);
-        Template structureBase = manager.get(world.getMinecraftServer(), base);
+        TreeTemplate structureBase = TreeTemplate.get(manager, world, base);
 
         if (structureBase == null)
         {
@@ -94,7 +91,7 @@ public class TreeGenAcacia implements ITreeGenerator
         BlockPos size = structureBase.getSize();
         pos = pos.add(-size.getX() / 2, 0, -size.getZ() / 2);
 
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settings);
+        structureBase.place(world, pos);
     }
 
     private void placeLog(World world, BlockPos pos, boolean useBark)
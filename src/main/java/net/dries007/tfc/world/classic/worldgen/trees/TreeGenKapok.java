@@ -14,8 +14,6 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -31,7 +29,6 @@ import static net.minecraft.block.BlockVine.*;
 
 public class TreeGenKapok implements ITreeGenerator
 {
-    private static final PlacementSettings settings = ITreeGenerator.getDefaultSettings();
     private static final BlockPos[] trunkPos = new BlockPos[] {
         new BlockPos(0, 0, 0), new BlockPos(-1, 0, 0), new BlockPos(0, 0, -1), new BlockPos(-1, 0, -1)
     };
@@ -95,7 +92,7 @@ public class TreeGenKapok implements ITreeGenerator
     private void placeBranch(TemplateManager manager, World world, BlockPos pos, String name)
     {
         ResourceLocation base = new ResourceLocation(name);
-        Template structureBase = manager.get(world.getMinecraftServer(), base);
+        TreeTemplate structureBase = TreeTemplate.get(manager, world, base);
 
         if (structureBase == null)
         {
@@ -105,7 +102,7 @@ public class TreeGenKapok implements ITreeGenerator
         BlockPos size = structureBase.getSize();
         pos = pos.add(-size.getX() / 2, 0, -size.getZ() / 2);
 
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settings);
+        structureBase.place(world, pos);
     }
 
     private void placeTrunk(World world, BlockPos pos)
@@ -9,10 +9,9 @@ import java.util.Random;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -24,8 +23,6 @@ import static net.dries007.tfc.objects.blocks.wood.BlockLogTFC.PLACED;
 
 public class TreeGenNormal implements ITreeGenerator
 {
-    private static final PlacementSettings settingsFull = ITreeGenerator.getDefaultSettings();
-    private static final PlacementSettings settingsWeak = ITreeGenerator.getDefaultSettings().setIntegrity(0.5f);
     private final int heightMin;
     private final int heightRange;
 
@@ -48,8 +45,8 @@ public class TreeGenNormal implements ITreeGenerator
         ResourceLocation base = new ResourceLocation(tree.getRegistryName() + "/base");
         ResourceLocation overlay = new ResourceLocation(tree.getRegistryName() + "/overlay");
 
-        Template structureBase = manager.get(world.getMinecraftServer(), base);
-        Template structureOverlay = manager.get(world.getMinecraftServer(), overlay);
+        TreeTemplate structureBase = TreeTemplate.get(manager, world, base);
+        TreeTemplate structureOverlay = TreeTemplate.get(manager, world, overlay);
 
         if (structureBase == null)
         {
@@ -62,10 +59,10 @@ public class TreeGenNormal implements ITreeGenerator
         BlockPos size = structureBase.getSize();
         pos = pos.add(-size.getX() / 2, height, -size.getZ() / 2);
 
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settingsFull);
+        structureBase.place(world, pos);
         if (structureOverlay != null)
         {
-            ITreeGenerator.addStructureToWorld(world, pos, structureOverlay, settingsWeak);
+            structureOverlay.place(world, pos, Rotation.NONE, 0.5f);
         }
 
         final IBlockState log = BlockLogTFC.get(tree).getDefaultState().withProperty(PLACED, false);
@@ -11,8 +11,6 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -29,7 +27,6 @@ public class TreeGenSequoia implements ITreeGenerator
     private static final BlockPos[] trunkPos = new BlockPos[] {
         new BlockPos(0, 0, 0), new BlockPos(-1, 0, 0), new BlockPos(0, 0, -1), new BlockPos(-1, 0, -1)
     };
-    private final PlacementSettings settings = ITreeGenerator.getDefaultSettings();
     private IBlockState trunk;
 
     @Override
@@ -80,7 +77,7 @@ public class TreeGenSequoia implements ITreeGenerator
     private int placeLayer(TemplateManager manager, World world, BlockPos pos, String name)
     {
         ResourceLocation base = new ResourceLocation(name);
-        Template structureBase = manager.get(world.getMinecraftServer(), base);
+        TreeTemplate structureBase = TreeTemplate.get(manager, world, base);
 
         if (structureBase == null)
         {
@@ -90,7 +87,7 @@ public class TreeGenSequoia implements ITreeGenerator
         BlockPos size = structureBase.getSize();
         pos = pos.add(-size.getX() / 2, 0, -size.getZ() / 2);
 
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settings);
+        structureBase.place(world, pos);
         return size.getY();
     }
 
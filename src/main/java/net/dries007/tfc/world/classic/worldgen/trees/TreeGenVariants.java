@@ -9,10 +9,9 @@ import java.util.Random;
 import java.util.stream.IntStream;
 
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -21,7 +20,6 @@ import net.dries007.tfc.api.util.ITreeGenerator;
 
 public class TreeGenVariants implements ITreeGenerator
 {
-    private static final PlacementSettings settings = ITreeGenerator.getDefaultSettings();
     private final String[] variants;
     private final boolean useRotation;
 
@@ -55,18 +53,18 @@ public class TreeGenVariants implements ITreeGenerator
         String variant = variants[variants.length == 1 ? 0 : rand.nextInt(variants.length)];
         ResourceLocation base = new ResourceLocation(tree.getRegistryName() + "/" + variant);
 
-        Template structureBase = manager.get(world.getMinecraftServer(), base);
+        TreeTemplate structureBase = TreeTemplate.get(manager, world, base);
         if (structureBase == null)
         {
             TerraFirmaCraft.getLog().warn("Unable to find a template for " + base.toString());
             return;
         }
 
-        PlacementSettings settings2 = useRotation ? ITreeGenerator.getRandomSettings(rand) : settings;
+        Rotation rotation = useRotation ? Rotation.values()[rand.nextInt(Rotation.values().length)] : Rotation.NONE;
 
-        BlockPos size = structureBase.getSize().rotate(settings2.getRotation());
+        BlockPos size = structureBase.getSize().rotate(rotation);
         // Begin rotation things
         pos = pos.add(-size.getX() / 2, 0, -size.getZ() / 2);
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settings2);
+        structureBase.place(world, pos, rotation, 1f);
     }
 }
@@ -9,10 +9,9 @@ import java.util.Random;
 
 import net.minecraft.block.BlockLog;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.gen.structure.template.PlacementSettings;
-import net.minecraft.world.gen.structure.template.Template;
 import net.minecraft.world.gen.structure.template.TemplateManager;
 
 import net.dries007.tfc.TerraFirmaCraft;
@@ -32,10 +31,8 @@ import static net.minecraft.block.BlockLog.LOG_AXIS;
  */
 public class TreeGenWillow implements ITreeGenerator
 {
-    private static final PlacementSettings settingsFull = ITreeGenerator.getDefaultSettings();
-    private static final PlacementSettings settingsWeak = ITreeGenerator.getDefaultSettings().setIntegrity(0.5F);
-    private Template structureBase;
-    private Template structureOverlay;
+    private TreeTemplate structureBase;
+    private TreeTemplate structureOverlay;
 
     @Override
     public void generateTree(TemplateManager manager, World world, BlockPos pos, Tree tree, Random rand)
@@ -43,8 +40,8 @@ public class TreeGenWillow implements ITreeGenerator
         ResourceLocation base = new ResourceLocation(TFCConstants.MOD_ID, tree.getRegistryName().getPath() + "/base");
         ResourceLocation overlay = new ResourceLocation(TFCConstants.MOD_ID, tree.getRegistryName().getPath() + "/overlay");
 
-        structureBase = manager.get(world.getMinecraftServer(), base);
-        structureOverlay = manager.get(world.getMinecraftServer(), overlay);
+        structureBase = TreeTemplate.get(manager, world, base);
+        structureOverlay = TreeTemplate.get(manager, world, overlay);
 
         if (structureBase == null || structureOverlay == null)
         {
@@ -93,8 +90,8 @@ public class TreeGenWillow implements ITreeGenerator
         BlockPos size = structureBase.getSize();
         pos = pos.add(-size.getX() / 2, -size.getY() / 2, -size.getZ() / 2);
 
-        ITreeGenerator.addStructureToWorld(world, pos, structureBase, settingsFull);
-        ITreeGenerator.addStructureToWorld(world, pos, structureOverlay, settingsWeak);
+        structureBase.place(world, pos);
+        structureOverlay.place(world, pos, Rotation.NONE, 0.5f);
     }
 
     private void tryPlaceLog(World world, BlockPos pos, Tree tree, BlockLog.EnumAxis axis)
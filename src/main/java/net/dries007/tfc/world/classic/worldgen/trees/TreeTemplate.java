@@ -0,0 +1,160 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.worldgen.trees;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import net.minecraft.world.gen.structure.template.Template;
+import net.minecraft.world.gen.structure.template.TemplateManager;
+
+import net.dries007.tfc.api.util.ITreeGenerator;
+import net.dries007.tfc.objects.blocks.wood.BlockLeavesTFC;
+
+/**
+ * A tree structure, with the block positions and states worked out once per rotation, so placing it doesn't need to go through the template every time.
+ * Places the same blocks as {@link ITreeGenerator#addStructureToWorld} with the default (or random rotation) settings.
+ */
+public final class TreeTemplate
+{
+    private static final Map<TemplateManager, Map<ResourceLocation, TreeTemplate>> CACHE = new WeakHashMap<>();
+
+    /**
+     * Gets a tree structure from the template manager, or null if it doesn't exist
+     */
+    @Nullable
+    public static TreeTemplate get(TemplateManager manager, World world, ResourceLocation name)
+    {
+        TreeTemplate template;
+        synchronized (CACHE)
+        {
+            template = CACHE.computeIfAbsent(manager, key -> new HashMap<>()).get(name);
+        }
+        if (template == null)
+        {
+            Template structure = manager.get(world.getMinecraftServer(), name);
+            template = new TreeTemplate(structure);
+            synchronized (CACHE)
+            {
+                CACHE.computeIfAbsent(manager, key -> new HashMap<>()).put(name, template);
+            }
+        }
+        return template.blocks != null ? template : null;
+    }
+
+    private final Template.BlockInfo[] blocks;
+    private final BlockPos size;
+    private final Placement[] placements = new Placement[Rotation.values().length];
+
+    private TreeTemplate(@Nullable Template structure)
+    {
+        if (structure != null)
+        {
+            List<Template.BlockInfo> list = structure.blocks;
+            this.blocks = list.toArray(new Template.BlockInfo[0]);
+            this.size = structure.getSize();
+        }
+        else
+        {
+            this.blocks = null;
+            this.size = BlockPos.ORIGIN;
+        }
+    }
+
+    @Nonnull
+    public BlockPos getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Places the structure, without rotation and at full integrity
+     */
+    public void place(World world, BlockPos pos)
+    {
+        place(world, pos, Rotation.NONE, 1f);
+    }
+
+    /**
+     * Places the structure. Only replaces replaceable blocks and leaves
+     *
+     * @param pos       the corner to place it at
+     * @param integrity the chance for each block to be placed, as in {@link PlacementSettings#setIntegrity(float)}
+     */
+    public void place(World world, BlockPos pos, Rotation rotation, float integrity)
+    {
+        final Placement placement = getPlacement(rotation);
+        // The same random the template would use to decide which blocks are left out, with default settings
+        final Random random = integrity < 1f ? new PlacementSettings().getRandom(pos) : null;
+        final BlockPos[] placed = new BlockPos[placement.states.length];
+        for (int i = 0; i < placement.states.length; i++)
+        {
+            final BlockPos blockPos = pos.add(placement.offsets[i]);
+            placed[i] = blockPos;
+            if (random != null && random.nextFloat() > integrity)
+            {
+                continue;
+            }
+
+            IBlockState current = world.getBlockState(blockPos);
+            if (current.getMaterial().isReplaceable() || current.getBlock() instanceof BlockLeavesTFC)
+            {
+                world.setBlockState(blockPos, placement.states[i], 2);
+            }
+        }
+
+        for (int i = 0; i < placed.length; i++)
+        {
+            world.notifyNeighborsRespectDebug(placed[i], placement.blocks[i], false);
+        }
+    }
+
+    private Placement getPlacement(Rotation rotation)
+    {
+        // Only ever filled with the same values, so it doesn't matter if two threads do this at once
+        Placement placement = placements[rotation.ordinal()];
+        if (placement == null)
+        {
+            placement = new Placement(blocks, rotation);
+            placements[rotation.ordinal()] = placement;
+        }
+        return placement;
+    }
+
+    private static final class Placement
+    {
+        private final BlockPos[] offsets;
+        private final IBlockState[] states;
+        private final Block[] blocks;
+
+        private Placement(Template.BlockInfo[] blocks, Rotation rotation)
+        {
+            final PlacementSettings settings = new PlacementSettings().setRotation(rotation);
+            offsets = new BlockPos[blocks.length];
+            states = new IBlockState[blocks.length];
+            this.blocks = new Block[blocks.length];
+            for (int i = 0; i < blocks.length; i++)
+            {
+                offsets[i] = Template.transformedBlockPos(settings, blocks[i].pos);
+                states[i] = blocks[i].blockState.withMirror(Mirror.NONE).withRotation(rotation);
+                this.blocks[i] = blocks[i].blockState.getBlock();
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package net.dries007.tfc.world.classic.worldgen.vein;
 
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 
 import net.dries007.tfc.api.types.Ore;
 import net.dries007.tfc.world.classic.worldgen.WorldGenOreVeins;
@@ -15,17 +16,31 @@ public abstract class Vein
     public final BlockPos pos;
     public final VeinType type;
     public final Ore.Grade grade;
+    /**
+     * Contains every block this vein can generate in
+     */
+    public final StructureBoundingBox boundingBox;
 
     Vein(BlockPos pos, VeinType type, Ore.Grade grade)
     {
         this.pos = pos;
         this.type = type;
         this.grade = grade;
+
+        final int radius = WorldGenOreVeins.VEIN_MAX_RADIUS;
+        this.boundingBox = new StructureBoundingBox(pos.getX() - radius, Math.max(pos.getY() - radius / 2, type.minY), pos.getZ() - radius,
+            pos.getX() + radius, Math.min(pos.getY() + radius / 2, type.maxY), pos.getZ() + radius);
     }
 
     public final boolean inRange(BlockPos pos1)
     {
-        return Math.pow(pos1.getX() - this.pos.getX(), 2) + Math.pow(pos1.getZ() - this.pos.getZ(), 2) <= WorldGenOreVeins.VEIN_MAX_RADIUS * WorldGenOreVeins.VEIN_MAX_RADIUS;
+        return inRange(pos1.getX(), pos1.getZ());
+    }
+
+    public final boolean inRange(int x, int z)
+    {
+        final int dx = x - pos.getX(), dz = z - pos.getZ();
+        return dx * dx + dz * dz <= WorldGenOreVeins.VEIN_MAX_RADIUS * WorldGenOreVeins.VEIN_MAX_RADIUS;
     }
 
     public int getLowestY()
@@ -38,5 +53,23 @@ public abstract class Vein
         return Math.min(pos.getY() + WorldGenOreVeins.VEIN_MAX_RADIUS / 2, type.maxY);
     }
 
-    public abstract double getChanceToGenerate(BlockPos pos1);
+    /**
+     * The lowest y in a column this vein can generate at. If it can't generate in this column at all, this is higher than {@link Vein#getHighestY(int, int)}
+     */
+    public int getLowestY(int x, int z)
+    {
+        return getLowestY();
+    }
+
+    public int getHighestY(int x, int z)
+    {
+        return getHighestY();
+    }
+
+    public final double getChanceToGenerate(BlockPos pos1)
+    {
+        return getChanceToGenerate(pos1.getX(), pos1.getY(), pos1.getZ());
+    }
+
+    public abstract double getChanceToGenerate(int x, int y, int z);
 }
@@ -44,18 +44,43 @@ public class VeinCluster extends Vein
     }
 
     @Override
-    public double getChanceToGenerate(BlockPos pos1)
+    public int getLowestY(int x, int z)
     {
-        double shortestRadius = -1;
+        int lowest = Integer.MAX_VALUE;
+        for (Cluster c : spawnPoints)
+        {
+            final double reach = c.getVerticalReach(x, z);
+            if (reach > 0)
+            {
+                lowest = Math.min(lowest, (int) Math.ceil(c.y - reach));
+            }
+        }
+        return Math.max(lowest, getLowestY());
+    }
 
+    @Override
+    public int getHighestY(int x, int z)
+    {
+        int highest = Integer.MIN_VALUE;
         for (Cluster c : spawnPoints)
         {
-            final double dx = Math.pow(c.pos.getX() - pos1.getX(), 2);
-            final double dy = Math.pow(c.pos.getY() - pos1.getY(), 2);
-            final double dz = Math.pow(c.pos.getZ() - pos1.getZ(), 2);
+            final double reach = c.getVerticalReach(x, z);
+            if (reach > 0)
+            {
+                highest = Math.max(highest, (int) Math.floor(c.y + reach));
+            }
+        }
+        return Math.min(highest, getHighestY());
+    }
 
-            final double radius = (dx + dz) / Math.pow(c.size * horizontalModifier, 2) + dy / Math.pow(c.size * verticalModifier, 2);
+    @Override
+    public double getChanceToGenerate(int x, int y, int z)
+    {
+        double shortestRadius = -1;
 
+        for (Cluster c : spawnPoints)
+        {
+            final double radius = c.getRadius(x, y, z);
             if (shortestRadius == -1 || radius < shortestRadius) shortestRadius = radius;
         }
         return type.density * type.size.densityModifier * (1.0 - shortestRadius);
@@ -63,14 +88,37 @@ public class VeinCluster extends Vein
 
     private final class Cluster
     {
-        final BlockPos pos;
-        final double size;
+        final int x, y, z;
+        // 1 / (size * modifier)^2, so the radius is only multiplications
+        final double horizontalFactor;
+        final double verticalFactor;
 
         Cluster(BlockPos pos, double size)
         {
-            this.pos = pos;
-            this.size = size;
+            this.x = pos.getX();
+            this.y = pos.getY();
+            this.z = pos.getZ();
+            this.horizontalFactor = 1 / ((size * horizontalModifier) * (size * horizontalModifier));
+            this.verticalFactor = 1 / ((size * verticalModifier) * (size * verticalModifier));
         }
 
+        /**
+         * The (squared) distance from the center, scaled so the edge of the cluster is at 1
+         */
+        double getRadius(int x1, int y1, int z1)
+        {
+            final double dx = x - x1, dy = y - y1, dz = z - z1;
+            return (dx * dx + dz * dz) * horizontalFactor + dy * dy * verticalFactor;
+        }
+
+        /**
+         * How far up and down from the center this cluster reaches in a column, or 0 if it doesn't reach the column
+         */
+        double getVerticalReach(int x1, int z1)
+        {
+            final double dx = x - x1, dz = z - z1;
+            final double horizontal = (dx * dx + dz * dz) * horizontalFactor;
+            return horizontal < 1 ? Math.sqrt((1 - horizontal) / verticalFactor) : 0;
+        }
     }
 }
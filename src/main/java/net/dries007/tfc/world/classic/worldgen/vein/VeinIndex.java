@@ -0,0 +1,164 @@
+/*
+ * Work under Copyright. Licensed under the EUPL.
+ * See the project README.md and LICENSE.txt for more information.
+ */
+
+package net.dries007.tfc.world.classic.worldgen.vein;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import net.dries007.tfc.api.types.Ore;
+import net.dries007.tfc.util.collections.WeightedCollection;
+
+/**
+ * Remembers the veins that start in each chunk, so they don't need to be created again for every chunk nearby
+ * Veins only depend on the world seed, the chunk position and the vein registry, so they are safe to share.
+ *
+ * This is thread safe, so it can be used by commands searching in the background.
+ */
+public enum VeinIndex
+{
+    INSTANCE;
+
+    private static final int NUM_ROLLS = 2;
+    private static final int MAX_CHUNKS = 4096;
+
+    private final Map<Long, List<Vein>> veinsByChunk = new LinkedHashMap<Long, List<Vein>>(MAX_CHUNKS, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<Vein>> eldest)
+        {
+            return size() > MAX_CHUNKS;
+        }
+    };
+    private long seed;
+
+    /**
+     * Gets all veins that start within a square of chunks
+     *
+     * @return a new list, which can be modified
+     */
+    @Nonnull
+    public List<Vein> getNearbyVeins(int chunkX, int chunkZ, long worldSeed, int radius)
+    {
+        List<Vein> veins = new ArrayList<>();
+        for (int x = -radius; x <= radius; x++)
+        {
+            for (int z = -radius; z <= radius; z++)
+            {
+                veins.addAll(getVeinsAtChunk(chunkX + x, chunkZ + z, worldSeed, true));
+            }
+        }
+        return veins;
+    }
+
+    /**
+     * Gets all veins that start within a square of chunks, and can reach into an area
+     *
+     * @return a new list, which can be modified
+     */
+    @Nonnull
+    public List<Vein> getVeinsInArea(int chunkX, int chunkZ, long worldSeed, int radius, int minX, int minZ, int maxX, int maxZ)
+    {
+        List<Vein> veins = new ArrayList<>();
+        for (int x = -radius; x <= radius; x++)
+        {
+            for (int z = -radius; z <= radius; z++)
+            {
+                for (Vein vein : getVeinsAtChunk(chunkX + x, chunkZ + z, worldSeed, true))
+                {
+                    if (vein.boundingBox.intersectsWith(minX, minZ, maxX, maxZ))
+                    {
+                        veins.add(vein);
+                    }
+                }
+            }
+        }
+        return veins;
+    }
+
+    /**
+     * Gets the veins starting in a single chunk
+     *
+     * @param cache if the result should be remembered. Large searches should not do this, as they would push out everything else.
+     */
+    @Nonnull
+    public List<Vein> getVeinsAtChunk(int chunkX, int chunkZ, long worldSeed, boolean cache)
+    {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        synchronized (veinsByChunk)
+        {
+            if (seed != worldSeed)
+            {
+                veinsByChunk.clear();
+                seed = worldSeed;
+            }
+            List<Vein> veins = veinsByChunk.get(key);
+            if (veins != null)
+            {
+                return veins;
+            }
+        }
+
+        List<Vein> veins = createVeinsAtChunk(chunkX, chunkZ, worldSeed);
+        if (cache)
+        {
+            synchronized (veinsByChunk)
+            {
+                if (seed == worldSeed)
+                {
+                    veinsByChunk.put(key, veins);
+                }
+            }
+        }
+        return veins;
+    }
+
+    /**
+     * Called when the vein types change, as all veins depend on them
+     */
+    public void clear()
+    {
+        synchronized (veinsByChunk)
+        {
+            veinsByChunk.clear();
+        }
+    }
+
+    // Deterministic for a specific chunk x/z and world seed
+    @Nonnull
+    private List<Vein> createVeinsAtChunk(int chunkX, int chunkZ, long worldSeed)
+    {
+        Random rand = new Random(worldSeed + chunkX * 341873128712L + chunkZ * 132897987541L);
+        List<Vein> veins = new ArrayList<>(NUM_ROLLS);
+
+        for (int i = 0; i < NUM_ROLLS; i++)
+        {
+            WeightedCollection<VeinType> entries = VeinRegistry.INSTANCE.getVeins();
+            if (rand.nextDouble() < entries.getTotalWeight())
+            {
+                VeinType veinType = entries.getRandomEntry(rand);
+                BlockPos startPos = new BlockPos(
+                    chunkX * 16 + 8 + rand.nextInt(16),
+                    veinType.minY + rand.nextInt(veinType.maxY - veinType.minY),
+                    chunkZ * 16 + 8 + rand.nextInt(16)
+                );
+
+                Ore.Grade grade = Ore.Grade.NORMAL;
+                if (veinType.ore != null && veinType.ore.isGraded())
+                {
+                    int gradeInt = rand.nextInt(100);
+                    if (gradeInt < 20) grade = Ore.Grade.RICH;
+                    else if (gradeInt < 50) grade = Ore.Grade.POOR;
+                }
+
+                veins.add(new VeinCluster(startPos, veinType, grade, rand));
+            }
+        }
+        return veins.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(veins);
+    }
+}
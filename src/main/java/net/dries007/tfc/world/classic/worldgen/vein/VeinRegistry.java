@@ -105,5 +105,6 @@ public enum VeinRegistry
                 TerraFirmaCraft.getLog().warn("There was a serious issue parsing the ore generation file!! TFC will not generate any ores!", e);
             }
         }
+        VeinIndex.INSTANCE.clear();
     }
 }